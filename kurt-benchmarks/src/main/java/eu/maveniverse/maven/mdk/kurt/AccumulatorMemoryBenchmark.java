@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Heap retained by "deploy at end" bookkeeping, per accepted artifact: {@code artifacts} keeps artifacts as they
+ * arrive with their keys (as accumulator did before keeping descriptors), {@code accumulator} is the
+ * {@link DeployRequestAccumulator}. Reactor is made like Maven makes it: every module has its own copies of
+ * coordinate strings, properties maps and files in its own directory. Score is irrelevant, see
+ * {@code bytesPerArtifact} counter. As counter is summed over iterations, there is one measurement iteration (heap
+ * accounting after full GC is exact anyway).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class AccumulatorMemoryBenchmark {
+    @Param({"1000", "10000"})
+    private int modules;
+
+    @Param({"artifacts", "accumulator"})
+    private String representation;
+
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    private final RemoteRepository repository = Benchmarks.newRepository("bench", "https://repo.example.org/releases/");
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public double bytesPerArtifact;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerArtifact = 0;
+        }
+    }
+
+    @Benchmark
+    public Object retain(Counters counters) throws IOException {
+        long before = usedHeap();
+        List<DeployRequest> reactor = newReactor();
+        long artifacts =
+                reactor.stream().mapToLong(r -> r.getArtifacts().size()).sum();
+        Object retained = "artifacts".equals(representation) ? retainArtifacts(reactor) : retainAccumulator(reactor);
+        reactor = null;
+        counters.bytesPerArtifact = (double) (usedHeap() - before) / artifacts;
+        return retained;
+    }
+
+    private static Object retainArtifacts(List<DeployRequest> reactor) {
+        ConcurrentHashMap<String, Boolean> keys = new ConcurrentHashMap<>();
+        ConcurrentLinkedQueue<Artifact> artifacts = new ConcurrentLinkedQueue<>();
+        for (DeployRequest deployRequest : reactor) {
+            for (Artifact artifact : deployRequest.getArtifacts()) {
+                if (keys.putIfAbsent(ArtifactIdUtils.toId(artifact), Boolean.TRUE) == null) {
+                    artifacts.add(artifact);
+                }
+            }
+        }
+        return new Object[] {keys, artifacts};
+    }
+
+    private static Object retainAccumulator(List<DeployRequest> reactor) throws IOException {
+        DeployRequestAccumulator accumulator = new DeployRequestAccumulator();
+        for (DeployRequest deployRequest : reactor) {
+            accumulator.add(deployRequest);
+        }
+        return accumulator;
+    }
+
+    private List<DeployRequest> newReactor() {
+        Path root = Paths.get("/work/reactor");
+        ArrayList<DeployRequest> result = new ArrayList<>(modules);
+        for (int i = 0; i < modules; i++) {
+            // each module model has its own strings
+            String groupId = new String("org.example.bench.group" + (i % 10));
+            String artifactId = "module-" + i;
+            String version = new String("1.0.0");
+            Path basedir = root.resolve(artifactId);
+            Path target = basedir.resolve("target");
+            DeployRequest deployRequest = new DeployRequest();
+            deployRequest.setRepository(repository);
+            deployRequest.addArtifact(
+                    newArtifact(groupId, artifactId, "", "pom", version, "pom", basedir.resolve("pom.xml")));
+            deployRequest.addArtifact(newArtifact(
+                    groupId, artifactId, "", "jar", version, "jar", target.resolve(artifactId + "-1.0.0.jar")));
+            deployRequest.addArtifact(newArtifact(
+                    groupId,
+                    artifactId,
+                    "sources",
+                    "jar",
+                    version,
+                    "java-source",
+                    target.resolve(artifactId + "-1.0.0-sources.jar")));
+            deployRequest.addArtifact(newArtifact(
+                    groupId,
+                    artifactId,
+                    "javadoc",
+                    "jar",
+                    version,
+                    "javadoc",
+                    target.resolve(artifactId + "-1.0.0-javadoc.jar")));
+            result.add(deployRequest);
+        }
+        return result;
+    }
+
+    private static Artifact newArtifact(
+            String groupId,
+            String artifactId,
+            String classifier,
+            String extension,
+            String version,
+            String type,
+            Path file) {
+        HashMap<String, String> properties = new HashMap<>();
+        properties.put("type", type);
+        properties.put("language", "java");
+        properties.put("constitutesBuildPath", Boolean.toString("jar".equals(type)));
+        properties.put("includesDependencies", "false");
+        return new DefaultArtifact(groupId, artifactId, classifier, extension, version, properties, file.toFile());
+    }
+
+    private long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import eu.maveniverse.maven.mdk.kurt.checksums.ProvidedChecksumsRepositoryLayoutFactory;
+import eu.maveniverse.maven.mdk.kurt.transport.LinkingFileTransporterFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.internal.impl.Maven2RepositoryLayoutFactory;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactorySelector;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutFactory;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.eclipse.aether.spi.connector.transport.TransporterFactory;
+import org.eclipse.aether.spi.connector.transport.TransporterProvider;
+import org.eclipse.aether.supplier.RepositorySystemSupplier;
+import org.eclipse.aether.transport.http.ChecksumExtractor;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
+
+/**
+ * Shared fixtures of benchmarks: Resolver outside of Maven (with Kurt transport added), sessions and synthetic
+ * reactors.
+ */
+final class Benchmarks {
+    private Benchmarks() {}
+
+    static final String GROUP_ID = "org.example.bench";
+
+    static final String VERSION = "1.0";
+
+    /**
+     * Creates Resolver repository system, same as in Maven, with Kurt {@code link+file} transport and layout.
+     */
+    static RepositorySystem newRepositorySystem() {
+        return new KurtRepositorySystemSupplier().get();
+    }
+
+    /**
+     * Creates Resolver repository layout provider, same as in Maven, with Kurt layout.
+     */
+    static RepositoryLayoutProvider newRepositoryLayoutProvider() {
+        KurtRepositorySystemSupplier supplier = new KurtRepositorySystemSupplier();
+        supplier.get();
+        return supplier.repositoryLayoutProvider;
+    }
+
+    /**
+     * Creates Resolver transporter provider, same as in Maven, with Kurt transport.
+     */
+    static TransporterProvider newTransporterProvider() {
+        KurtRepositorySystemSupplier supplier = new KurtRepositorySystemSupplier();
+        supplier.get();
+        return supplier.transporterProvider;
+    }
+
+    /**
+     * Creates Maven session, with Kurt configuration and Kurt transfer listener in place (as if
+     * {@link Kurt#afterProjectsRead(MavenSession)} was invoked).
+     */
+    static MavenSession newMavenSession(
+            RepositorySystem repositorySystem, Path localRepository, Map<String, String> config) {
+        DefaultRepositorySystemSession repositorySession = MavenRepositorySystemUtils.newSession();
+        repositorySession.setLocalRepositoryManager(repositorySystem.newLocalRepositoryManager(
+                repositorySession, new LocalRepository(localRepository.toFile())));
+        repositorySession.setConfigProperties(config);
+        repositorySession.getData().set(Kurt.TRANSFER_LISTENER, new ChainedTransferListener());
+        @SuppressWarnings("deprecation")
+        MavenSession session = new MavenSession(
+                null, repositorySession, new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+        session.setProjects(Collections.emptyList());
+        return session;
+    }
+
+    /**
+     * Creates deploy requests of a synthetic reactor, one request per module (POM, JAR and sources JAR, no files).
+     */
+    static List<DeployRequest> newReactor(RemoteRepository repository, int modules) {
+        ArrayList<DeployRequest> result = new ArrayList<>(modules);
+        for (int i = 0; i < modules; i++) {
+            String artifactId = "module-" + i;
+            DeployRequest deployRequest = new DeployRequest();
+            deployRequest.setRepository(repository);
+            deployRequest.addArtifact(new DefaultArtifact(GROUP_ID, artifactId, "", "pom", VERSION));
+            deployRequest.addArtifact(new DefaultArtifact(GROUP_ID, artifactId, "", "jar", VERSION));
+            deployRequest.addArtifact(new DefaultArtifact(GROUP_ID, artifactId, "sources", "jar", VERSION));
+            result.add(deployRequest);
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #newReactor(RemoteRepository, int)} but artifacts are backed by files with random content,
+     * POMs are 2 KiB, JARs are of given size.
+     */
+    static List<DeployRequest> newReactor(RemoteRepository repository, int modules, int artifactSize, Path directory)
+            throws IOException {
+        Files.createDirectories(directory);
+        Path pom = newFile(directory.resolve("module.pom"), 2048);
+        Path jar = newFile(directory.resolve("module.jar"), artifactSize);
+        List<DeployRequest> result = newReactor(repository, modules);
+        for (DeployRequest deployRequest : result) {
+            ArrayList<Artifact> artifacts = new ArrayList<>();
+            for (Artifact artifact : deployRequest.getArtifacts()) {
+                artifacts.add(artifact.setFile("pom".equals(artifact.getExtension()) ? pom.toFile() : jar.toFile()));
+            }
+            deployRequest.setArtifacts(artifacts);
+        }
+        return result;
+    }
+
+    static RemoteRepository newRepository(String id, String url) {
+        return new RemoteRepository.Builder(id, "default", url).build();
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static final class KurtRepositorySystemSupplier extends RepositorySystemSupplier {
+        private RepositoryLayoutProvider repositoryLayoutProvider;
+        private TransporterProvider transporterProvider;
+
+        @Override
+        protected Map<String, TransporterFactory> getTransporterFactories(Map<String, ChecksumExtractor> extractors) {
+            Map<String, TransporterFactory> result = super.getTransporterFactories(extractors);
+            result.put(LinkingFileTransporterFactory.PROTOCOL, new LinkingFileTransporterFactory());
+            return result;
+        }
+
+        @Override
+        protected Map<String, RepositoryLayoutFactory> getRepositoryLayoutFactories(
+                ChecksumAlgorithmFactorySelector checksumAlgorithmFactorySelector) {
+            Map<String, RepositoryLayoutFactory> result =
+                    super.getRepositoryLayoutFactories(checksumAlgorithmFactorySelector);
+            result.put(
+                    ProvidedChecksumsRepositoryLayoutFactory.NAME,
+                    new ProvidedChecksumsRepositoryLayoutFactory(result.get(Maven2RepositoryLayoutFactory.NAME)));
+            return result;
+        }
+
+        @Override
+        protected RepositoryLayoutProvider getRepositoryLayoutProvider(
+                Map<String, RepositoryLayoutFactory> repositoryLayoutFactories) {
+            repositoryLayoutProvider = super.getRepositoryLayoutProvider(repositoryLayoutFactories);
+            return repositoryLayoutProvider;
+        }
+
+        @Override
+        protected TransporterProvider getTransporterProvider(Map<String, TransporterFactory> transporterFactories) {
+            transporterProvider = super.getTransporterProvider(transporterFactories);
+            return transporterProvider;
+        }
+    }
+
+    private static Path newFile(Path file, int size) throws IOException {
+        Random random = new Random(size);
+        byte[] buffer = new byte[8192];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int written = 0; written < size; written += buffer.length) {
+                random.nextBytes(buffer);
+                out.write(buffer, 0, Math.min(buffer.length, size - written));
+            }
+        }
+        return file;
+    }
+}
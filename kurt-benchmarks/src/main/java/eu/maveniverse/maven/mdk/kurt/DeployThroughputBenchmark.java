@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import eu.maveniverse.maven.mdk.kurt.deployers.LocalStagingDeployerFactory;
+import eu.maveniverse.maven.mdk.kurt.deployers.RemoteStagingDeployerFactory;
+import eu.maveniverse.maven.mdk.kurt.deployers.ResolverDeployerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugins.deploy.FallbackDeployerSPI;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * End-to-end "deploy at end" of a synthetic reactor to an in-process HTTP repository with configurable per request
+ * latency and per connection bandwidth, meant to produce scaling curves (over {@code modules}) for sizing CI runners.
+ * <p>
+ * Deployers compared are stock {@code maven-deploy-plugin} with {@code deployAtEnd} (its fallback SPI deploying one
+ * merged request per repository, same as the mojo does at the end of the reactor; a mojo cannot be run outside of
+ * Maven), and Kurt with each of built-in deployers, created by their factories as in a Maven build. Each invocation
+ * deploys the whole reactor, so score is the wall time, and auxiliary counters report {@code artifactsPerSecond} and
+ * {@code cpuMillis} (process CPU time, minus the time spent in the HTTP server). For allocation, run with GC profiler
+ * ({@code -prof gc}), or run this class as main, that does it.
+ * <p>
+ * Larger reactors with latency take minutes per invocation, narrow the parameter space with {@code -p}, for example
+ * {@code java -jar benchmarks.jar DeployThroughput -p modules=500 -p latencyMillis=10}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class DeployThroughputBenchmark {
+    static final String MAVEN_DEPLOY_PLUGIN = "maven-deploy-plugin";
+
+    @Param({"50", "500", "2000"})
+    private int modules;
+
+    @Param({
+        MAVEN_DEPLOY_PLUGIN,
+        ResolverDeployerFactory.NAME,
+        LocalStagingDeployerFactory.NAME,
+        RemoteStagingDeployerFactory.NAME
+    })
+    private String deployer;
+
+    @Param({"0", "10"})
+    private int latencyMillis;
+
+    /**
+     * Per connection bandwidth in KiB/s, 0 is unlimited.
+     */
+    @Param({"0"})
+    private int bandwidth;
+
+    @Param({"65536"})
+    private int artifactSize;
+
+    @Param({"4"})
+    private int threads;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final AtomicLong serverCpuNanos = new AtomicLong();
+    private Path workDirectory;
+    private Path buildDirectory;
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private RepositorySystem repositorySystem;
+    private RepositoryLayoutProvider repositoryLayoutProvider;
+    private MavenSession session;
+    private List<DeployRequest> reactor;
+    private long artifacts;
+
+    /**
+     * Counters of one iteration, as an iteration is one invocation. JMH sums these over measurement iterations, so
+     * they are recorded divided by count of them, to report the average.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public double artifactsPerSecond;
+        public double cpuMillis;
+        private int iterations;
+
+        @Setup(Level.Iteration)
+        public void reset(BenchmarkParams params) {
+            artifactsPerSecond = 0;
+            cpuMillis = 0;
+            iterations = params.getMeasurement().getCount();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDirectory = Files.createTempDirectory("kurt-bench");
+        buildDirectory = workDirectory.resolve("target");
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+        String url = "http://localhost:" + server.getAddress().getPort();
+
+        Map<String, String> config = new HashMap<>();
+        config.put("kurt.deployer", MAVEN_DEPLOY_PLUGIN.equals(deployer) ? ResolverDeployerFactory.NAME : deployer);
+        config.put("kurt.deployThreads", Integer.toString(threads));
+        config.put("kurt.remoteStagingUrl", url + "/staging/");
+        config.put("kurt.remoteStagingJournal", "");
+        repositorySystem = Benchmarks.newRepositorySystem();
+        repositoryLayoutProvider = Benchmarks.newRepositoryLayoutProvider();
+        session = Benchmarks.newMavenSession(repositorySystem, workDirectory.resolve("local"), config);
+        MavenProject topLevelProject = new MavenProject();
+        topLevelProject.getBuild().setDirectory(buildDirectory.toString());
+        session.setProjects(Collections.singletonList(topLevelProject));
+        session.getRepositorySession().getData().set(FallbackDeployerSPI.RETRY_FAILED_DEPLOYMENT_COUNT, 1);
+
+        RemoteRepository repository = Benchmarks.newRepository("bench", url + "/releases/");
+        reactor = Benchmarks.newReactor(repository, modules, artifactSize, workDirectory.resolve("artifacts"));
+        artifacts = reactor.stream().mapToLong(r -> r.getArtifacts().size()).sum();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteBuildDirectory() throws IOException {
+        Benchmarks.deleteRecursively(buildDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        Benchmarks.deleteRecursively(workDirectory);
+    }
+
+    @Benchmark
+    public long deploy(Counters counters) throws Exception {
+        long cpu = processCpuNanos() + serverCpuNanos.get();
+        long start = System.nanoTime();
+        if (MAVEN_DEPLOY_PLUGIN.equals(deployer)) {
+            deployWithPlugin();
+        } else {
+            deployWithKurt();
+        }
+        long wall = System.nanoTime() - start;
+        counters.artifactsPerSecond = artifacts * 1e9 / wall / counters.iterations;
+        counters.cpuMillis = (processCpuNanos() - serverCpuNanos.get() - cpu) / 1e6 / counters.iterations;
+        return wall;
+    }
+
+    private void deployWithPlugin() throws Exception {
+        Map<RemoteRepository, DeployRequest> merged = new LinkedHashMap<>();
+        for (DeployRequest deployRequest : reactor) {
+            merged.computeIfAbsent(deployRequest.getRepository(), r -> {
+                        DeployRequest request = new DeployRequest();
+                        request.setRepository(r);
+                        request.setArtifacts(new ArrayList<>());
+                        return request;
+                    })
+                    .getArtifacts()
+                    .addAll(deployRequest.getArtifacts());
+        }
+        FallbackDeployerSPI fallback = new FallbackDeployerSPI(repositorySystem);
+        for (DeployRequest deployRequest : merged.values()) {
+            fallback.deploy(session.getRepositorySession(), deployRequest);
+        }
+    }
+
+    private void deployWithKurt() throws Exception {
+        Map<String, DeployerFactory> deployerFactories = new HashMap<>();
+        deployerFactories.put(ResolverDeployerFactory.NAME, new ResolverDeployerFactory(repositorySystem));
+        deployerFactories.put(
+                LocalStagingDeployerFactory.NAME,
+                new LocalStagingDeployerFactory(repositorySystem, repositoryLayoutProvider));
+        deployerFactories.put(
+                RemoteStagingDeployerFactory.NAME,
+                new RemoteStagingDeployerFactory(
+                        repositorySystem, repositoryLayoutProvider, Benchmarks.newTransporterProvider()));
+        Kurt kurt = new Kurt(deployerFactories, repositoryLayoutProvider);
+        kurt.afterProjectsRead(session);
+        for (DeployRequest deployRequest : reactor) {
+            kurt.deploy(session.getRepositorySession(), deployRequest);
+        }
+        kurt.afterSessionEnd(session);
+    }
+
+    private long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    /**
+     * Repository stand-in: nothing to download, uploads are accepted and discarded. Every request is delayed by
+     * latency, and uploads are read no faster than bandwidth allows.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        long cpu = threadMXBean.getCurrentThreadCpuTime();
+        try {
+            sleep(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+            if ("PUT".equals(exchange.getRequestMethod())) {
+                long start = System.nanoTime();
+                byte[] buffer = new byte[8192];
+                long size = 0;
+                try (InputStream in = exchange.getRequestBody()) {
+                    for (int read; (read = in.read(buffer)) != -1; ) {
+                        size += read;
+                        if (bandwidth > 0) {
+                            sleep(size * TimeUnit.SECONDS.toNanos(1) / (bandwidth * 1024L)
+                                    - (System.nanoTime() - start));
+                        }
+                    }
+                }
+                exchange.sendResponseHeaders(201, -1);
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+            }
+        } finally {
+            exchange.close();
+            serverCpuNanos.addAndGet(threadMXBean.getCurrentThreadCpuTime() - cpu);
+        }
+    }
+
+    private static void sleep(long nanos) throws IOException {
+        if (nanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+        }
+    }
+
+    /**
+     * Runs this benchmark with GC profiler, to have allocation reported as well; arguments are passed to JMH.
+     */
+    public static void main(String... args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(DeployThroughputBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link KurtConfig} lookups against a config map of realistic size (Maven puts all system properties and user
+ * properties in there).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KurtConfigBenchmark {
+    private Map<String, Object> config;
+
+    @Setup
+    public void setup() {
+        config = new HashMap<>();
+        System.getProperties().forEach((k, v) -> config.put(String.valueOf(k), v));
+        config.put("kurt.deployer", "remote-staging");
+    }
+
+    /**
+     * Key is set.
+     */
+    @Benchmark
+    public String requirePresent() {
+        return KurtConfig.DEPLOYER.require(config);
+    }
+
+    /**
+     * Key is not set, default value supplied.
+     */
+    @Benchmark
+    public String requireDefault() {
+        return KurtConfig.DEPLOY_THREADS.require(config);
+    }
+
+    /**
+     * Key is not set, and has no default.
+     */
+    @Benchmark
+    public String getOrDefaultMissing() {
+        return KurtConfig.REMOTE_STAGING_URL.getOrDefault(config);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.MavenExecutionException;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kurt "deploy at end" overhead: accumulation of reactor deploy requests arriving from many threads (as with
+ * {@code -T}), and merging them into batches at session end. Deployer is a no-op that accepts everything, so only
+ * Kurt itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KurtDeployBenchmark {
+    @Param({"100", "1000"})
+    private int modules;
+
+    @Param({"1", "8"})
+    private int threads;
+
+    private Path localRepository;
+    private RepositoryLayoutProvider repositoryLayoutProvider;
+    private MavenSession session;
+    private List<DeployRequest> reactor;
+    private ExecutorService executor;
+    private DeployRequestAccumulator accumulated;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        localRepository = Files.createTempDirectory("kurt-bench-local");
+        Map<String, String> config = new HashMap<>();
+        config.put("kurt.deployer", NoopDeployer.NAME);
+        config.put("kurt.checksumThreads", "0");
+        repositoryLayoutProvider = Benchmarks.newRepositoryLayoutProvider();
+        session = Benchmarks.newMavenSession(Benchmarks.newRepositorySystem(), localRepository, config);
+        RemoteRepository repository = Benchmarks.newRepository("bench", "https://repo.example.org/releases/");
+        reactor = Benchmarks.newReactor(repository, modules);
+        executor = Executors.newFixedThreadPool(threads);
+        accumulated = new DeployRequestAccumulator();
+        for (DeployRequest deployRequest : reactor) {
+            accumulated.add(deployRequest);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        Benchmarks.deleteRecursively(localRepository);
+    }
+
+    /**
+     * Whole reactor offered to Kurt, from {@code threads} threads.
+     */
+    @Benchmark
+    public Kurt deploy() throws Exception {
+        Kurt kurt = newKurt();
+        deployReactor(kurt);
+        return kurt;
+    }
+
+    /**
+     * Whole reactor offered to Kurt, from {@code threads} threads, followed by session end (merge and no-op deploy).
+     */
+    @Benchmark
+    public Kurt deployAndMerge() throws Exception {
+        Kurt kurt = newKurt();
+        deployReactor(kurt);
+        kurt.afterSessionEnd(session);
+        return kurt;
+    }
+
+    /**
+     * Merge of accumulated requests into per-repository batches.
+     */
+    @Benchmark
+    public Map<RemoteRepository, DeployRequest> merge() throws IOException {
+        return accumulated.batches();
+    }
+
+    private Kurt newKurt() throws MavenExecutionException {
+        Kurt kurt = new Kurt(
+                Collections.singletonMap(NoopDeployer.NAME, s -> new NoopDeployer()), repositoryLayoutProvider);
+        kurt.afterProjectsRead(session);
+        return kurt;
+    }
+
+    private void deployReactor(Kurt kurt) throws Exception {
+        if (threads == 1) {
+            for (DeployRequest deployRequest : reactor) {
+                kurt.deploy(session.getRepositorySession(), deployRequest);
+            }
+            return;
+        }
+        ArrayList<Future<Boolean>> futures = new ArrayList<>(reactor.size());
+        for (DeployRequest deployRequest : reactor) {
+            futures.add(executor.submit(() -> kurt.deploy(session.getRepositorySession(), deployRequest)));
+        }
+        for (Future<Boolean> future : futures) {
+            future.get();
+        }
+    }
+
+    private static final class NoopDeployer implements Deployer {
+        private static final String NAME = "noop";
+
+        @Override
+        public String getName() {
+            return NAME;
+        }
+
+        @Override
+        public boolean processRequest(MavenSession mavenSession, DeployRequest deployRequest) {
+            return true;
+        }
+
+        @Override
+        public void deployAll(MavenSession session, Map<RemoteRepository, DeployRequest> deployRequests) {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import eu.maveniverse.maven.mdk.kurt.deployers.LocalStagingDeployer;
+import eu.maveniverse.maven.mdk.kurt.transport.LinkingFileTransporterFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link LocalStagingDeployer#deployAll(MavenSession, Map)} of a synthetic reactor into a fresh temporary directory,
+ * with artifacts of various sizes, copied or hard linked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LocalStagingBenchmark {
+    @Param({"10", "100"})
+    private int modules;
+
+    @Param({"1024", "1048576", "16777216"})
+    private int artifactSize;
+
+    @Param({"false", "true"})
+    private boolean link;
+
+    private Path workDirectory;
+    private RepositorySystem repositorySystem;
+    private MavenSession session;
+    private Map<RemoteRepository, DeployRequest> batches;
+    private Path stagingDirectory;
+    private LocalStagingDeployer deployer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDirectory = Files.createTempDirectory("kurt-bench");
+        repositorySystem = Benchmarks.newRepositorySystem();
+        session = Benchmarks.newMavenSession(repositorySystem, workDirectory.resolve("local"), new HashMap<>());
+        RemoteRepository repository = Benchmarks.newRepository("bench", "https://repo.example.org/releases/");
+        List<DeployRequest> reactor =
+                Benchmarks.newReactor(repository, modules, artifactSize, workDirectory.resolve("artifacts"));
+        DeployRequestAccumulator accumulator = new DeployRequestAccumulator();
+        for (DeployRequest deployRequest : reactor) {
+            accumulator.add(deployRequest);
+        }
+        batches = accumulator.batches();
+    }
+
+    @Setup(Level.Invocation)
+    public void createDeployer() throws IOException {
+        stagingDirectory = Files.createTempDirectory(workDirectory, "staging");
+        String url = link
+                ? LinkingFileTransporterFactory.toUrl(stagingDirectory)
+                : stagingDirectory.toUri().toASCIIString();
+        deployer = new LocalStagingDeployer(
+                repositorySystem,
+                Benchmarks.newRepositoryLayoutProvider(),
+                LocalStagingDeployer.Config.directory(Benchmarks.newRepository("staging", url), stagingDirectory)
+                        .build());
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteStaging() throws IOException {
+        deployer.close();
+        Benchmarks.deleteRecursively(stagingDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Benchmarks.deleteRecursively(workDirectory);
+    }
+
+    @Benchmark
+    public Path deployAll() throws DeploymentException, IOException {
+        deployer.deployAll(session, batches);
+        return stagingDirectory;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import eu.maveniverse.maven.mdk.kurt.deployers.RemoteStagingDeployer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end {@link RemoteStagingDeployer#deployAll(MavenSession, Map)} of a synthetic reactor to an in-process HTTP
+ * repository, that accepts (and discards) all uploads, and has nothing to download.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RemoteStagingBenchmark {
+    @Param({"10", "100"})
+    private int modules;
+
+    @Param({"65536"})
+    private int artifactSize;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private Path workDirectory;
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private AtomicLong uploaded;
+    private MavenSession session;
+    private Map<RemoteRepository, DeployRequest> batches;
+    private RemoteStagingDeployer deployer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDirectory = Files.createTempDirectory("kurt-bench");
+        uploaded = new AtomicLong();
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        RepositorySystem repositorySystem = Benchmarks.newRepositorySystem();
+        session = Benchmarks.newMavenSession(repositorySystem, workDirectory.resolve("local"), new HashMap<>());
+        RemoteRepository repository = Benchmarks.newRepository("bench", "https://repo.example.org/releases/");
+        List<DeployRequest> reactor =
+                Benchmarks.newReactor(repository, modules, artifactSize, workDirectory.resolve("artifacts"));
+        DeployRequestAccumulator accumulator = new DeployRequestAccumulator();
+        for (DeployRequest deployRequest : reactor) {
+            accumulator.add(deployRequest);
+        }
+        batches = accumulator.batches();
+
+        String url = "http://localhost:" + server.getAddress().getPort() + "/staging/";
+        deployer = new RemoteStagingDeployer(
+                repositorySystem,
+                Benchmarks.newRepositoryLayoutProvider(),
+                Benchmarks.newTransporterProvider(),
+                RemoteStagingDeployer.Config.builder(Benchmarks.newRepository("staging", url))
+                        .threads(threads)
+                        .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        deployer.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        Benchmarks.deleteRecursively(workDirectory);
+    }
+
+    @Benchmark
+    public long deployAll() throws DeploymentException, IOException {
+        deployer.deployAll(session, batches);
+        return uploaded.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if ("PUT".equals(exchange.getRequestMethod())) {
+                byte[] buffer = new byte[8192];
+                long size = 0;
+                try (InputStream in = exchange.getRequestBody()) {
+                    for (int read; (read = in.read(buffer)) != -1; ) {
+                        size += read;
+                    }
+                }
+                uploaded.addAndGet(size);
+                exchange.sendResponseHeaders(201, -1);
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
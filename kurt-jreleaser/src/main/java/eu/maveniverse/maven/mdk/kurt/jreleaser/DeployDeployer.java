@@ -31,6 +31,10 @@ public class DeployDeployer extends DeployerSupport {
     public DeployDeployer(LocalStagingDeployer localStagingDeployer, JReleaserContextFactory contextFactory) {
         super(DeployDeployerFactory.NAME);
         this.localStagingDeployer = requireNonNull(localStagingDeployer);
+        if (localStagingDeployer.getStagingDirectory() == null) {
+            throw new IllegalArgumentException(
+                    "JReleaser publishes local staging directory, local staging bundle is not supported");
+        }
         this.contextFactory = requireNonNull(contextFactory);
     }
 
@@ -48,7 +52,13 @@ public class DeployDeployer extends DeployerSupport {
         Workflows.deploy(contextFactory.createContext(
                         session,
                         localStagingDeployer.getStagingDirectory(),
+                        localStagingDeployer.getManifest(),
                         org.jreleaser.model.api.JReleaserCommand.DEPLOY))
                 .execute();
     }
+
+    @Override
+    public void close() throws IOException {
+        localStagingDeployer.close();
+    }
 }
@@ -31,6 +31,10 @@ public class FullReleaseDeployer extends DeployerSupport {
     public FullReleaseDeployer(LocalStagingDeployer localStagingDeployer, JReleaserContextFactory contextFactory) {
         super(FullReleaseDeployerFactory.NAME);
         this.localStagingDeployer = requireNonNull(localStagingDeployer);
+        if (localStagingDeployer.getStagingDirectory() == null) {
+            throw new IllegalArgumentException(
+                    "JReleaser publishes local staging directory, local staging bundle is not supported");
+        }
         this.contextFactory = requireNonNull(contextFactory);
     }
 
@@ -48,7 +52,13 @@ public class FullReleaseDeployer extends DeployerSupport {
         Workflows.fullRelease(contextFactory.createContext(
                         session,
                         localStagingDeployer.getStagingDirectory(),
+                        localStagingDeployer.getManifest(),
                         org.jreleaser.model.api.JReleaserCommand.FULL_RELEASE))
                 .execute();
     }
+
+    @Override
+    public void close() throws IOException {
+        localStagingDeployer.close();
+    }
 }
@@ -13,6 +13,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 import eu.maveniverse.maven.mdk.kurt.KurtConfig;
+import eu.maveniverse.maven.mdk.kurt.deployers.StagingManifest;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
@@ -21,6 +22,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.List;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.apache.maven.execution.MavenSession;
@@ -31,6 +33,7 @@ import org.jreleaser.model.Active;
 import org.jreleaser.model.internal.JReleaserContext;
 import org.jreleaser.model.internal.JReleaserModel;
 import org.jreleaser.model.internal.deploy.maven.MavenCentralMavenDeployer;
+import org.jreleaser.model.internal.deploy.maven.MavenDeployer;
 import org.jreleaser.model.internal.deploy.maven.Nexus2MavenDeployer;
 import org.jreleaser.model.internal.release.GithubReleaser;
 import org.slf4j.Logger;
@@ -61,6 +64,21 @@ public class JReleaserContextFactory {
     public JReleaserContext createContext(
             MavenSession session, Path stagingDirectory, org.jreleaser.model.api.JReleaserCommand jreleaserCommand)
             throws IOException {
+        return createContext(session, stagingDirectory, null, jreleaserCommand);
+    }
+
+    /**
+     * Creates context for staging directory. If staging manifest (see {@link StagingManifest}) is given, and it tells
+     * that checksums are staged along artifacts, JReleaser is told not to calculate checksums again (unless its
+     * configuration explicitly tells otherwise).
+     */
+    public JReleaserContext createContext(
+            MavenSession session,
+            Path stagingDirectory,
+            Path stagingManifest,
+            org.jreleaser.model.api.JReleaserCommand jreleaserCommand)
+            throws IOException {
+        boolean checksums = !checksumsStaged(stagingManifest);
         String target = JRELEASER_TARGET.require(session);
 
         String service;
@@ -104,6 +122,20 @@ public class JReleaserContextFactory {
         JReleaserModel model;
         if (Files.isRegularFile(configFile)) {
             model = JReleaserConfigLoader.loadConfig(configFile);
+            if (!checksums) {
+                for (MavenDeployer<?> deployer :
+                        model.getDeploy().getMaven().getNexus2().values()) {
+                    if (!deployer.isChecksumsSet()) {
+                        deployer.setChecksums(false);
+                    }
+                }
+                for (MavenDeployer<?> deployer :
+                        model.getDeploy().getMaven().getMavenCentral().values()) {
+                    if (!deployer.isChecksumsSet()) {
+                        deployer.setChecksums(false);
+                    }
+                }
+            }
         } else {
             model = new JReleaserModel();
             model.getProject().getJava().setGroupId(session.getTopLevelProject().getGroupId());
@@ -130,6 +162,7 @@ public class JReleaserContextFactory {
                         Boolean.parseBoolean(JRELEASER_APPLY_MAVEN_CENTRAL_RULES.require(session)));
                 nexus2MavenDeployer.setStagingProfileId(JRELEASER_PROFILE_ID.getOrDefault(session));
                 nexus2MavenDeployer.setSign(false);
+                nexus2MavenDeployer.setChecksums(checksums);
                 nexus2MavenDeployer.setStagingRepositories(Collections.singletonList(stagingDirectory.toString()));
 
                 model.getDeploy().getMaven().addNexus2(nexus2MavenDeployer);
@@ -141,6 +174,7 @@ public class JReleaserContextFactory {
                 mavenCentralMavenDeployer.setApplyMavenCentralRules(
                         Boolean.parseBoolean(JRELEASER_APPLY_MAVEN_CENTRAL_RULES.require(session)));
                 mavenCentralMavenDeployer.setSign(false);
+                mavenCentralMavenDeployer.setChecksums(checksums);
                 mavenCentralMavenDeployer.setStagingRepositories(
                         Collections.singletonList(stagingDirectory.toString()));
 
@@ -163,6 +197,27 @@ public class JReleaserContextFactory {
                 Collections.emptyList());
     }
 
+    /**
+     * Returns {@code true} if staging manifest exists, and lists SHA-1 for each artifact except those the staging layout
+     * has no checksums for (signatures). JReleaser still walks the staging directory to collect what to upload, as it
+     * accepts staging directories only, but it does not hash them again.
+     */
+    private boolean checksumsStaged(Path stagingManifest) throws IOException {
+        if (stagingManifest == null || !Files.isRegularFile(stagingManifest)) {
+            return false;
+        }
+        List<StagingManifest.Entry> entries = StagingManifest.read(stagingManifest);
+        long size = 0;
+        for (StagingManifest.Entry entry : entries) {
+            if (entry.getSha1().isEmpty() && !entry.isWithoutChecksums()) {
+                return false;
+            }
+            size += entry.getSize();
+        }
+        logger.info("Staging manifest lists {} artifacts ({} bytes) with checksums staged", entries.size(), size);
+        return true;
+    }
+
     protected JReleaserLogger getLogger(Path outputDirectory) throws IOException {
         java.nio.file.Files.createDirectories(outputDirectory);
         return new JReleaserLoggerAdapter(
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * Compact form of an artifact accepted for deploy at end: all the parts are interned (see {@link Interner}), so
+ * coordinates, properties map and file directory are shared with other artifacts, and file name is not kept at all
+ * if it is the usual {@code artifactId-version[-classifier].extension}. Usually nothing but the descriptor itself is
+ * kept per artifact, even order is kept by a sequence number, not by a collection. Equality is by coordinates only,
+ * same as {@link org.eclipse.aether.util.artifact.ArtifactIdUtils#toId(Artifact)}.
+ */
+final class ArtifactDescriptor {
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final String classifier;
+    private final String extension;
+    private final Map<String, String> properties;
+    private final String directory;
+    private final String fileName;
+    private final int sequence;
+
+    private ArtifactDescriptor(
+            String groupId,
+            String artifactId,
+            String version,
+            String classifier,
+            String extension,
+            Map<String, String> properties,
+            String directory,
+            String fileName,
+            int sequence) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.classifier = classifier;
+        this.extension = extension;
+        this.properties = properties;
+        this.directory = directory; // nullable
+        this.fileName = fileName; // nullable
+        this.sequence = sequence;
+    }
+
+    /**
+     * Creates descriptor of artifact, with given sequence number, that orders descriptors in order of creation.
+     */
+    static ArtifactDescriptor of(Artifact artifact, Interner interner, int sequence) {
+        String directory = null;
+        String fileName = null;
+        File file = artifact.getFile();
+        if (file != null) {
+            directory = file.getParent();
+            fileName = file.getName();
+            if (directory != null) {
+                directory = interner.intern(directory);
+                if (fileName.equals(conventionalFileName(artifact))) {
+                    fileName = null;
+                } else {
+                    fileName = interner.intern(fileName);
+                }
+            }
+        }
+        return new ArtifactDescriptor(
+                interner.intern(artifact.getGroupId()),
+                interner.intern(artifact.getArtifactId()),
+                interner.intern(artifact.getVersion()),
+                interner.intern(artifact.getClassifier()),
+                interner.intern(artifact.getExtension()),
+                interner.intern(artifact.getProperties()),
+                directory,
+                fileName,
+                sequence);
+    }
+
+    int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Rebuilds the artifact.
+     */
+    Artifact toArtifact() {
+        File file = null;
+        if (directory == null) {
+            if (fileName != null) {
+                file = Paths.get(fileName).toFile();
+            }
+        } else {
+            file = Paths.get(directory, fileName != null ? fileName : conventionalFileName(this))
+                    .toFile();
+        }
+        return new DefaultArtifact(groupId, artifactId, classifier, extension, version, properties, file);
+    }
+
+    private static String conventionalFileName(Artifact artifact) {
+        return conventionalFileName(
+                artifact.getArtifactId(), artifact.getVersion(), artifact.getClassifier(), artifact.getExtension());
+    }
+
+    private static String conventionalFileName(ArtifactDescriptor descriptor) {
+        return conventionalFileName(
+                descriptor.artifactId, descriptor.version, descriptor.classifier, descriptor.extension);
+    }
+
+    private static String conventionalFileName(String artifactId, String version, String classifier, String extension) {
+        StringBuilder sb = new StringBuilder(64).append(artifactId).append('-').append(version);
+        if (!classifier.isEmpty()) {
+            sb.append('-').append(classifier);
+        }
+        if (!extension.isEmpty()) {
+            sb.append('.').append(extension);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArtifactDescriptor)) {
+            return false;
+        }
+        ArtifactDescriptor that = (ArtifactDescriptor) o;
+        return groupId.equals(that.groupId)
+                && artifactId.equals(that.artifactId)
+                && version.equals(that.version)
+                && classifier.equals(that.classifier)
+                && extension.equals(that.extension);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, artifactId, version, classifier, extension);
+    }
+
+    /**
+     * Pool of shared (equal) instances: unlike {@link String#intern()}, it goes away with its owner.
+     */
+    static final class Interner {
+        private final ConcurrentHashMap<Object, Object> pool = new ConcurrentHashMap<>();
+
+        String intern(String value) {
+            Object existing = pool.putIfAbsent(value, value);
+            return existing != null ? (String) existing : value;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> intern(Map<String, String> value) {
+            if (value.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Object existing = pool.get(value);
+            if (existing == null) {
+                Map<String, String> copy = Collections.unmodifiableMap(new HashMap<>(value));
+                existing = pool.putIfAbsent(copy, copy);
+                if (existing == null) {
+                    return copy;
+                }
+            }
+            return (Map<String, String>) existing;
+        }
+
+        void clear() {
+            pool.clear();
+        }
+    }
+}
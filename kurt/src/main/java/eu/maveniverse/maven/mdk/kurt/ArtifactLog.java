@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * Append-only on-disk log of artifacts: coordinates, file and properties of each, in compact binary form. Once
+ * writing is done, it is read back as a collection that deserializes artifacts in chunks as it is iterated, so
+ * the whole log is never on heap at once (unless consumer keeps it).
+ */
+final class ArtifactLog implements Closeable {
+    private static final int CHUNK = 1024;
+
+    private final Path file;
+    private final OutputStream output;
+    private final ByteArrayOutputStream record;
+    private final DataOutputStream recordOutput;
+    private final ArrayList<Long> chunkOffsets;
+    private long offset;
+    private int count;
+    private boolean closed;
+
+    ArtifactLog(Path file) throws IOException {
+        this.file = file;
+        this.output = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        this.record = new ByteArrayOutputStream(512);
+        this.recordOutput = new DataOutputStream(record);
+        this.chunkOffsets = new ArrayList<>();
+    }
+
+    synchronized void append(Artifact artifact) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Log is closed for writing");
+        }
+        record.reset();
+        recordOutput.writeUTF(artifact.getGroupId());
+        recordOutput.writeUTF(artifact.getArtifactId());
+        recordOutput.writeUTF(artifact.getVersion());
+        recordOutput.writeUTF(artifact.getClassifier());
+        recordOutput.writeUTF(artifact.getExtension());
+        recordOutput.writeUTF(artifact.getFile() != null ? artifact.getFile().getPath() : "");
+        Map<String, String> properties = artifact.getProperties();
+        recordOutput.writeInt(properties.size());
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            recordOutput.writeUTF(property.getKey());
+            recordOutput.writeUTF(property.getValue());
+        }
+        recordOutput.flush();
+        if (count % CHUNK == 0) {
+            chunkOffsets.add(offset);
+        }
+        record.writeTo(output);
+        offset += record.size();
+        count++;
+    }
+
+    /**
+     * Closes log for writing, and returns its artifacts, in order of appending.
+     */
+    synchronized Collection<Artifact> read() throws IOException {
+        close();
+        return new Artifacts(count, new ArrayList<>(chunkOffsets));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            output.close();
+        }
+    }
+
+    private final class Artifacts extends AbstractCollection<Artifact> {
+        private final int size;
+        private final ArrayList<Long> chunkOffsets;
+
+        private Artifacts(int size, ArrayList<Long> chunkOffsets) {
+            this.size = size;
+            this.chunkOffsets = chunkOffsets;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Artifact> iterator() {
+            return new Iterator<Artifact>() {
+                private final ArrayDeque<Artifact> chunk = new ArrayDeque<>(CHUNK);
+                private int nextChunk;
+                private int remaining = size;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0;
+                }
+
+                @Override
+                public Artifact next() {
+                    if (remaining == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    if (chunk.isEmpty()) {
+                        readChunk(nextChunk++, Math.min(CHUNK, remaining), chunk);
+                    }
+                    remaining--;
+                    return chunk.removeFirst();
+                }
+            };
+        }
+
+        private void readChunk(int index, int records, ArrayDeque<Artifact> chunk) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                channel.position(chunkOffsets.get(index));
+                DataInputStream input =
+                        new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+                for (int i = 0; i < records; i++) {
+                    String groupId = input.readUTF();
+                    String artifactId = input.readUTF();
+                    String version = input.readUTF();
+                    String classifier = input.readUTF();
+                    String extension = input.readUTF();
+                    String path = input.readUTF();
+                    int propertyCount = input.readInt();
+                    HashMap<String, String> properties = new HashMap<>(propertyCount * 2);
+                    for (int p = 0; p < propertyCount; p++) {
+                        properties.put(input.readUTF(), input.readUTF());
+                    }
+                    chunk.add(new DefaultArtifact(
+                            groupId,
+                            artifactId,
+                            classifier,
+                            extension,
+                            version,
+                            properties,
+                            path.isEmpty() ? null : Paths.get(path).toFile()));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read deploy queue " + file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * Deploy performance report: collects per-transfer data (as transfer listener) and Kurt phase timings, and writes them
+ * out as JSON. Retries are counted as transfers of same URL initiated more than once. Throughput is {@code null} for
+ * transfers that took no measurable time.
+ */
+final class DeployReport extends AbstractTransferListener {
+    private final LongAdder processRequestCount = new LongAdder();
+    private final LongAdder processRequestNanos = new LongAdder();
+    private volatile long deployAllNanos;
+    private final ConcurrentHashMap<String, Transfer> transfers = new ConcurrentHashMap<>();
+
+    private static final class Transfer {
+        private final String repositoryId;
+        private final String repositoryUrl;
+        private final String url;
+        private int attempts;
+        private int failures;
+        private boolean succeeded;
+        private long bytes;
+        private long startNanos;
+        private long nanos;
+
+        private Transfer(TransferResource resource) {
+            this.repositoryId = resource.getRepositoryId();
+            this.repositoryUrl = resource.getRepositoryUrl();
+            this.url = resource.getRepositoryUrl() + resource.getResourceName();
+        }
+
+        private String host() {
+            try {
+                String host = URI.create(repositoryUrl).getHost();
+                return host != null ? host : "localhost";
+            } catch (IllegalArgumentException e) {
+                return "unknown";
+            }
+        }
+    }
+
+    void processRequest(long nanos) {
+        processRequestCount.increment();
+        processRequestNanos.add(nanos);
+    }
+
+    void deployAll(long nanos) {
+        deployAllNanos = nanos;
+    }
+
+    @Override
+    public void transferInitiated(TransferEvent event) {
+        if (event.getRequestType() == TransferEvent.RequestType.PUT) {
+            Transfer transfer = transfer(event);
+            synchronized (transfer) {
+                transfer.attempts++;
+                transfer.startNanos = System.nanoTime();
+            }
+        }
+    }
+
+    @Override
+    public void transferSucceeded(TransferEvent event) {
+        if (event.getRequestType() == TransferEvent.RequestType.PUT) {
+            Transfer transfer = transfer(event);
+            synchronized (transfer) {
+                transfer.succeeded = true;
+                transfer.bytes = event.getTransferredBytes();
+                transfer.nanos = System.nanoTime() - transfer.startNanos;
+            }
+        }
+    }
+
+    @Override
+    public void transferFailed(TransferEvent event) {
+        if (event.getRequestType() == TransferEvent.RequestType.PUT) {
+            Transfer transfer = transfer(event);
+            synchronized (transfer) {
+                transfer.failures++;
+            }
+        }
+    }
+
+    private Transfer transfer(TransferEvent event) {
+        TransferResource resource = event.getResource();
+        return transfers.computeIfAbsent(
+                resource.getRepositoryUrl() + resource.getResourceName(), k -> new Transfer(resource));
+    }
+
+    void write(Path file, String deployer) throws IOException {
+        TreeMap<String, List<Transfer>> byRepository = new TreeMap<>();
+        TreeMap<String, List<Transfer>> byHost = new TreeMap<>();
+        for (Transfer transfer : transfers.values()) {
+            byRepository
+                    .computeIfAbsent(transfer.repositoryUrl, k -> new ArrayList<>())
+                    .add(transfer);
+            byHost.computeIfAbsent(transfer.host(), k -> new ArrayList<>()).add(transfer);
+        }
+
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, UTF_8)) {
+            writer.write("{\n");
+            writer.write("  \"deployer\": " + string(deployer) + ",\n");
+            writer.write("  \"processRequest\": {\"count\": " + processRequestCount.sum() + ", \"millis\": "
+                    + TimeUnit.NANOSECONDS.toMillis(processRequestNanos.sum()) + "},\n");
+            writer.write("  \"deployAll\": {\"millis\": " + TimeUnit.NANOSECONDS.toMillis(deployAllNanos) + "},\n");
+
+            writer.write("  \"repositories\": [");
+            Iterator<Map.Entry<String, List<Transfer>>> repositories =
+                    byRepository.entrySet().iterator();
+            while (repositories.hasNext()) {
+                Map.Entry<String, List<Transfer>> entry = repositories.next();
+                long count = 0;
+                long bytes = 0;
+                long nanos = 0;
+                int retries = 0;
+                for (Transfer transfer : entry.getValue()) {
+                    synchronized (transfer) {
+                        if (transfer.succeeded) {
+                            count++;
+                            bytes += transfer.bytes;
+                            nanos += transfer.nanos;
+                        }
+                        retries += Math.max(0, transfer.attempts - 1);
+                    }
+                }
+                writer.write("\n    {\"id\": " + string(entry.getValue().get(0).repositoryId) + ", \"url\": "
+                        + string(entry.getKey()) + ", \"transfers\": " + count + ", \"bytes\": " + bytes
+                        + ", \"transferMillis\": " + TimeUnit.NANOSECONDS.toMillis(nanos) + ", \"bytesPerSecond\": "
+                        + throughput(bytes, nanos)
+                        + ", \"retries\": " + retries + "}" + (repositories.hasNext() ? "," : ""));
+            }
+            writer.write("\n  ],\n");
+
+            writer.write("  \"hosts\": [");
+            Iterator<Map.Entry<String, List<Transfer>>> hosts =
+                    byHost.entrySet().iterator();
+            while (hosts.hasNext()) {
+                Map.Entry<String, List<Transfer>> entry = hosts.next();
+                ArrayList<Long> latencies = new ArrayList<>();
+                int failures = 0;
+                for (Transfer transfer : entry.getValue()) {
+                    synchronized (transfer) {
+                        if (transfer.succeeded) {
+                            latencies.add(TimeUnit.NANOSECONDS.toMillis(transfer.nanos));
+                        }
+                        failures += transfer.failures;
+                    }
+                }
+                Collections.sort(latencies);
+                writer.write("\n    {\"host\": " + string(entry.getKey()) + ", \"transfers\": " + latencies.size()
+                        + ", \"failures\": " + failures + ", \"p50Millis\": " + percentile(latencies, 50)
+                        + ", \"p90Millis\": " + percentile(latencies, 90) + ", \"p99Millis\": "
+                        + percentile(latencies, 99) + ", \"maxMillis\": " + percentile(latencies, 100) + "}"
+                        + (hosts.hasNext() ? "," : ""));
+            }
+            writer.write("\n  ],\n");
+
+            writer.write("  \"transfers\": [");
+            Iterator<Transfer> all = new TreeMap<>(transfers).values().iterator();
+            while (all.hasNext()) {
+                Transfer transfer = all.next();
+                synchronized (transfer) {
+                    writer.write("\n    {\"url\": " + string(transfer.url) + ", \"succeeded\": " + transfer.succeeded
+                            + ", \"bytes\": " + transfer.bytes + ", \"millis\": "
+                            + TimeUnit.NANOSECONDS.toMillis(transfer.nanos) + ", \"bytesPerSecond\": "
+                            + throughput(transfer.bytes, transfer.nanos)
+                            + ", \"attempts\": " + transfer.attempts + "}" + (all.hasNext() ? "," : ""));
+                }
+            }
+            writer.write("\n  ]\n");
+            writer.write("}\n");
+        }
+    }
+
+    /**
+     * Returns bytes per second, or {@code null} if transfer took no measurable time.
+     */
+    private static Long throughput(long bytes, long nanos) {
+        return nanos > 0 ? (long) (bytes * 1e9 / nanos) : null;
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static String string(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+
+/**
+ * Concurrent accumulator of deploy requests: requests are merged per repository as they arrive, without any global
+ * lock, and without touching (caller owned) requests. Artifacts and metadata with same coordinates are added only
+ * once (first one wins).
+ * <p>
+ * Artifacts are kept as {@link ArtifactDescriptor}s, sharing all they can with others (of whole accumulator), and
+ * are rebuilt only as batches are iterated.
+ * <p>
+ * Optionally, artifacts are spilled to disk (see {@link ArtifactLog}) as they arrive, one log per repository, and
+ * only their keys are kept on heap (no descriptors); batches then read them back as they are iterated. Metadata is
+ * always kept on heap, there is few of it, and its implementations cannot be recreated from a log.
+ */
+final class DeployRequestAccumulator {
+    private final ConcurrentHashMap<RemoteRepository, Batch> batches = new ConcurrentHashMap<>();
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private final ArtifactDescriptor.Interner interner = new ArtifactDescriptor.Interner();
+
+    private volatile Path spillDirectory;
+
+    /**
+     * Makes accumulator spill artifacts into given directory (or keep them on heap, if {@code null}). Must be invoked
+     * before any request is added.
+     */
+    void spillTo(Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Adds request to batch of its repository.
+     */
+    void add(DeployRequest deployRequest) throws IOException {
+        Batch batch;
+        try {
+            batch = batches.computeIfAbsent(deployRequest.getRepository(), this::newBatch);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        batch.add(deployRequest);
+    }
+
+    private Batch newBatch(RemoteRepository repository) {
+        Path directory = spillDirectory;
+        if (directory == null) {
+            return new Batch(repository, interner, null);
+        }
+        try {
+            Files.createDirectories(directory);
+            return new Batch(
+                    repository,
+                    interner,
+                    new ArtifactLog(directory.resolve("batch-" + counter.incrementAndGet() + ".log")));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    boolean isEmpty() {
+        return batches.isEmpty();
+    }
+
+    /**
+     * Returns immutable view of accumulated batches, keyed by repository. Must be invoked once all the requests
+     * were added.
+     */
+    Map<RemoteRepository, DeployRequest> batches() throws IOException {
+        LinkedHashMap<RemoteRepository, DeployRequest> result = new LinkedHashMap<>();
+        for (Batch batch : batches.values()) {
+            result.put(batch.repository, batch.toDeployRequest());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Drops all batches, and deletes spilled artifacts, if any.
+     */
+    void clear() throws IOException {
+        for (Batch batch : batches.values()) {
+            if (batch.log != null) {
+                batch.log.close();
+            }
+        }
+        batches.clear();
+        interner.clear();
+        Path directory = spillDirectory;
+        if (directory != null && Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static final class Batch {
+        private final RemoteRepository repository;
+        private final ArtifactDescriptor.Interner interner;
+        private final Set<ArtifactDescriptor> artifacts;
+        private final AtomicInteger sequence;
+        private final Set<String> artifactKeys;
+        private final ConcurrentHashMap<String, Boolean> keys;
+        private final ConcurrentLinkedQueue<Metadata> metadata;
+        private final ArtifactLog log;
+
+        private Batch(RemoteRepository repository, ArtifactDescriptor.Interner interner, ArtifactLog log) {
+            this.repository = requireNonNull(repository);
+            this.interner = requireNonNull(interner);
+            this.artifacts = log == null ? ConcurrentHashMap.newKeySet() : Collections.emptySet();
+            this.sequence = new AtomicInteger();
+            this.artifactKeys = log != null ? ConcurrentHashMap.newKeySet() : Collections.emptySet();
+            this.keys = new ConcurrentHashMap<>();
+            this.metadata = new ConcurrentLinkedQueue<>();
+            this.log = log; // nullable
+        }
+
+        private void add(DeployRequest deployRequest) throws IOException {
+            for (Artifact artifact : deployRequest.getArtifacts()) {
+                if (log != null) {
+                    if (artifactKeys.add(ArtifactIdUtils.toId(artifact))) {
+                        log.append(artifact);
+                    }
+                } else {
+                    artifacts.add(ArtifactDescriptor.of(artifact, interner, sequence.getAndIncrement()));
+                }
+            }
+            for (Metadata m : deployRequest.getMetadata()) {
+                String key = m.getGroupId() + ":" + m.getArtifactId() + ":" + m.getVersion() + ":" + m.getType() + ":"
+                        + m.getNature();
+                if (keys.putIfAbsent(key, Boolean.TRUE) == null) {
+                    metadata.add(m);
+                }
+            }
+        }
+
+        private DeployRequest toDeployRequest() throws IOException {
+            DeployRequest deployRequest = new DeployRequest();
+            deployRequest.setRepository(repository);
+            if (log != null) {
+                deployRequest.setArtifacts(log.read());
+            } else {
+                ArrayList<ArtifactDescriptor> descriptors = new ArrayList<>(artifacts);
+                descriptors.sort(Comparator.comparingInt(ArtifactDescriptor::getSequence));
+                deployRequest.setArtifacts(new Artifacts(descriptors));
+            }
+            deployRequest.setMetadata(Collections.unmodifiableCollection(metadata));
+            return deployRequest;
+        }
+    }
+
+    /**
+     * Artifacts of a batch, rebuilt from descriptors as iterated.
+     */
+    private static final class Artifacts extends AbstractCollection<Artifact> {
+        private final Collection<ArtifactDescriptor> descriptors;
+
+        private Artifacts(Collection<ArtifactDescriptor> descriptors) {
+            this.descriptors = descriptors;
+        }
+
+        @Override
+        public int size() {
+            return descriptors.size();
+        }
+
+        @Override
+        public Iterator<Artifact> iterator() {
+            Iterator<ArtifactDescriptor> iterator = descriptors.iterator();
+            return new Iterator<Artifact>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Artifact next() {
+                    return iterator.next().toArtifact();
+                }
+            };
+        }
+    }
+}
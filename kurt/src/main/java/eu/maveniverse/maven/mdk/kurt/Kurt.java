@@ -9,11 +9,12 @@ package eu.maveniverse.maven.mdk.kurt;
 
 import static java.util.Objects.requireNonNull;
 
+import eu.maveniverse.maven.mdk.kurt.checksums.ChecksumCache;
+import eu.maveniverse.maven.mdk.kurt.deployers.ConcurrencyController;
+import eu.maveniverse.maven.mdk.kurt.transport.TransferThrottle;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.inject.Inject;
@@ -27,6 +28,8 @@ import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.deployment.DeployRequest;
 import org.eclipse.aether.deployment.DeploymentException;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
 import org.eclipse.sisu.Priority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,44 +43,145 @@ import org.slf4j.LoggerFactory;
 public class Kurt extends AbstractMavenLifecycleParticipant implements DeployerSPI {
     private static final String DEPLOYER = Kurt.class.getName() + ".deployer";
 
+    /**
+     * Session data key of {@link ChainedTransferListener} that deployers should add to the sessions they deploy with,
+     * see {@link eu.maveniverse.maven.mdk.kurt.deployers.DeployerSupport}.
+     */
+    public static final String TRANSFER_LISTENER = Kurt.class.getName() + ".transferListener";
+
+    /**
+     * Session data key of {@link ChecksumCache} that deployers should use to reuse precomputed checksums, see
+     * {@link eu.maveniverse.maven.mdk.kurt.deployers.DeployerSupport}. Not present if disabled.
+     */
+    public static final String CHECKSUM_CACHE = Kurt.class.getName() + ".checksumCache";
+
+    /**
+     * Session data key of {@link ConcurrencyController} that limits uploads of
+     * {@link eu.maveniverse.maven.mdk.kurt.deployers.DeployEngine}. Not present if disabled.
+     */
+    public static final String CONCURRENCY_CONTROLLER = Kurt.class.getName() + ".concurrencyController";
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     private final Map<String, DeployerFactory> deployerFactories;
 
-    private final List<DeployRequest> deployAtEndRequests;
+    private final RepositoryLayoutProvider repositoryLayoutProvider;
+
+    private final DeployRequestAccumulator deployAtEndRequests;
 
     private final AtomicReference<MavenSession> sessionRef;
 
+    private final AtomicReference<DeployReport> reportRef;
+
+    private final AtomicReference<ChecksumCache> checksumCacheRef;
+
+    private final AtomicReference<ConcurrencyController> concurrencyControllerRef;
+
     @Inject
-    public Kurt(Map<String, DeployerFactory> deployerFactories) {
+    public Kurt(Map<String, DeployerFactory> deployerFactories, RepositoryLayoutProvider repositoryLayoutProvider) {
         this.deployerFactories = requireNonNull(deployerFactories);
-        this.deployAtEndRequests = Collections.synchronizedList(new ArrayList<>());
+        this.repositoryLayoutProvider = requireNonNull(repositoryLayoutProvider);
+        this.deployAtEndRequests = new DeployRequestAccumulator();
         this.sessionRef = new AtomicReference<>(null);
+        this.reportRef = new AtomicReference<>(null);
+        this.checksumCacheRef = new AtomicReference<>(null);
+        this.concurrencyControllerRef = new AtomicReference<>(null);
     }
 
     @Override
     public void afterProjectsRead(MavenSession session) throws MavenExecutionException {
         if (sessionRef.compareAndSet(null, session)) {
-            RepositorySystemSession repoSession = session.getRepositorySession();
-            String deployerName = KurtConfig.DEPLOYER.require(repoSession);
-            DeployerFactory deployerFactory = deployerFactories.get(deployerName);
-            if (deployerFactory == null) {
-                throw new MavenExecutionException(
-                        "Non existing deployer selected, supported ones are: " + deployerFactories.keySet(),
-                        (Throwable) null);
+            KurtEvents.Span span = KurtEvents.get().afterProjectsRead();
+            try {
+                setUp(session);
+            } catch (MavenExecutionException e) {
+                span.commit(false, 0);
+                throw e;
+            } catch (IllegalArgumentException e) {
+                // invalid configuration
+                span.commit(false, 0);
+                throw new MavenExecutionException(e.getMessage(), e);
             }
-            repoSession
-                    .getData()
-                    .set(DEPLOYER, deployerFactories.get(deployerName).createDeployer(session));
+            span.commit(true, session.getProjects().size());
         }
     }
 
+    private void setUp(MavenSession session) throws MavenExecutionException {
+        RepositorySystemSession repoSession = session.getRepositorySession();
+        String deployerName = KurtConfig.DEPLOYER.require(repoSession);
+        DeployerFactory deployerFactory = deployerFactories.get(deployerName);
+        if (deployerFactory == null) {
+            throw new MavenExecutionException(
+                    "Non existing deployer selected, supported ones are: " + deployerFactories.keySet(),
+                    (Throwable) null);
+        }
+        ChainedTransferListener transferListener = new ChainedTransferListener(new KurtEvents.Transfers());
+        String reportName = KurtConfig.REPORT.getOrDefault(repoSession);
+        if (reportName != null && !reportName.trim().isEmpty()) {
+            DeployReport report = new DeployReport();
+            reportRef.set(report);
+            transferListener.add(report);
+        }
+        long bandwidth = TransferThrottle.parseBytes(KurtConfig.BANDWIDTH.getOrDefault(repoSession));
+        long hostBandwidth = TransferThrottle.parseBytes(KurtConfig.HOST_BANDWIDTH.getOrDefault(repoSession));
+        if (bandwidth > 0 || hostBandwidth > 0) {
+            transferListener.add(new TransferThrottle(
+                    bandwidth,
+                    hostBandwidth,
+                    TransferThrottle.parseBytes(KurtConfig.BANDWIDTH_BURST.getOrDefault(repoSession))));
+        }
+        repoSession.getData().set(TRANSFER_LISTENER, transferListener);
+        deployAtEndRequests.spillTo(
+                Boolean.parseBoolean(KurtConfig.SPILL_DEPLOY_QUEUE.require(repoSession))
+                        ? Paths.get(session.getTopLevelProject().getBuild().getDirectory())
+                                .resolve("kurt-deploy-queue")
+                        : null);
+        int checksumThreads = KurtConfig.CHECKSUM_THREADS.requireInt(repoSession, 0);
+        if (checksumThreads > 0) {
+            ChecksumCache checksumCache = new ChecksumCache(
+                    repositoryLayoutProvider,
+                    Paths.get(session.getTopLevelProject().getBuild().getDirectory())
+                            .resolve("kurt-checksums"),
+                    checksumThreads);
+            checksumCacheRef.set(checksumCache);
+            repoSession.getData().set(CHECKSUM_CACHE, checksumCache);
+        }
+        if (Boolean.parseBoolean(KurtConfig.ADAPTIVE_CONCURRENCY.require(repoSession))) {
+            String file = KurtConfig.ADAPTIVE_CONCURRENCY_FILE.getOrDefault(repoSession);
+            try {
+                ConcurrencyController concurrencyController = ConcurrencyController.load(
+                        file == null || file.trim().isEmpty() ? null : Paths.get(file),
+                        KurtConfig.DEPLOY_THREADS.requireInt(repoSession, 1),
+                        KurtConfig.ADAPTIVE_CONCURRENCY_MAX.requireInt(repoSession, 1));
+                concurrencyControllerRef.set(concurrencyController);
+                repoSession.getData().set(CONCURRENCY_CONTROLLER, concurrencyController);
+            } catch (IOException e) {
+                throw new MavenExecutionException("Could not load upload concurrency limits", e);
+            }
+        }
+        repoSession.getData().set(DEPLOYER, deployerFactory.createDeployer(session));
+    }
+
     @Override
     public boolean deploy(RepositorySystemSession session, DeployRequest deployRequest)
             throws DeploymentException, IOException {
-        boolean accepted = getSelectedDeployer(session).processRequest(sessionRef.get(), deployRequest);
+        Deployer deployer = getSelectedDeployer(session);
+        KurtEvents.Span span = KurtEvents.get()
+                .processRequest(
+                        deployer.getName(), deployRequest.getRepository().getId());
+        long start = System.nanoTime();
+        boolean accepted = deployer.processRequest(sessionRef.get(), deployRequest);
+        span.commit(accepted, deployRequest.getArtifacts().size());
+        DeployReport report = reportRef.get();
+        if (report != null) {
+            report.processRequest(System.nanoTime() - start);
+        }
         if (accepted) {
             deployAtEndRequests.add(deployRequest);
+            ChecksumCache checksumCache = checksumCacheRef.get();
+            if (checksumCache != null) {
+                checksumCache.precompute(session, deployRequest);
+            }
         }
         return accepted;
     }
@@ -94,18 +198,22 @@ public class Kurt extends AbstractMavenLifecycleParticipant implements DeployerS
                 } else {
                     log.info("-- Performing deploy with " + deployer.getName());
                     log.info("------------------------------------------------------------------------");
-                    synchronized (deployAtEndRequests) {
-                        HashMap<RemoteRepository, DeployRequest> batched = new HashMap<>();
-                        for (DeployRequest deployRequest : deployAtEndRequests) {
-                            if (!batched.containsKey(deployRequest.getRepository())) {
-                                batched.put(deployRequest.getRepository(), deployRequest);
-                            } else {
-                                DeployRequest dr = batched.get(deployRequest.getRepository());
-                                deployRequest.getArtifacts().forEach(dr::addArtifact);
-                                deployRequest.getMetadata().forEach(dr::addMetadata);
-                            }
-                        }
-                        deployer.deployAll(session, batched);
+                    long start = System.nanoTime();
+                    KurtEvents.Span mergeSpan = KurtEvents.get().merge();
+                    Map<RemoteRepository, DeployRequest> batches = deployAtEndRequests.batches();
+                    mergeSpan.commit(true, batches.size());
+                    long artifacts = 0;
+                    for (DeployRequest batch : batches.values()) {
+                        artifacts += batch.getArtifacts().size();
+                    }
+                    KurtEvents.Span deployAllSpan = KurtEvents.get().deployAll(deployer.getName());
+                    boolean succeeded = false;
+                    try {
+                        deployer.deployAll(session, batches);
+                        succeeded = true;
+                    } finally {
+                        deployAllSpan.commit(succeeded, artifacts);
+                        writeReport(session, deployer, System.nanoTime() - start);
                     }
                 }
 
@@ -115,8 +223,48 @@ public class Kurt extends AbstractMavenLifecycleParticipant implements DeployerS
             log.error(e.getMessage(), e);
             throw new MavenExecutionException(e.getMessage(), e);
         } finally {
-            deployAtEndRequests.clear();
+            try {
+                deployAtEndRequests.clear();
+            } catch (IOException e) {
+                log.warn("Could not clean up deploy queue", e);
+            }
             sessionRef.set(null);
+            reportRef.set(null);
+            ConcurrencyController concurrencyController = concurrencyControllerRef.getAndSet(null);
+            if (concurrencyController != null) {
+                try {
+                    concurrencyController.save();
+                } catch (IOException e) {
+                    log.warn("Could not save upload concurrency limits", e);
+                }
+            }
+            ChecksumCache checksumCache = checksumCacheRef.getAndSet(null);
+            if (checksumCache != null) {
+                try {
+                    checksumCache.close();
+                } catch (IOException e) {
+                    log.warn("Could not clean up checksums", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes deploy report, if enabled. Failing to write it is logged only, not to fail (or mask the failure of) the
+     * deploy itself.
+     */
+    private void writeReport(MavenSession session, Deployer deployer, long deployAllNanos) {
+        DeployReport report = reportRef.get();
+        if (report != null) {
+            report.deployAll(deployAllNanos);
+            Path reportFile = Paths.get(session.getTopLevelProject().getBuild().getDirectory())
+                    .resolve(KurtConfig.REPORT.require(session));
+            try {
+                report.write(reportFile, deployer.getName());
+                log.info("-- Deploy report written to " + reportFile);
+            } catch (IOException e) {
+                log.warn("Could not write deploy report " + reportFile, e);
+            }
         }
     }
 
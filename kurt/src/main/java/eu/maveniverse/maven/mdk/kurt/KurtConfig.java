@@ -77,19 +77,164 @@ public final class KurtConfig {
         return require(session.getRepositorySession());
     }
 
+    /**
+     * Returns the value as integer, failing with explanation if it is not an integer or is less than given minimum.
+     */
+    public int requireInt(Map<String, Object> map, int minimum) {
+        String value = require(map);
+        int result;
+        try {
+            result = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    "Parameter " + keys[0] + " must be an integer, but is '" + value + "'.", e);
+        }
+        if (result < minimum) {
+            throw new IllegalArgumentException(
+                    "Parameter " + keys[0] + " must be at least " + minimum + ", but is " + result + ".");
+        }
+        return result;
+    }
+
+    public int requireInt(RepositorySystemSession session, int minimum) {
+        return requireInt(session.getConfigProperties(), minimum);
+    }
+
+    public int requireInt(MavenSession session, int minimum) {
+        return requireInt(session.getRepositorySession(), minimum);
+    }
+
     private static final String KURT_PREFIX = "kurt.";
 
     public static final KurtConfig DEPLOYER =
             createWithDefault(() -> ResolverDeployerFactory.NAME, KURT_PREFIX + "deployer");
 
+    /**
+     * If set, a JSON deploy report of this name (relative to build directory) is written once deploy at end is done.
+     * Not set by default.
+     */
+    public static final KurtConfig REPORT = createWithoutDefault(KURT_PREFIX + "report");
+
+    /**
+     * Count of concurrent uploads of remote deployers. With 1 (default) requests are deployed one by one, as they
+     * are, same as Maven Deploy Plugin does.
+     */
+    public static final KurtConfig DEPLOY_THREADS = createWithDefault(() -> "1", KURT_PREFIX + "deployThreads");
+
+    /**
+     * Count of threads precomputing checksums of accepted artifacts while the build goes on, to be deployed by Kurt
+     * deployers. With 0 (default) checksums are not precomputed, Resolver calculates them while deploying. The "tee"
+     * deployer calculates checksums once before deploying to all targets in any case, using this count of threads, or
+     * one per CPU with 0.
+     */
+    public static final KurtConfig CHECKSUM_THREADS = createWithDefault(() -> "0", KURT_PREFIX + "checksumThreads");
+
+    /**
+     * If true, artifacts accepted for deploy at end are kept on disk (in top level project build directory) instead
+     * of heap, until deployed.
+     */
+    public static final KurtConfig SPILL_DEPLOY_QUEUE =
+            createWithDefault(Boolean.FALSE::toString, KURT_PREFIX + "spillDeployQueue");
+
+    /**
+     * If true, remote deployers adapt upload concurrency per repository host (starting from {@link #DEPLOY_THREADS}),
+     * instead of using fixed thread count.
+     */
+    public static final KurtConfig ADAPTIVE_CONCURRENCY =
+            createWithDefault(Boolean.FALSE::toString, KURT_PREFIX + "adaptiveConcurrency");
+
+    /**
+     * The highest upload concurrency per repository host adaptive concurrency may reach.
+     */
+    public static final KurtConfig ADAPTIVE_CONCURRENCY_MAX =
+            createWithDefault(() -> "32", KURT_PREFIX + "adaptiveConcurrencyMax");
+
+    /**
+     * If set, the file upload concurrency learned per repository host is kept in, for later sessions.
+     */
+    public static final KurtConfig ADAPTIVE_CONCURRENCY_FILE =
+            createWithoutDefault(KURT_PREFIX + "adaptiveConcurrencyFile");
+
+    /**
+     * Bandwidth limit of all network transfers of Kurt deployers together, in bytes per second, with optional
+     * {@code k}, {@code m} or {@code g} suffix (like {@code 10m}). Unlimited if not set.
+     */
+    public static final KurtConfig BANDWIDTH = createWithoutDefault(KURT_PREFIX + "bandwidth");
+
+    /**
+     * Bandwidth limit of network transfers of Kurt deployers per repository host, in same format as
+     * {@link #BANDWIDTH}. Unlimited if not set.
+     */
+    public static final KurtConfig HOST_BANDWIDTH = createWithoutDefault(KURT_PREFIX + "hostBandwidth");
+
+    /**
+     * Bytes that may be transferred at full speed, above bandwidth limits, after a pause. Defaults to one second
+     * worth of limit.
+     */
+    public static final KurtConfig BANDWIDTH_BURST = createWithoutDefault(KURT_PREFIX + "bandwidthBurst");
+
     public static final KurtConfig LOCAL_STAGING_ID =
             createWithDefault(() -> "staging-deploy", KURT_PREFIX + "localStagingId");
 
     public static final KurtConfig LOCAL_STAGING_DIRECTORY =
             createWithDefault(() -> "staging-deploy", KURT_PREFIX + "localStagingDirectory");
 
+    /**
+     * If true, local staging lays out artifacts as hard links to build output instead of copies. Off by default, as
+     * staged content then changes if build output is rewritten in place.
+     */
+    public static final KurtConfig LOCAL_STAGING_LINK =
+            createWithDefault(Boolean.FALSE::toString, KURT_PREFIX + "localStagingLink");
+
+    /**
+     * If true, local staging stages accepted requests right away on a background thread into
+     * {@code <staging>.pending} directory, and at the end of build atomically renames it to staging directory. Off by
+     * default: unless enabled, everything is staged at the end of build.
+     */
+    public static final KurtConfig LOCAL_STAGING_EAGER =
+            createWithDefault(Boolean.FALSE::toString, KURT_PREFIX + "localStagingEager");
+
+    /**
+     * If true, non-eager local staging keeps content index next to staging directory, and re-runs stage only what
+     * changed. Off by default: unless enabled, staging directory is written as a whole on each run.
+     */
+    public static final KurtConfig LOCAL_STAGING_INCREMENTAL =
+            createWithDefault(Boolean.FALSE::toString, KURT_PREFIX + "localStagingIncremental");
+
+    /**
+     * If set, local staging writes Central Portal bundle file of this name (relative to build directory), instead of
+     * staging directory.
+     */
+    public static final KurtConfig LOCAL_STAGING_BUNDLE = createWithoutDefault(KURT_PREFIX + "localStagingBundle");
+
     public static final KurtConfig REMOTE_STAGING_ID =
             createWithDefault(() -> "staging-deploy", KURT_PREFIX + "remoteStagingId");
 
     public static final KurtConfig REMOTE_STAGING_URL = createWithoutDefault(KURT_PREFIX + "remoteStagingUrl");
+
+    /**
+     * If set, remote staging records uploads into journal file of this name (relative to build directory). Not set by
+     * default.
+     */
+    public static final KurtConfig REMOTE_STAGING_JOURNAL = createWithoutDefault(KURT_PREFIX + "remoteStagingJournal");
+
+    /**
+     * If true, remote staging uploads only what its journal does not record as uploaded with same content. Needs
+     * {@link #REMOTE_STAGING_JOURNAL}.
+     */
+    public static final KurtConfig REMOTE_STAGING_RESUME =
+            createWithDefault(Boolean.FALSE::toString, KURT_PREFIX + "remoteStagingResume");
+
+    /**
+     * If true, remote staging first checks which artifacts are already present in staging repository, uploads only
+     * missing ones, and fails before uploading anything if some is present with different content.
+     */
+    public static final KurtConfig REMOTE_STAGING_PREFLIGHT =
+            createWithDefault(Boolean.FALSE::toString, KURT_PREFIX + "remoteStagingPreflight");
+
+    /**
+     * Comma separated list of {@code id::url} repositories the tee deployer deploys to, along with the original ones.
+     * Authentication is taken from settings, by id.
+     */
+    public static final KurtConfig TEE_TARGETS = createWithoutDefault(KURT_PREFIX + "teeTargets");
 }
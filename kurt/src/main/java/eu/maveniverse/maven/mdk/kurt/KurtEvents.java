@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * Kurt events. If JFR is available (Java 11+), events are emitted as JFR events (see {@code JfrKurtEvents} in
+ * {@code src/main/java11}), otherwise all of them are no-op. As Kurt is built for Java 8, JFR implementation is
+ * compiled separately, and is loaded reflectively.
+ * <p>
+ * Each method begins an event, and returns a span that must be committed once the measured operation is done.
+ * When recording is off, the no-op span is returned.
+ */
+abstract class KurtEvents {
+    interface Span {
+        /**
+         * Commits the event. The meaning of {@code count} depends on event: artifact count, repository count or
+         * transferred bytes.
+         */
+        void commit(boolean succeeded, long count);
+    }
+
+    static final Span NOOP = (succeeded, count) -> {};
+
+    private static final KurtEvents INSTANCE = create();
+
+    static KurtEvents get() {
+        return INSTANCE;
+    }
+
+    abstract Span afterProjectsRead();
+
+    abstract Span processRequest(String deployer, String repository);
+
+    abstract Span merge();
+
+    abstract Span deployAll(String deployer);
+
+    abstract Span transfer(String url);
+
+    /**
+     * Transfer listener emitting transfer events for uploads.
+     */
+    static final class Transfers extends AbstractTransferListener {
+        private final ConcurrentHashMap<TransferResource, Span> spans = new ConcurrentHashMap<>();
+
+        @Override
+        public void transferStarted(TransferEvent event) {
+            if (event.getRequestType() == TransferEvent.RequestType.PUT) {
+                TransferResource resource = event.getResource();
+                Span span = get().transfer(resource.getRepositoryUrl() + resource.getResourceName());
+                if (span != NOOP) {
+                    spans.put(resource, span);
+                }
+            }
+        }
+
+        @Override
+        public void transferSucceeded(TransferEvent event) {
+            Span span = spans.remove(event.getResource());
+            if (span != null) {
+                span.commit(true, event.getTransferredBytes());
+            }
+        }
+
+        @Override
+        public void transferFailed(TransferEvent event) {
+            Span span = spans.remove(event.getResource());
+            if (span != null) {
+                span.commit(false, event.getTransferredBytes());
+            }
+        }
+    }
+
+    private static KurtEvents create() {
+        try {
+            Class.forName("jdk.jfr.Event", false, KurtEvents.class.getClassLoader());
+            return (KurtEvents) Class.forName(KurtEvents.class.getPackage().getName() + ".JfrKurtEvents")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new Noop();
+        }
+    }
+
+    private static final class Noop extends KurtEvents {
+        @Override
+        Span afterProjectsRead() {
+            return NOOP;
+        }
+
+        @Override
+        Span processRequest(String deployer, String repository) {
+            return NOOP;
+        }
+
+        @Override
+        Span merge() {
+            return NOOP;
+        }
+
+        @Override
+        Span deployAll(String deployer) {
+            return NOOP;
+        }
+
+        @Override
+        Span transfer(String url) {
+            return NOOP;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.checksums;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmHelper;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.eclipse.aether.transfer.NoRepositoryLayoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Precomputed artifact checksums. Artifacts accepted for deploy are hashed with all the checksum algorithms of their
+ * repository in one pass (per file), on background threads, while the build goes on. Deployers then reuse them by
+ * deploying checksums as artifacts (see {@link #withChecksums(RepositorySystemSession, DeployRequest)}), while
+ * {@link ProvidedChecksumsRepositoryLayoutFactory} makes Resolver skip calculating them again.
+ * <p>
+ * Release artifacts only: snapshot checksum artifacts would end up in snapshot metadata. Artifacts without
+ * precomputed checksums (or changed since) are left as is, Resolver calculates their checksums as usual.
+ */
+public final class ChecksumCache implements Closeable {
+    /**
+     * Artifact property marking artifacts having their checksums provided as artifacts.
+     */
+    public static final String PROVIDED_CHECKSUMS = "kurt.providedChecksums";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final RepositoryLayoutProvider repositoryLayoutProvider;
+
+    private final Path directory;
+
+    private final ExecutorService executor;
+
+    private final ConcurrentHashMap<File, Future<Checksums>> checksums;
+
+    private final AtomicInteger counter;
+
+    private static final class Checksums {
+        private final long size;
+        private final long lastModified;
+        private final Map<String, String> checksums;
+
+        private Checksums(long size, long lastModified, Map<String, String> checksums) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checksums = checksums;
+        }
+    }
+
+    /**
+     * Creates the cache, using given (to be created) directory to write checksum files into.
+     */
+    public ChecksumCache(RepositoryLayoutProvider repositoryLayoutProvider, Path directory, int threads) {
+        this.repositoryLayoutProvider = requireNonNull(repositoryLayoutProvider);
+        this.directory = requireNonNull(directory);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "kurt-checksums-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.checksums = new ConcurrentHashMap<>();
+        this.counter = new AtomicInteger();
+    }
+
+    /**
+     * Schedules checksum calculation of request artifacts, with all algorithms of request repository.
+     */
+    public void precompute(RepositorySystemSession session, DeployRequest deployRequest) {
+        precompute(session, deployRequest, Collections.singletonList(deployRequest.getRepository()));
+    }
+
+    /**
+     * Schedules checksum calculation of request artifacts, with all algorithms of all given repositories, in one pass
+     * per file. Files already scheduled are not scheduled again.
+     */
+    public void precompute(
+            RepositorySystemSession session, DeployRequest deployRequest, Collection<RemoteRepository> repositories) {
+        ArrayList<RepositoryLayout> layouts = new ArrayList<>();
+        LinkedHashMap<String, ChecksumAlgorithmFactory> union = new LinkedHashMap<>();
+        for (RemoteRepository repository : repositories) {
+            RepositoryLayout layout = layout(session, repository);
+            if (layout != null) {
+                layouts.add(layout);
+                layout.getChecksumAlgorithmFactories().forEach(f -> union.putIfAbsent(f.getName(), f));
+            }
+        }
+        List<ChecksumAlgorithmFactory> factories = new ArrayList<>(union.values());
+        for (Artifact artifact : deployRequest.getArtifacts()) {
+            if (layouts.stream().anyMatch(layout -> needsChecksums(layout, artifact))) {
+                checksums.computeIfAbsent(
+                        artifact.getFile().getAbsoluteFile(),
+                        file -> executor.submit(() -> {
+                            long size = file.length();
+                            long lastModified = file.lastModified();
+                            return new Checksums(
+                                    size, lastModified, ChecksumAlgorithmHelper.calculate(file, factories));
+                        }));
+            }
+        }
+    }
+
+    /**
+     * Returns deploy request with precomputed checksums added as artifacts (next to artifacts they belong to), and
+     * those artifacts marked with {@link #PROVIDED_CHECKSUMS} property. Waits for pending calculations, if any.
+     */
+    public DeployRequest withChecksums(RepositorySystemSession session, DeployRequest deployRequest)
+            throws IOException {
+        RepositoryLayout layout = layout(session, deployRequest.getRepository());
+        if (layout == null) {
+            return deployRequest;
+        }
+        DeployRequest result = new DeployRequest();
+        result.setRepository(deployRequest.getRepository());
+        result.setTrace(deployRequest.getTrace());
+        result.setMetadata(deployRequest.getMetadata());
+        int provided = 0;
+        for (Artifact artifact : deployRequest.getArtifacts()) {
+            Map<String, String> artifactChecksums = needsChecksums(layout, artifact) ? get(artifact, layout) : null;
+            if (artifactChecksums == null) {
+                result.addArtifact(artifact);
+                continue;
+            }
+            HashMap<String, String> properties = new HashMap<>(artifact.getProperties());
+            properties.put(PROVIDED_CHECKSUMS, Boolean.TRUE.toString());
+            result.addArtifact(artifact.setProperties(properties));
+            for (ChecksumAlgorithmFactory factory : layout.getChecksumAlgorithmFactories()) {
+                String extension = artifact.getExtension() + "." + factory.getFileExtension();
+                Path file = directory.resolve(counter.incrementAndGet() + "-"
+                        + artifact.getFile().getName() + "." + factory.getFileExtension());
+                Files.createDirectories(directory);
+                Files.write(file, artifactChecksums.get(factory.getName()).getBytes(UTF_8));
+                result.addArtifact(new DefaultArtifact(
+                                artifact.getGroupId(),
+                                artifact.getArtifactId(),
+                                artifact.getClassifier(),
+                                extension,
+                                artifact.getVersion())
+                        .setFile(file.toFile()));
+            }
+            provided++;
+        }
+        logger.debug(
+                "Using precomputed checksums of {} out of {} artifacts",
+                provided,
+                deployRequest.getArtifacts().size());
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        checksums.clear();
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns precomputed checksum of the file with given algorithm (like {@code SHA-1}), or {@code null} if there is
+     * none, or file changed since. Waits for pending calculation, if any.
+     */
+    public String get(File file, String algorithm) {
+        Checksums result = get(file.getAbsoluteFile());
+        return result != null ? result.checksums.get(algorithm) : null;
+    }
+
+    private Map<String, String> get(Artifact artifact, RepositoryLayout layout) {
+        Checksums result = get(artifact.getFile().getAbsoluteFile());
+        if (result == null) {
+            return null;
+        }
+        for (ChecksumAlgorithmFactory factory : layout.getChecksumAlgorithmFactories()) {
+            if (!result.checksums.containsKey(factory.getName())) {
+                return null;
+            }
+        }
+        return result.checksums;
+    }
+
+    private Checksums get(File file) {
+        Future<Checksums> future = checksums.get(file);
+        if (future == null) {
+            return null;
+        }
+        try {
+            Checksums result = future.get();
+            if (result.size != file.length() || result.lastModified != file.lastModified()) {
+                logger.debug("File {} changed since checksums were calculated", file);
+                return null;
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            logger.debug("Could not calculate checksums of {}", file, e.getCause());
+            return null;
+        }
+    }
+
+    private RepositoryLayout layout(RepositorySystemSession session, RemoteRepository repository) {
+        try {
+            return repositoryLayoutProvider.newRepositoryLayout(session, repository);
+        } catch (NoRepositoryLayoutException e) {
+            return null;
+        }
+    }
+
+    private static boolean needsChecksums(RepositoryLayout layout, Artifact artifact) {
+        return artifact.getFile() != null
+                && !artifact.isSnapshot()
+                && !layout.getChecksumLocations(artifact, true, layout.getLocation(artifact, true))
+                        .isEmpty();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.checksums;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutFactory;
+import org.eclipse.aether.transfer.NoRepositoryLayoutException;
+import org.eclipse.aether.util.ConfigUtils;
+
+/**
+ * Repository layout factory that wraps Maven2 layout, and makes Resolver skip checksum calculation and upload of
+ * artifacts having checksums provided by Kurt (marked with {@link ChecksumCache#PROVIDED_CHECKSUMS} property), as in
+ * that case checksums are deployed as artifacts, see {@link ChecksumCache#withChecksums(RepositorySystemSession,
+ * org.eclipse.aether.deployment.DeployRequest)}. Otherwise, it is same as Maven2 layout.
+ * <p>
+ * It is used only in sessions Kurt deployers create (having {@link #ENABLED} set), in any other session it refuses to
+ * create layout, so Resolver uses Maven2 layout as usual.
+ */
+@Singleton
+@Named(ProvidedChecksumsRepositoryLayoutFactory.NAME)
+public class ProvidedChecksumsRepositoryLayoutFactory implements RepositoryLayoutFactory {
+    public static final String NAME = "kurt-provided-checksums";
+
+    /**
+     * Session configuration property enabling this layout.
+     */
+    public static final String ENABLED = ProvidedChecksumsRepositoryLayoutFactory.class.getName() + ".enabled";
+
+    private final RepositoryLayoutFactory maven2RepositoryLayoutFactory;
+
+    @Inject
+    public ProvidedChecksumsRepositoryLayoutFactory(
+            @Named("maven2") RepositoryLayoutFactory maven2RepositoryLayoutFactory) {
+        this.maven2RepositoryLayoutFactory = requireNonNull(maven2RepositoryLayoutFactory);
+    }
+
+    @Override
+    public RepositoryLayout newInstance(RepositorySystemSession session, RemoteRepository repository)
+            throws NoRepositoryLayoutException {
+        if (!ConfigUtils.getBoolean(session, false, ENABLED)) {
+            throw new NoRepositoryLayoutException(repository, "Provided checksums are not enabled in this session");
+        }
+        return new ProvidedChecksumsRepositoryLayout(maven2RepositoryLayoutFactory.newInstance(session, repository));
+    }
+
+    @Override
+    public float getPriority() {
+        return maven2RepositoryLayoutFactory.getPriority() + 1;
+    }
+
+    private static final class ProvidedChecksumsRepositoryLayout implements RepositoryLayout {
+        private final RepositoryLayout delegate;
+
+        private ProvidedChecksumsRepositoryLayout(RepositoryLayout delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<ChecksumAlgorithmFactory> getChecksumAlgorithmFactories() {
+            return delegate.getChecksumAlgorithmFactories();
+        }
+
+        @Override
+        public boolean hasChecksums(Artifact artifact) {
+            return delegate.hasChecksums(artifact);
+        }
+
+        @Override
+        public URI getLocation(Artifact artifact, boolean upload) {
+            return delegate.getLocation(artifact, upload);
+        }
+
+        @Override
+        public URI getLocation(Metadata metadata, boolean upload) {
+            return delegate.getLocation(metadata, upload);
+        }
+
+        @Override
+        public List<ChecksumLocation> getChecksumLocations(Artifact artifact, boolean upload, URI location) {
+            if (upload && Boolean.parseBoolean(artifact.getProperty(ChecksumCache.PROVIDED_CHECKSUMS, null))) {
+                return Collections.emptyList();
+            }
+            return delegate.getChecksumLocations(artifact, upload, location);
+        }
+
+        @Override
+        public List<ChecksumLocation> getChecksumLocations(Metadata metadata, boolean upload, URI location) {
+            return delegate.getChecksumLocations(metadata, upload, location);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithm;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+
+/**
+ * Writes artifacts straight into a Central Portal bundle: a ZIP file with repository layout, with checksums (as
+ * layout mandates them) computed while artifact is copied into it. This spares writing the staging directory, and
+ * reading it again to ZIP it up. Already compressed files (JARs and alike) are stored, not deflated. Metadata is not
+ * written, Central Portal does not need it.
+ * <p>
+ * Not thread safe. An artifact location written once is not written again.
+ */
+final class BundleWriter implements Closeable {
+    private static final Set<String> COMPRESSED =
+            new HashSet<>(Arrays.asList("jar", "war", "ear", "rar", "aar", "zip", "gz", "tgz", "bz2", "xz", "7z"));
+
+    private final RepositoryLayout layout;
+    private final ZipArchiveOutputStream zip;
+    private final Set<String> written;
+    private final byte[] buffer;
+
+    BundleWriter(RepositoryLayout layout, Path file) throws IOException {
+        this.layout = requireNonNull(layout);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        // seekable output: stored entries need no sizes and CRC upfront
+        this.zip = new ZipArchiveOutputStream(file);
+        this.written = new HashSet<>();
+        this.buffer = new byte[64 * 1024];
+    }
+
+    /**
+     * Writes artifact and its checksums, returns {@code false} if artifact location was already written.
+     */
+    boolean write(Artifact artifact) throws IOException {
+        String location = layout.getLocation(artifact, true).getPath();
+        if (!written.add(location)) {
+            return false;
+        }
+        List<RepositoryLayout.ChecksumLocation> checksumLocations =
+                layout.getChecksumLocations(artifact, true, layout.getLocation(artifact, true));
+        ArrayList<ChecksumAlgorithm> algorithms = new ArrayList<>(checksumLocations.size());
+        for (RepositoryLayout.ChecksumLocation checksumLocation : checksumLocations) {
+            algorithms.add(checksumLocation.getChecksumAlgorithmFactory().getAlgorithm());
+        }
+
+        Path file = artifact.getFile().toPath();
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        ZipArchiveEntry entry = new ZipArchiveEntry(location);
+        entry.setMethod(isCompressed(location) ? ZipEntry.STORED : ZipEntry.DEFLATED);
+        entry.setLastModifiedTime(lastModified);
+        zip.putArchiveEntry(entry);
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                zip.write(buffer, 0, read);
+                for (ChecksumAlgorithm algorithm : algorithms) {
+                    algorithm.update(ByteBuffer.wrap(buffer, 0, read));
+                }
+            }
+        }
+        zip.closeArchiveEntry();
+
+        for (int i = 0; i < checksumLocations.size(); i++) {
+            ZipArchiveEntry checksumEntry =
+                    new ZipArchiveEntry(checksumLocations.get(i).getLocation().getPath());
+            checksumEntry.setLastModifiedTime(lastModified);
+            zip.putArchiveEntry(checksumEntry);
+            zip.write(algorithms.get(i).checksum().getBytes(US_ASCII));
+            zip.closeArchiveEntry();
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+
+    private static boolean isCompressed(String location) {
+        int dot = location.lastIndexOf('.');
+        return dot > location.lastIndexOf('/')
+                && COMPRESSED.contains(location.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adaptive upload concurrency, per repository host, used by {@link DeployEngine}: each host has a limit of concurrent
+ * group uploads, adjusted with additive-increase / multiplicative-decrease (AIMD) as groups complete.
+ * <p>
+ * Decisions are made once per "round" (a limit worth of completed uploads, but at least {@value Limiter#MIN_ROUND}),
+ * based on the throughput of the host in the round: bytes uploaded per second the host had uploads in flight. Being
+ * aggregated over the round, it does not depend on sizes of single groups (one large JAR versus few small POMs).
+ * Limit grows by one per round while throughput grows. Once it does not, more concurrency does not add anything, so
+ * limit is kept. Once throughput drops to half of the best one seen, uploads just queue up at the repository, so
+ * limit is halved (and best throughput is learned again); same happens if an upload of the round failed.
+ * <p>
+ * Limits are kept for the session and, if a file is given, loaded from and saved to it (Java properties, one
+ * {@code host=limit} per line), so later sessions start from what was learned. Repositories without host (like
+ * {@code file:} ones) use the initial limit, and are not adapted.
+ */
+public final class ConcurrencyController {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Path file;
+    private final int initialLimit;
+    private final int maxLimit;
+    private final Properties saved;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Limiter> limiters;
+
+    private ConcurrencyController(Path file, int initialLimit, int maxLimit, Properties saved, LongSupplier clock) {
+        this.file = file;
+        this.initialLimit = initialLimit;
+        this.maxLimit = maxLimit;
+        this.saved = saved;
+        this.clock = clock;
+        this.limiters = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates controller, with limits learned in earlier sessions loaded from given file, if not {@code null} and
+     * exists.
+     */
+    public static ConcurrencyController load(Path file, int initialLimit, int maxLimit) throws IOException {
+        return load(file, initialLimit, maxLimit, System::nanoTime);
+    }
+
+    /**
+     * Same as {@link #load(Path, int, int)}, measuring time with given clock (in nanoseconds).
+     */
+    static ConcurrencyController load(Path file, int initialLimit, int maxLimit, LongSupplier clock)
+            throws IOException {
+        if (initialLimit < 1 || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Limits must be 1 <= initial <= max");
+        }
+        Properties saved = new Properties();
+        if (file != null && Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+                saved.load(reader);
+            }
+        }
+        return new ConcurrencyController(file, initialLimit, maxLimit, saved, clock);
+    }
+
+    /**
+     * The highest limit any host may reach, hence the most threads an upload may use.
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Returns the limiter of repository with given URL.
+     */
+    Limiter limiter(String repositoryUrl) {
+        String host = hostOf(repositoryUrl);
+        return limiters.computeIfAbsent(host, h -> {
+            if (h.isEmpty()) {
+                return new Limiter(h, initialLimit, false);
+            }
+            int limit = initialLimit;
+            try {
+                limit = Integer.parseInt(saved.getProperty(h, Integer.toString(initialLimit)));
+            } catch (NumberFormatException e) {
+                // start from initial
+            }
+            return new Limiter(h, Math.max(1, Math.min(maxLimit, limit)), true);
+        });
+    }
+
+    /**
+     * Logs learned limits, and saves them, if file was given.
+     */
+    public void save() throws IOException {
+        TreeMap<String, Integer> learned = new TreeMap<>();
+        for (Limiter limiter : limiters.values()) {
+            if (limiter.adaptive) {
+                learned.put(limiter.host, limiter.getLimit());
+            }
+        }
+        if (learned.isEmpty()) {
+            return;
+        }
+        logger.info("Learned upload concurrency: {}", learned);
+        if (file == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.putAll(saved);
+        for (Map.Entry<String, Integer> entry : learned.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().toString());
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, UTF_8)) {
+            properties.store(writer, "Kurt upload concurrency per host");
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "" : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Concurrency limit of one host: a semaphore with AIMD adjusted permit count, see class javadoc.
+     */
+    final class Limiter {
+        static final int MIN_ROUND = 8;
+        private static final double CONGESTION = 0.5;
+
+        private final String host;
+        private final boolean adaptive;
+        private int limit;
+        private int inFlight;
+        private long lastEvent;
+        private long roundNanos;
+        private long roundBytes;
+        private int roundUploads;
+        private boolean roundFailed;
+        private double lastThroughput;
+        private double bestThroughput;
+
+        private Limiter(String host, int limit, boolean adaptive) {
+            this.host = host;
+            this.adaptive = adaptive;
+            this.limit = limit;
+        }
+
+        synchronized int getLimit() {
+            return limit;
+        }
+
+        /**
+         * Waits until an upload may start.
+         */
+        synchronized void acquire() throws InterruptedException {
+            while (inFlight >= limit) {
+                wait();
+            }
+            busy();
+            inFlight++;
+        }
+
+        /**
+         * Reports completed upload of given count of bytes, or failed one.
+         */
+        synchronized void release(long bytes, boolean failed) {
+            busy();
+            inFlight--;
+            if (adaptive) {
+                roundBytes += bytes;
+                roundUploads++;
+                roundFailed |= failed;
+                if (roundUploads >= Math.max(MIN_ROUND, limit)) {
+                    endRound();
+                }
+            }
+            notifyAll();
+        }
+
+        /**
+         * Releases without reporting, for uploads that were not done.
+         */
+        synchronized void cancel() {
+            busy();
+            inFlight--;
+            notifyAll();
+        }
+
+        /**
+         * Accounts time since last event to the round, if host had uploads in flight.
+         */
+        private void busy() {
+            long now = clock.getAsLong();
+            if (inFlight > 0) {
+                roundNanos += now - lastEvent;
+            }
+            lastEvent = now;
+        }
+
+        private void endRound() {
+            int previous = limit;
+            String reason = null;
+            if (roundFailed) {
+                limit = Math.max(1, limit / 2);
+                reason = "failure";
+            } else if (roundNanos > 0) {
+                double throughput = roundBytes * 1_000_000_000.0 / roundNanos;
+                if (throughput < CONGESTION * bestThroughput) {
+                    limit = Math.max(1, limit / 2);
+                    bestThroughput = throughput;
+                    reason = "throughput";
+                } else {
+                    if (throughput > lastThroughput && limit < maxLimit) {
+                        limit++;
+                    }
+                    bestThroughput = Math.max(bestThroughput, throughput);
+                }
+                lastThroughput = throughput;
+            }
+            if (reason != null) {
+                logger.debug("Upload concurrency to {} decreased {} -> {} ({})", host, previous, limit, reason);
+            }
+            roundNanos = 0;
+            roundBytes = 0;
+            roundUploads = 0;
+            roundFailed = false;
+        }
+    }
+}
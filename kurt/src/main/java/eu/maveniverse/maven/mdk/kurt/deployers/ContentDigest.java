@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import eu.maveniverse.maven.mdk.kurt.Kurt;
+import eu.maveniverse.maven.mdk.kurt.checksums.ChecksumCache;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Digests of local files, to compare them with what was uploaded (or staged) earlier. SHA-1 reuses checksums
+ * precomputed by {@link ChecksumCache}, if session has one.
+ */
+final class ContentDigest {
+    static final String SHA_1 = "SHA-1";
+
+    private ContentDigest() {}
+
+    /**
+     * Returns lowercase hex SHA-1 of the file.
+     */
+    static String sha1(RepositorySystemSession session, File file) throws IOException {
+        ChecksumCache checksumCache = (ChecksumCache) session.getData().get(Kurt.CHECKSUM_CACHE);
+        if (checksumCache != null) {
+            String precomputed = checksumCache.get(file, SHA_1);
+            if (precomputed != null) {
+                return precomputed;
+            }
+        }
+        return sha1(file);
+    }
+
+    /**
+     * Returns lowercase hex SHA-1 of the file, calculating it.
+     */
+    static String sha1(File file) throws IOException {
+        return digest(file.toPath(), SHA_1);
+    }
+
+    /**
+     * Returns lowercase hex digest of the file with given algorithm (like {@code SHA-256}), calculating it.
+     */
+    static String digest(Path file, String algorithm) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder sb = new StringBuilder(digest.getDigestLength() * 2);
+        for (byte b : digest.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
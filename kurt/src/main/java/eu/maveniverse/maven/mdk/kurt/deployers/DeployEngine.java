@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.mdk.kurt.Kurt;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactProperties;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeployResult;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.metadata.Metadata;
+
+/**
+ * Bounded upload engine: splits batched deploy requests into artifact groups and deploys them concurrently, all
+ * repositories at once.
+ * <p>
+ * A group contains all artifacts sharing same {@code groupId:artifactId} (main artifact, classified ones, signatures,
+ * and the checksums Resolver calculates for them). Groups cannot be finer than that, as Resolver generates and merges
+ * {@code maven-metadata.xml} per deploy call, and concurrent calls for same GA would race on it. For same reason
+ * Maven Plugins (that contribute G level metadata as well) are kept in one group per {@code groupId}.
+ * <p>
+ * With one thread, nothing is split: requests are deployed one by one as they are, same as without Kurt.
+ * <p>
+ * If session has a {@link ConcurrencyController} (see {@link Kurt#CONCURRENCY_CONTROLLER}), configured thread count
+ * is ignored, and uploads to each repository host are limited by the controller instead.
+ */
+public class DeployEngine {
+    private static final String MAVEN_PLUGIN = "maven-plugin";
+
+    private final RepositorySystem repositorySystem;
+    private final int threads;
+
+    public DeployEngine(RepositorySystem repositorySystem, int threads) {
+        this.repositorySystem = requireNonNull(repositorySystem);
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be greater than zero");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Deploys all passed in requests, using at most configured count of threads. If any of the groups fails, the
+     * groups not yet started are cancelled, and failure is reported once all running uploads completed.
+     */
+    public void deploy(RepositorySystemSession session, Collection<DeployRequest> deployRequests)
+            throws DeploymentException {
+        deploy(session, deployRequests, r -> {});
+    }
+
+    /**
+     * Same as {@link #deploy(RepositorySystemSession, Collection)}, but invokes passed in callback with result of each
+     * deployed group.
+     */
+    public void deploy(
+            RepositorySystemSession session,
+            Collection<DeployRequest> deployRequests,
+            Consumer<DeployResult> onDeployed)
+            throws DeploymentException {
+        ConcurrencyController controller =
+                (ConcurrencyController) session.getData().get(Kurt.CONCURRENCY_CONTROLLER);
+        if (controller == null && threads == 1) {
+            // sequential: requests as they are, no splitting
+            for (DeployRequest deployRequest : deployRequests) {
+                onDeployed.accept(repositorySystem.deploy(session, deployRequest));
+            }
+            return;
+        }
+        List<DeployRequest> groups = new ArrayList<>();
+        for (DeployRequest deployRequest : deployRequests) {
+            groups.addAll(split(deployRequest));
+        }
+        int poolSize = controller != null ? controller.getMaxLimit() : threads;
+        if (poolSize == 1 || groups.size() < 2) {
+            for (DeployRequest group : groups) {
+                onDeployed.accept(repositorySystem.deploy(session, group));
+            }
+            return;
+        }
+
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.min(poolSize, groups.size()), new DeployThreadFactory());
+        AtomicBoolean failed = new AtomicBoolean(false);
+        try {
+            List<Future<?>> futures = new ArrayList<>(groups.size());
+            for (DeployRequest group : groups) {
+                futures.add(executor.submit(() -> {
+                    if (controller == null) {
+                        onDeployed.accept(repositorySystem.deploy(session, group));
+                    } else {
+                        deployLimited(
+                                session,
+                                group,
+                                controller.limiter(group.getRepository().getUrl()),
+                                failed,
+                                onDeployed);
+                    }
+                    return null;
+                }));
+            }
+            DeploymentException failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof DeploymentException
+                                ? (DeploymentException) e.getCause()
+                                : new DeploymentException(e.getCause().getMessage(), e.getCause());
+                        futures.forEach(f -> f.cancel(false));
+                    } else if (failure != e.getCause()) {
+                        failure.addSuppressed(e.getCause());
+                    }
+                } catch (CancellationException e) {
+                    // cancelled due to earlier failure
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(f -> f.cancel(true));
+                    throw new DeploymentException("Deployment interrupted", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void deployLimited(
+            RepositorySystemSession session,
+            DeployRequest group,
+            ConcurrencyController.Limiter limiter,
+            AtomicBoolean failed,
+            Consumer<DeployResult> onDeployed)
+            throws DeploymentException, InterruptedException {
+        limiter.acquire();
+        if (failed.get()) {
+            // another group failed while this one waited, cancelling does not stop it
+            limiter.cancel();
+            return;
+        }
+        boolean succeeded = false;
+        try {
+            onDeployed.accept(repositorySystem.deploy(session, group));
+            succeeded = true;
+        } finally {
+            if (!succeeded) {
+                failed.set(true);
+            }
+            limiter.release(bytes(group), !succeeded);
+        }
+    }
+
+    private static long bytes(DeployRequest group) {
+        long bytes = 0;
+        for (Artifact artifact : group.getArtifacts()) {
+            if (artifact.getFile() != null) {
+                bytes += artifact.getFile().length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Splits request into groups that may be deployed concurrently, see class javadoc.
+     */
+    public static Collection<DeployRequest> split(DeployRequest deployRequest) {
+        HashSet<String> pluginGAs = new HashSet<>();
+        for (Artifact artifact : deployRequest.getArtifacts()) {
+            if (MAVEN_PLUGIN.equals(artifact.getProperty(ArtifactProperties.TYPE, null))) {
+                pluginGAs.add(artifact.getGroupId() + ":" + artifact.getArtifactId());
+            }
+        }
+        LinkedHashMap<String, DeployRequest> groups = new LinkedHashMap<>();
+        for (Artifact artifact : deployRequest.getArtifacts()) {
+            String ga = artifact.getGroupId() + ":" + artifact.getArtifactId();
+            String key = pluginGAs.contains(ga) ? artifact.getGroupId() : ga;
+            groups.computeIfAbsent(key, k -> newGroup(deployRequest)).addArtifact(artifact);
+        }
+        for (Metadata metadata : deployRequest.getMetadata()) {
+            String ga = metadata.getGroupId() + ":" + metadata.getArtifactId();
+            String key = metadata.getArtifactId().isEmpty() || pluginGAs.contains(ga) ? metadata.getGroupId() : ga;
+            groups.computeIfAbsent(key, k -> newGroup(deployRequest)).addMetadata(metadata);
+        }
+        return groups.values();
+    }
+
+    private static DeployRequest newGroup(DeployRequest deployRequest) {
+        DeployRequest group = new DeployRequest();
+        group.setRepository(deployRequest.getRepository());
+        group.setTrace(deployRequest.getTrace());
+        return group;
+    }
+
+    private static final class DeployThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "kurt-deploy-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeployResult;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+
+/**
+ * Append-only deploy journal. As transfer listener, it records every uploaded (and acknowledged) artifact and
+ * metadata file ({@code U} lines), artifacts along with SHA-1 of uploaded content. Resolver acknowledges artifact
+ * upload only once its checksums are uploaded as well. Once a whole group is deployed (see {@link DeployEngine}),
+ * its artifacts are recorded as done ({@code D} lines), again with SHA-1 of their content.
+ * <p>
+ * When resuming, {@link #missing(RepositorySystemSession, DeployRequest)} tells what is left to deploy from a group:
+ * nothing if all its artifacts are done, otherwise the artifacts not yet uploaded. An artifact counts as uploaded (or
+ * done) only if its local content still has recorded SHA-1, otherwise (like when it was rebuilt since) it is uploaded
+ * again. If all artifacts were uploaded but the group was not done (metadata was not uploaded), whole group is
+ * deployed again, to have metadata generated.
+ */
+public final class DeployJournal extends AbstractTransferListener implements Closeable {
+    private static final String UPLOADED = "U ";
+    private static final String DONE = "D ";
+
+    private final String repositoryUrl;
+    private final RepositoryLayout layout;
+    private final Map<String, String> uploaded;
+    private final Map<String, String> done;
+    private final ConcurrentHashMap<String, Artifact> expected;
+    private final ConcurrentHashMap<String, String> digests;
+    private final BufferedWriter writer;
+
+    /**
+     * Opens the journal for given repository. If not resuming, existing journal is truncated.
+     */
+    public static DeployJournal open(Path journal, boolean resume, String repositoryUrl, RepositoryLayout layout)
+            throws IOException {
+        Map<String, String> uploaded = new HashMap<>();
+        Map<String, String> done = new HashMap<>();
+        if (resume && Files.isRegularFile(journal)) {
+            try (BufferedReader reader = Files.newBufferedReader(journal, UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(UPLOADED)) {
+                        read(line.substring(UPLOADED.length()), uploaded);
+                    } else if (line.startsWith(DONE)) {
+                        read(line.substring(DONE.length()), done);
+                    }
+                }
+            }
+        }
+        Files.createDirectories(journal.getParent());
+        BufferedWriter writer = resume
+                ? Files.newBufferedWriter(journal, UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : Files.newBufferedWriter(journal, UTF_8);
+        return new DeployJournal(repositoryUrl, layout, uploaded, done, writer);
+    }
+
+    /**
+     * Reads {@code url sha1} entry; entries without SHA-1 (metadata) never match any content.
+     */
+    private static void read(String entry, Map<String, String> entries) {
+        int space = entry.lastIndexOf(' ');
+        if (space > 0) {
+            entries.put(entry.substring(0, space), entry.substring(space + 1));
+        } else {
+            entries.put(entry, "");
+        }
+    }
+
+    private DeployJournal(
+            String repositoryUrl,
+            RepositoryLayout layout,
+            Map<String, String> uploaded,
+            Map<String, String> done,
+            BufferedWriter writer) {
+        this.repositoryUrl = repositoryUrl.endsWith("/") ? repositoryUrl : repositoryUrl + "/";
+        this.layout = requireNonNull(layout);
+        this.uploaded = uploaded;
+        this.done = done;
+        this.expected = new ConcurrentHashMap<>();
+        this.digests = new ConcurrentHashMap<>();
+        this.writer = requireNonNull(writer);
+    }
+
+    /**
+     * Returns the part of the group that still needs to be deployed, or {@code null} if group is done.
+     */
+    public DeployRequest missing(RepositorySystemSession session, DeployRequest group) throws IOException {
+        boolean allDone = true;
+        DeployRequest result = new DeployRequest();
+        result.setRepository(group.getRepository());
+        result.setTrace(group.getTrace());
+        result.setMetadata(group.getMetadata());
+        for (Artifact artifact : group.getArtifacts()) {
+            String url = url(artifact);
+            expected.put(url, artifact);
+            String recordedDone = done.get(url);
+            String recordedUploaded = uploaded.get(url);
+            String digest = recordedDone != null || recordedUploaded != null ? digest(session, url, artifact) : null;
+            if (!digest(recordedDone).equals(digest)) {
+                allDone = false;
+                if (!digest(recordedUploaded).equals(digest)) {
+                    result.addArtifact(artifact);
+                }
+            }
+        }
+        if (allDone) {
+            return null;
+        }
+        return result.getArtifacts().isEmpty() ? group : result;
+    }
+
+    /**
+     * To be invoked when group was deployed.
+     */
+    public void deployed(RepositorySystemSession session, DeployResult result) {
+        for (Artifact artifact : result.getRequest().getArtifacts()) {
+            String url = url(artifact);
+            try {
+                write(DONE, url + " " + digest(session, url, artifact));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void transferSucceeded(TransferEvent event) {
+        if (event.getRequestType() != TransferEvent.RequestType.PUT) {
+            return;
+        }
+        String url =
+                event.getResource().getRepositoryUrl() + event.getResource().getResourceName();
+        Artifact artifact = expected.get(url);
+        if (artifact == null) {
+            write(UPLOADED, url);
+            return;
+        }
+        try {
+            write(UPLOADED, url + " " + digest(event.getSession(), url, artifact));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+
+    private String url(Artifact artifact) {
+        return repositoryUrl + layout.getLocation(artifact, true);
+    }
+
+    /**
+     * Returns SHA-1 of local artifact content, calculated once per artifact.
+     */
+    private String digest(RepositorySystemSession session, String url, Artifact artifact) throws IOException {
+        String digest = digests.get(url);
+        if (digest == null) {
+            digest = ContentDigest.sha1(session, artifact.getFile());
+            digests.put(url, digest);
+        }
+        return digest;
+    }
+
+    private static String digest(String recorded) {
+        return recorded != null ? recorded : "";
+    }
+
+    private void write(String kind, String entry) {
+        synchronized (writer) {
+            try {
+                writer.write(kind);
+                writer.write(entry);
+                writer.newLine();
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -10,7 +10,16 @@ package eu.maveniverse.maven.mdk.kurt.deployers;
 import static java.util.Objects.requireNonNull;
 
 import eu.maveniverse.maven.mdk.kurt.Deployer;
+import eu.maveniverse.maven.mdk.kurt.Kurt;
+import eu.maveniverse.maven.mdk.kurt.checksums.ChecksumCache;
+import eu.maveniverse.maven.mdk.kurt.checksums.ProvidedChecksumsRepositoryLayoutFactory;
 import java.io.IOException;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,4 +38,57 @@ public abstract class DeployerSupport implements Deployer {
 
     @Override
     public void close() throws IOException {}
+
+    /**
+     * Returns the session to deploy with: same as Maven session, with Kurt transfer listeners added, and provided
+     * checksums enabled (see {@link ProvidedChecksumsRepositoryLayoutFactory}) if checksums are precomputed.
+     */
+    protected RepositorySystemSession deploySession(MavenSession session) {
+        RepositorySystemSession repositorySession = session.getRepositorySession();
+        TransferListener kurtListener =
+                (TransferListener) repositorySession.getData().get(Kurt.TRANSFER_LISTENER);
+        boolean providedChecksums = repositorySession.getData().get(Kurt.CHECKSUM_CACHE) != null;
+        if (kurtListener == null && !providedChecksums) {
+            return repositorySession;
+        }
+        DefaultRepositorySystemSession result = new DefaultRepositorySystemSession(repositorySession);
+        if (kurtListener != null) {
+            result.setTransferListener(
+                    ChainedTransferListener.newInstance(repositorySession.getTransferListener(), kurtListener));
+        }
+        if (providedChecksums) {
+            result.setConfigProperty(ProvidedChecksumsRepositoryLayoutFactory.ENABLED, Boolean.TRUE.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Returns deploy request with precomputed checksums added as artifacts (see {@link ChecksumCache}), or request
+     * as is, if checksums are not precomputed. Calculation of checksums not yet scheduled (like when request is
+     * deployed eagerly, before {@link Kurt} schedules them) is scheduled first, so each file is hashed once anyway.
+     */
+    protected DeployRequest withChecksums(RepositorySystemSession session, DeployRequest deployRequest)
+            throws IOException {
+        ChecksumCache checksumCache = (ChecksumCache) session.getData().get(Kurt.CHECKSUM_CACHE);
+        if (checksumCache == null) {
+            return deployRequest;
+        }
+        checksumCache.precompute(session, deployRequest);
+        return checksumCache.withChecksums(session, deployRequest);
+    }
+
+    /**
+     * Returns the session to deploy with, without Maven (console) transfer listener, only with Kurt ones, and
+     * provided checksums enabled if checksums are precomputed.
+     */
+    protected RepositorySystemSession mutedDeploySession(MavenSession session) {
+        RepositorySystemSession repositorySession = session.getRepositorySession();
+        DefaultRepositorySystemSession result = new DefaultRepositorySystemSession(repositorySession);
+        result.setTransferListener(
+                (TransferListener) repositorySession.getData().get(Kurt.TRANSFER_LISTENER));
+        if (repositorySession.getData().get(Kurt.CHECKSUM_CACHE) != null) {
+            result.setConfigProperty(ProvidedChecksumsRepositoryLayoutFactory.ENABLED, Boolean.TRUE.toString());
+        }
+        return result;
+    }
 }
@@ -9,47 +9,206 @@ package eu.maveniverse.maven.mdk.kurt.deployers;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.maven.execution.MavenSession;
-import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.deployment.DeployRequest;
 import org.eclipse.aether.deployment.DeploymentException;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.eclipse.aether.transfer.NoRepositoryLayoutException;
 
 /**
  * A "local staging" deployer that does not accept SNAPSHOT artifacts.
+ * <p>
+ * In "eager" mode, accepted requests are staged right away on a background thread into a "pending" directory, while
+ * the build goes on. At the end of the build {@link #deployAll(MavenSession, Map)} merely waits for background
+ * staging to finish and moves pending content into the staging directory. If the build fails,
+ * {@link #deployAll(MavenSession, Map)} is not invoked and pending content is discarded on {@link #close()}.
+ * <p>
+ * In "bundle" mode, instead of staging directory, a Central Portal bundle file is written (see {@link BundleWriter}),
+ * eagerly or at the end of the build. Metadata is not staged in this mode.
+ * <p>
+ * In "incremental" mode, a content index is kept next to staging directory, and re-runs stage only what
+ * changed since the previous run, and remove what is gone (see {@link StagingIndex}).
+ * <p>
+ * Optionally, {@link StagingManifest} is written next to staging directory once staging is done. Modes are set by
+ * {@link Config}.
  */
 public class LocalStagingDeployer extends DeployerSupport {
     private final RepositorySystem repositorySystem;
     private final RemoteRepository stagingRepository;
     private final Path stagingDirectory;
+    private final RemoteRepository pendingRepository;
+    private final Path pendingDirectory;
+    private final RepositoryLayoutProvider repositoryLayoutProvider;
+    private final Path bundleFile;
+    private final boolean incremental;
+    private final boolean manifest;
+    private final ExecutorService executor;
+    private final List<Future<?>> pending;
+    private BundleWriter pendingBundle; // used on executor thread only, until awaited
 
+    /**
+     * Creates local staging deployer, staging as configured by {@link Config}.
+     */
     public LocalStagingDeployer(
-            RepositorySystem repositorySystem, RemoteRepository stagingRepository, Path stagingDirectory) {
+            RepositorySystem repositorySystem, RepositoryLayoutProvider repositoryLayoutProvider, Config config) {
         super(LocalStagingDeployerFactory.NAME);
         this.repositorySystem = requireNonNull(repositorySystem);
-        this.stagingRepository = requireNonNull(stagingRepository);
-        this.stagingDirectory = requireNonNull(stagingDirectory);
+        this.repositoryLayoutProvider = requireNonNull(repositoryLayoutProvider);
+        this.stagingRepository = config.stagingRepository;
+        this.stagingDirectory = config.stagingDirectory; // nullable, if bundle
+        this.pendingRepository = config.pendingRepository; // nullable
+        this.pendingDirectory = stagingDirectory != null && config.eager ? pendingDirectory(stagingDirectory) : null;
+        this.bundleFile = config.bundleFile; // nullable
+        this.incremental = config.incremental;
+        this.manifest = config.manifest;
+        if (config.eager) {
+            // single thread: Resolver merges metadata on each deploy call, so they must not overlap
+            this.executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "kurt-eager-staging");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+        this.pending = new ArrayList<>();
+        if (executor != null) {
+            // leftover of some earlier interrupted build
+            pending.add(executor.submit(() -> {
+                if (bundleFile != null) {
+                    Files.deleteIfExists(pendingBundleFile());
+                } else {
+                    deleteRecursively(pendingDirectory);
+                    deleteRecursively(replacedDirectory());
+                }
+                return null;
+            }));
+        }
+    }
+
+    /**
+     * Returns the directory where "eager" mode stages into, before it is committed into staging directory.
+     */
+    public static Path pendingDirectory(Path stagingDirectory) {
+        return stagingDirectory.resolveSibling(stagingDirectory.getFileName() + ".pending");
     }
 
+    /**
+     * Returns the staging directory, or {@code null} if in "bundle" mode.
+     */
     public Path getStagingDirectory() {
         return stagingDirectory;
     }
 
+    /**
+     * Returns the {@link StagingManifest} file, or {@code null} if it is not written.
+     */
+    public Path getManifest() {
+        return manifest ? StagingManifest.file(stagingDirectory) : null;
+    }
+
+    /**
+     * Returns the bundle file, or {@code null} if not in "bundle" mode.
+     */
+    public Path getBundleFile() {
+        return bundleFile;
+    }
+
     @Override
     public boolean processRequest(MavenSession mavenSession, DeployRequest deployRequest) {
-        return deployRequest.getArtifacts().stream().noneMatch(Artifact::isSnapshot);
+        boolean accepted = deployRequest.getArtifacts().stream().noneMatch(Artifact::isSnapshot);
+        if (accepted && executor != null) {
+            DeployRequest stagingRequest = new DeployRequest();
+            stagingRequest.setRepository(pendingRepository);
+            stagingRequest.setArtifacts(new ArrayList<>(deployRequest.getArtifacts()));
+            stagingRequest.setMetadata(new ArrayList<>(deployRequest.getMetadata()));
+            RepositorySystemSession mutedSession = mutedDeploySession(mavenSession);
+            synchronized (pending) {
+                pending.add(executor.submit(() -> {
+                    if (bundleFile != null) {
+                        BundleWriter writer = pendingBundle(mutedSession);
+                        for (Artifact artifact : stagingRequest.getArtifacts()) {
+                            writer.write(artifact);
+                        }
+                    } else {
+                        repositorySystem.deploy(mutedSession, withChecksums(mutedSession, stagingRequest));
+                    }
+                    return null;
+                }));
+            }
+        }
+        return accepted;
     }
 
     @Override
     public void deployAll(MavenSession session, Map<RemoteRepository, DeployRequest> deployRequests)
-            throws DeploymentException {
-        DefaultRepositorySystemSession mutedSession =
-                new DefaultRepositorySystemSession(session.getRepositorySession());
-        mutedSession.setTransferListener(null);
+            throws DeploymentException, IOException {
+        if (executor != null) {
+            logger.info(
+                    "Committing {} eagerly staged artifacts",
+                    deployRequests.values().stream()
+                            .mapToLong(r -> r.getArtifacts().size())
+                            .sum());
+            awaitPending();
+            if (bundleFile != null) {
+                commitPendingBundle();
+            } else {
+                commitPending();
+                writeManifest(session.getRepositorySession(), deployRequests);
+            }
+            return;
+        }
+        RepositorySystemSession mutedSession = mutedDeploySession(session);
+        if (bundleFile != null) {
+            logger.info(
+                    "Writing {} artifacts into bundle {}",
+                    deployRequests.values().stream()
+                            .mapToLong(r -> r.getArtifacts().size())
+                            .sum(),
+                    bundleFile);
+            try {
+                try (BundleWriter writer = new BundleWriter(layout(mutedSession), pendingBundleFile())) {
+                    for (DeployRequest dr : deployRequests.values()) {
+                        for (Artifact artifact : dr.getArtifacts()) {
+                            writer.write(artifact);
+                        }
+                    }
+                }
+                Files.move(pendingBundleFile(), bundleFile, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(pendingBundleFile());
+            }
+            return;
+        }
+        if (incremental) {
+            stageIncrementally(mutedSession, deployRequests);
+            writeManifest(mutedSession, deployRequests);
+            return;
+        }
         logger.info(
                 "Locally staging {} artifacts",
                 deployRequests.values().stream()
@@ -60,7 +219,335 @@ public class LocalStagingDeployer extends DeployerSupport {
             stagingRequest.setRepository(stagingRepository);
             stagingRequest.setArtifacts(dr.getArtifacts());
             stagingRequest.setMetadata(dr.getMetadata());
-            repositorySystem.deploy(mutedSession, stagingRequest);
+            repositorySystem.deploy(mutedSession, withChecksums(mutedSession, stagingRequest));
+        }
+        writeManifest(mutedSession, deployRequests);
+    }
+
+    private void writeManifest(RepositorySystemSession session, Map<RemoteRepository, DeployRequest> deployRequests)
+            throws DeploymentException, IOException {
+        if (getManifest() == null) {
+            return;
+        }
+        ArrayList<Artifact> artifacts = new ArrayList<>();
+        for (DeployRequest dr : deployRequests.values()) {
+            artifacts.addAll(dr.getArtifacts());
+        }
+        StagingManifest.write(stagingDirectory, layout(session), artifacts);
+    }
+
+    /**
+     * Stages only new and changed artifacts, and removes staged artifacts that are gone. Metadata of artifactIds that
+     * had something removed is dropped, and all of their artifacts are staged again, so metadata is regenerated from
+     * what is staged now.
+     */
+    private void stageIncrementally(
+            RepositorySystemSession session, Map<RemoteRepository, DeployRequest> deployRequests)
+            throws DeploymentException, IOException {
+        RepositoryLayout layout = layout(session);
+        StagingIndex index = StagingIndex.load(stagingDirectory);
+        ArrayList<String> locations = new ArrayList<>();
+        BitSet changed = new BitSet();
+        for (DeployRequest dr : deployRequests.values()) {
+            for (Artifact artifact : dr.getArtifacts()) {
+                String location = layout.getLocation(artifact, true).getPath();
+                if (index.record(location, artifact.getFile().toPath(), stagingDirectory.resolve(location))) {
+                    changed.set(locations.size());
+                }
+                locations.add(location);
+            }
+        }
+
+        Set<String> removed = index.removed();
+        HashSet<String> artifactIdDirectories = new HashSet<>();
+        for (String location : removed) {
+            Path file = stagingDirectory.resolve(location);
+            Files.deleteIfExists(file);
+            for (ChecksumAlgorithmFactory factory : layout.getChecksumAlgorithmFactories()) {
+                Files.deleteIfExists(file.resolveSibling(file.getFileName() + "." + factory.getFileExtension()));
+            }
+            deleteIfEmpty(file.getParent());
+            artifactIdDirectories.add(artifactIdDirectory(location));
+        }
+        for (String directory : artifactIdDirectories) {
+            Path path = stagingDirectory.resolve(directory);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> stream = Files.list(path)) {
+                    for (Path metadata : stream.filter(
+                                    p -> p.getFileName().toString().startsWith("maven-metadata"))
+                            .collect(Collectors.toList())) {
+                        Files.delete(metadata);
+                    }
+                }
+                deleteIfEmpty(path);
+            }
+        }
+        for (int i = 0; i < locations.size(); i++) {
+            if (artifactIdDirectories.contains(artifactIdDirectory(locations.get(i)))) {
+                changed.set(i);
+            }
+        }
+
+        logger.info(
+                "Locally staging {} of {} artifacts ({} unchanged, {} removed)",
+                changed.cardinality(),
+                locations.size(),
+                locations.size() - changed.cardinality(),
+                removed.size());
+        int i = 0;
+        for (DeployRequest dr : deployRequests.values()) {
+            DeployRequest stagingRequest = new DeployRequest();
+            stagingRequest.setRepository(stagingRepository);
+            for (Artifact artifact : dr.getArtifacts()) {
+                if (changed.get(i++)) {
+                    stagingRequest.addArtifact(artifact);
+                }
+            }
+            if (!stagingRequest.getArtifacts().isEmpty()) {
+                stagingRequest.setMetadata(dr.getMetadata());
+                repositorySystem.deploy(session, withChecksums(session, stagingRequest));
+            }
+        }
+        index.save();
+    }
+
+    /**
+     * Returns the artifactId directory of an artifact location: the one above the version directory.
+     */
+    private static String artifactIdDirectory(String location) {
+        int version = location.lastIndexOf('/', location.lastIndexOf('/') - 1);
+        return version > 0 ? location.substring(0, version) : "";
+    }
+
+    private static void deleteIfEmpty(Path directory) throws IOException {
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> stream = Files.list(directory)) {
+                if (stream.findAny().isPresent()) {
+                    return;
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // if not committed, the build failed: throw away what was staged
+            if (bundleFile != null) {
+                if (pendingBundle != null) {
+                    pendingBundle.close();
+                    pendingBundle = null;
+                }
+                Files.deleteIfExists(pendingBundleFile());
+            } else {
+                deleteRecursively(pendingDirectory);
+            }
+        }
+    }
+
+    private Path pendingBundleFile() {
+        return bundleFile.resolveSibling(bundleFile.getFileName() + ".pending");
+    }
+
+    private BundleWriter pendingBundle(RepositorySystemSession session) throws DeploymentException, IOException {
+        if (pendingBundle == null) {
+            pendingBundle = new BundleWriter(layout(session), pendingBundleFile());
+        }
+        return pendingBundle;
+    }
+
+    private RepositoryLayout layout(RepositorySystemSession session) throws DeploymentException {
+        try {
+            return repositoryLayoutProvider.newRepositoryLayout(session, stagingRepository);
+        } catch (NoRepositoryLayoutException e) {
+            throw new DeploymentException(e.getMessage(), e);
+        }
+    }
+
+    private void awaitPending() throws DeploymentException {
+        List<Future<?>> futures;
+        synchronized (pending) {
+            futures = new ArrayList<>(pending);
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof DeploymentException) {
+                    throw (DeploymentException) e.getCause();
+                }
+                throw new DeploymentException(e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DeploymentException("Interrupted while waiting for eager staging", e);
+            }
+        }
+    }
+
+    /**
+     * Completes pending bundle and moves it in place of the bundle file, if anything was staged.
+     */
+    private void commitPendingBundle() throws IOException {
+        if (pendingBundle == null) {
+            return;
+        }
+        pendingBundle.close();
+        pendingBundle = null;
+        Files.move(pendingBundleFile(), bundleFile, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Moves pending content into staging directory. When staging directory does not exist (usual case), this is a
+     * single rename. Otherwise, it is left over by some earlier build, and is replaced as a whole: it is renamed
+     * aside, pending directory is renamed in its place, and only then the old one is deleted.
+     */
+    private void commitPending() throws IOException {
+        if (!Files.isDirectory(pendingDirectory)) {
+            return;
+        }
+        Path replaced = null;
+        if (Files.exists(stagingDirectory)) {
+            replaced = replacedDirectory();
+            deleteRecursively(replaced);
+            Files.move(stagingDirectory, replaced, StandardCopyOption.ATOMIC_MOVE);
+        } else {
+            Files.createDirectories(stagingDirectory.getParent());
+        }
+        Files.move(pendingDirectory, stagingDirectory, StandardCopyOption.ATOMIC_MOVE);
+        if (replaced != null) {
+            deleteRecursively(replaced);
+        }
+    }
+
+    private Path replacedDirectory() {
+        return stagingDirectory.resolveSibling(stagingDirectory.getFileName() + ".replaced");
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        List<Path> paths;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Local staging deployer configuration. Created by {@link Builder}, that rejects combinations of modes that do
+     * not make sense.
+     */
+    public static final class Config {
+        private final RemoteRepository stagingRepository;
+        private final Path stagingDirectory;
+        private final Path bundleFile;
+        private final RemoteRepository pendingRepository;
+        private final boolean eager;
+        private final boolean incremental;
+        private final boolean manifest;
+
+        private Config(Builder builder) {
+            this.stagingRepository = builder.stagingRepository;
+            this.stagingDirectory = builder.stagingDirectory;
+            this.bundleFile = builder.bundleFile;
+            this.pendingRepository = builder.pendingRepository;
+            this.eager = builder.eager;
+            this.incremental = builder.incremental;
+            this.manifest = builder.manifest;
+        }
+
+        /**
+         * Starts configuration of staging into a directory, that is backed by the staging repository.
+         */
+        public static Builder directory(RemoteRepository stagingRepository, Path stagingDirectory) {
+            return new Builder(requireNonNull(stagingRepository), requireNonNull(stagingDirectory), null);
+        }
+
+        /**
+         * Starts configuration of staging into a Central Portal bundle file, that uses layout of the staging
+         * repository.
+         */
+        public static Builder bundle(RemoteRepository stagingRepository, Path bundleFile) {
+            return new Builder(requireNonNull(stagingRepository), null, requireNonNull(bundleFile));
+        }
+
+        public static final class Builder {
+            private final RemoteRepository stagingRepository;
+            private final Path stagingDirectory;
+            private final Path bundleFile;
+            private RemoteRepository pendingRepository;
+            private boolean eager;
+            private boolean incremental;
+            private boolean manifest;
+
+            private Builder(RemoteRepository stagingRepository, Path stagingDirectory, Path bundleFile) {
+                this.stagingRepository = stagingRepository;
+                this.stagingDirectory = stagingDirectory;
+                this.bundleFile = bundleFile;
+            }
+
+            /**
+             * Stages "eagerly", while the build goes on. Staging into a directory needs a repository backed by
+             * {@link LocalStagingDeployer#pendingDirectory(Path)} as well.
+             */
+            public Builder eager(boolean eager) {
+                this.eager = eager;
+                return this;
+            }
+
+            /**
+             * Sets the repository backed by {@link LocalStagingDeployer#pendingDirectory(Path)}, used in "eager" mode.
+             */
+            public Builder pendingRepository(RemoteRepository pendingRepository) {
+                this.pendingRepository = pendingRepository;
+                return this;
+            }
+
+            /**
+             * Keeps content index next to staging directory, and stages only what changed on re-runs.
+             */
+            public Builder incremental(boolean incremental) {
+                this.incremental = incremental;
+                return this;
+            }
+
+            /**
+             * Writes {@link StagingManifest} next to staging directory once staging is done.
+             */
+            public Builder manifest(boolean manifest) {
+                this.manifest = manifest;
+                return this;
+            }
+
+            /**
+             * Builds the configuration.
+             *
+             * @throws IllegalArgumentException if modes are combined in a way that does not make sense.
+             */
+            public Config build() {
+                if (bundleFile != null && (incremental || manifest || pendingRepository != null)) {
+                    throw new IllegalArgumentException(
+                            "Local staging into bundle cannot be incremental, write manifest, or use pending repository");
+                }
+                if (eager && incremental) {
+                    throw new IllegalArgumentException("Local staging cannot be both eager and incremental");
+                }
+                if (stagingDirectory != null && eager != (pendingRepository != null)) {
+                    throw new IllegalArgumentException(
+                            "Local staging into directory needs pending repository if, and only if, it is eager");
+                }
+                return new Config(this);
+            }
         }
     }
 }
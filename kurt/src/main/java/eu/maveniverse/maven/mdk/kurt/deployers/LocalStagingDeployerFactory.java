@@ -11,6 +11,7 @@ import static java.util.Objects.requireNonNull;
 
 import eu.maveniverse.maven.mdk.kurt.DeployerFactory;
 import eu.maveniverse.maven.mdk.kurt.KurtConfig;
+import eu.maveniverse.maven.mdk.kurt.transport.LinkingFileTransporterFactory;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import javax.inject.Inject;
@@ -19,6 +20,7 @@ import javax.inject.Singleton;
 import org.apache.maven.execution.MavenSession;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
 
 @Singleton
 @Named(LocalStagingDeployerFactory.NAME)
@@ -26,23 +28,53 @@ public class LocalStagingDeployerFactory implements DeployerFactory {
     public static final String NAME = "local-staging";
 
     private final RepositorySystem repositorySystem;
+    private final RepositoryLayoutProvider repositoryLayoutProvider;
 
     @Inject
-    public LocalStagingDeployerFactory(RepositorySystem repositorySystem) {
+    public LocalStagingDeployerFactory(
+            RepositorySystem repositorySystem, RepositoryLayoutProvider repositoryLayoutProvider) {
         this.repositorySystem = requireNonNull(repositorySystem);
+        this.repositoryLayoutProvider = requireNonNull(repositoryLayoutProvider);
     }
 
     @Override
     public LocalStagingDeployer createDeployer(MavenSession session) {
         Path target = Paths.get(session.getTopLevelProject().getBuild().getDirectory());
         Path stagingDirectory = target.resolve(KurtConfig.LOCAL_STAGING_DIRECTORY.require(session));
-        RemoteRepository stagingRepository = repositorySystem.newDeploymentRepository(
-                session.getRepositorySession(),
-                new RemoteRepository.Builder(
-                                KurtConfig.LOCAL_STAGING_ID.require(session),
-                                "default",
-                                stagingDirectory.toFile().toURI().toASCIIString())
-                        .build());
-        return new LocalStagingDeployer(repositorySystem, stagingRepository, stagingDirectory);
+        String stagingId = KurtConfig.LOCAL_STAGING_ID.require(session);
+        boolean link = Boolean.parseBoolean(KurtConfig.LOCAL_STAGING_LINK.require(session));
+        boolean eager = Boolean.parseBoolean(KurtConfig.LOCAL_STAGING_EAGER.require(session));
+        String bundle = KurtConfig.LOCAL_STAGING_BUNDLE.getOrDefault(session);
+        LocalStagingDeployer.Config config;
+        if (bundle != null && !bundle.trim().isEmpty()) {
+            config = LocalStagingDeployer.Config.bundle(
+                            createRepository(session, stagingId, stagingDirectory, false), target.resolve(bundle))
+                    .eager(eager)
+                    .build();
+        } else {
+            config = LocalStagingDeployer.Config.directory(
+                            createRepository(session, stagingId, stagingDirectory, link), stagingDirectory)
+                    .eager(eager)
+                    .pendingRepository(
+                            eager
+                                    ? createRepository(
+                                            session,
+                                            stagingId,
+                                            LocalStagingDeployer.pendingDirectory(stagingDirectory),
+                                            link)
+                                    : null)
+                    .incremental(Boolean.parseBoolean(KurtConfig.LOCAL_STAGING_INCREMENTAL.require(session)))
+                    .manifest(true)
+                    .build();
+        }
+        return new LocalStagingDeployer(repositorySystem, repositoryLayoutProvider, config);
+    }
+
+    private RemoteRepository createRepository(MavenSession session, String id, Path directory, boolean link) {
+        String url = link
+                ? LinkingFileTransporterFactory.toUrl(directory)
+                : directory.toFile().toURI().toASCIIString();
+        return repositorySystem.newDeploymentRepository(
+                session.getRepositorySession(), new RemoteRepository.Builder(id, "default", url).build());
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Objects.requireNonNull;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.spi.connector.transport.GetTask;
+import org.eclipse.aether.spi.connector.transport.PeekTask;
+import org.eclipse.aether.spi.connector.transport.Transporter;
+import org.eclipse.aether.spi.connector.transport.TransporterProvider;
+import org.eclipse.aether.transfer.NoTransporterException;
+
+/**
+ * Pre-flight check of artifacts about to be deployed: finds out, in parallel, which of them already exist in the
+ * remote repository, and whether with same content. Content is compared by SHA-1, fetched from checksum sidecar if
+ * there is one, otherwise (like for signatures, that have no checksums) existence of artifact is checked only, it is
+ * never fetched. Local SHA-1 is taken from precomputed checksums, if any (see {@link ContentDigest}).
+ */
+final class PreflightCheck {
+    enum Status {
+        MISSING,
+        PRESENT,
+        IDENTICAL,
+        DIFFERENT
+    }
+
+    private final TransporterProvider transporterProvider;
+    private final RepositoryLayout layout;
+    private final int threads;
+
+    PreflightCheck(TransporterProvider transporterProvider, RepositoryLayout layout, int threads) {
+        this.transporterProvider = requireNonNull(transporterProvider);
+        this.layout = requireNonNull(layout);
+        this.threads = threads;
+    }
+
+    /**
+     * Returns status of each artifact, in same order: {@link Status#PRESENT} if artifact exists, but has no SHA-1
+     * sidecar to compare with. Fails if remote repository cannot be checked.
+     */
+    List<Status> check(RepositorySystemSession session, RemoteRepository repository, List<Artifact> artifacts)
+            throws DeploymentException {
+        ArrayList<Status> result = new ArrayList<>(artifacts.size());
+        if (artifacts.isEmpty()) {
+            return result;
+        }
+        Transporter transporter;
+        try {
+            transporter = transporterProvider.newTransporter(session, repository);
+        } catch (NoTransporterException e) {
+            throw new DeploymentException(e.getMessage(), e);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, artifacts.size())), r -> {
+            Thread thread = new Thread(r, "kurt-preflight-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            ArrayList<Future<Status>> futures = new ArrayList<>(artifacts.size());
+            for (Artifact artifact : artifacts) {
+                futures.add(executor.submit(() -> status(session, transporter, artifact)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    result.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    futures.forEach(f -> f.cancel(true));
+                    throw new DeploymentException(
+                            "Pre-flight check of " + artifacts.get(i) + " failed: "
+                                    + e.getCause().getMessage(),
+                            e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(f -> f.cancel(true));
+                    throw new DeploymentException("Pre-flight check interrupted", e);
+                }
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+            transporter.close();
+        }
+    }
+
+    private Status status(RepositorySystemSession session, Transporter transporter, Artifact artifact)
+            throws Exception {
+        URI location = layout.getLocation(artifact, true);
+        for (RepositoryLayout.ChecksumLocation checksumLocation :
+                layout.getChecksumLocations(artifact, true, location)) {
+            if (ContentDigest.SHA_1.equals(
+                    checksumLocation.getChecksumAlgorithmFactory().getName())) {
+                GetTask task = new GetTask(checksumLocation.getLocation());
+                if (execute(() -> transporter.get(task), transporter)) {
+                    String remote =
+                            new String(task.getDataBytes(), US_ASCII).trim().split("\\s+")[0];
+                    return compare(ContentDigest.sha1(session, artifact.getFile()), remote);
+                }
+                break;
+            }
+        }
+        return execute(() -> transporter.peek(new PeekTask(location)), transporter) ? Status.PRESENT : Status.MISSING;
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void execute() throws Exception;
+    }
+
+    /**
+     * Executes task, returning {@code false} if resource was not found.
+     */
+    private static boolean execute(Task task, Transporter transporter) throws Exception {
+        try {
+            task.execute();
+            return true;
+        } catch (Exception e) {
+            if (transporter.classify(e) == Transporter.ERROR_NOT_FOUND) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private static Status compare(String local, String remote) {
+        return local.equalsIgnoreCase(remote) ? Status.IDENTICAL : Status.DIFFERENT;
+    }
+}
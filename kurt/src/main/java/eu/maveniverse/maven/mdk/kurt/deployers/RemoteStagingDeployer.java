@@ -9,25 +9,68 @@ package eu.maveniverse.maven.mdk.kurt.deployers;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.deployment.DeployRequest;
 import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.metadata.Metadata;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.eclipse.aether.spi.connector.transport.TransporterProvider;
+import org.eclipse.aether.transfer.NoRepositoryLayoutException;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
 
 /**
  * A "remote staging" deployer that does not accept SNAPSHOT artifacts.
+ * <p>
+ * If journal is configured, all uploads are recorded in it (see {@link DeployJournal}), and in "resume" mode
+ * only what is missing according to journal is uploaded.
+ * <p>
+ * If pre-flight check is enabled, the staging repository is checked first (see {@link PreflightCheck}): artifacts
+ * already there with same content are not uploaded again, and if any is there with different content, deployment
+ * fails before uploading anything. Signatures are never a conflict, as re-signing same payload gives different
+ * signature.
+ * <p>
+ * Options are set by {@link Config}.
  */
 public class RemoteStagingDeployer extends DeployerSupport {
-    private final RepositorySystem repositorySystem;
+    private final DeployEngine deployEngine;
     private final RemoteRepository stagingRepository;
+    private final RepositoryLayoutProvider repositoryLayoutProvider;
+    private final Path journal;
+    private final boolean resume;
+    private final TransporterProvider transporterProvider;
+    private final int preflightThreads;
 
-    public RemoteStagingDeployer(RepositorySystem repositorySystem, RemoteRepository stagingRepository) {
+    /**
+     * Creates remote staging deployer, deploying as configured by {@link Config}.
+     */
+    public RemoteStagingDeployer(
+            RepositorySystem repositorySystem,
+            RepositoryLayoutProvider repositoryLayoutProvider,
+            TransporterProvider transporterProvider,
+            Config config) {
         super(RemoteStagingDeployerFactory.NAME);
-        this.repositorySystem = requireNonNull(repositorySystem);
-        this.stagingRepository = requireNonNull(stagingRepository);
+        this.deployEngine = new DeployEngine(requireNonNull(repositorySystem), config.threads);
+        this.repositoryLayoutProvider = requireNonNull(repositoryLayoutProvider);
+        this.transporterProvider = requireNonNull(transporterProvider);
+        this.stagingRepository = config.stagingRepository;
+        this.journal = config.journal; // nullable
+        this.resume = config.resume;
+        this.preflightThreads = config.preflight ? config.threads : 0;
     }
 
     public RemoteRepository getStagingRepository() {
@@ -41,18 +84,230 @@ public class RemoteStagingDeployer extends DeployerSupport {
 
     @Override
     public void deployAll(MavenSession session, Map<RemoteRepository, DeployRequest> deployRequests)
-            throws DeploymentException {
+            throws DeploymentException, IOException {
         logger.info(
                 "Remote staging {} artifacts",
                 deployRequests.values().stream()
                         .mapToLong(r -> r.getArtifacts().size())
                         .sum());
+        // all goes to same repository: merge them, to have one group per GA
+        DeployRequest stagingRequest = new DeployRequest();
+        stagingRequest.setRepository(stagingRepository);
         for (DeployRequest dr : deployRequests.values()) {
-            DeployRequest stagingRequest = new DeployRequest();
-            stagingRequest.setRepository(stagingRepository);
-            stagingRequest.setArtifacts(dr.getArtifacts());
-            stagingRequest.setMetadata(dr.getMetadata());
-            repositorySystem.deploy(session.getRepositorySession(), stagingRequest);
+            dr.getArtifacts().forEach(stagingRequest::addArtifact);
+            dr.getMetadata().forEach(stagingRequest::addMetadata);
+        }
+        if (preflightThreads > 0) {
+            stagingRequest = preflight(session, stagingRequest);
+            if (stagingRequest.getArtifacts().isEmpty()) {
+                return;
+            }
+        }
+        RepositorySystemSession deploySession = deploySession(session);
+        stagingRequest = withChecksums(deploySession, stagingRequest);
+        if (journal == null) {
+            deployEngine.deploy(deploySession, Collections.singletonList(stagingRequest));
+            return;
+        }
+
+        try (DeployJournal deployJournal =
+                DeployJournal.open(journal, resume, stagingRepository.getUrl(), layout(session))) {
+            ArrayList<DeployRequest> groups = new ArrayList<>();
+            int skipped = 0;
+            for (DeployRequest group : DeployEngine.split(stagingRequest)) {
+                DeployRequest missing = deployJournal.missing(deploySession, group);
+                if (missing != null) {
+                    groups.add(missing);
+                } else {
+                    skipped++;
+                }
+            }
+            if (resume) {
+                logger.info("Resuming from journal {}: {} groups already deployed", journal, skipped);
+            }
+            DefaultRepositorySystemSession journaledSession = new DefaultRepositorySystemSession(deploySession);
+            journaledSession.setTransferListener(
+                    ChainedTransferListener.newInstance(deploySession.getTransferListener(), deployJournal));
+            deployEngine.deploy(journaledSession, groups, result -> deployJournal.deployed(journaledSession, result));
+        }
+    }
+
+    private DeployRequest preflight(MavenSession session, DeployRequest deployRequest) throws DeploymentException {
+        return preflight(session.getRepositorySession(), layout(session), deployRequest);
+    }
+
+    /**
+     * Returns request with artifacts to upload only, and metadata of their GAs (or Gs). Fails if any artifact is
+     * present with different content. Artifacts already present with same content are not uploaded. Signatures (and
+     * any other artifact whose extension extends the extension of another artifact in request, like {@code jar.asc}
+     * or {@code jar.sigstore.json} of {@code jar}) are not compared: re-signing gives different signature of same
+     * payload, so they are not uploaded if artifact they sign is present with same content, and are uploaded
+     * otherwise. Artifacts present without checksum to compare with are uploaded again.
+     */
+    DeployRequest preflight(RepositorySystemSession session, RepositoryLayout layout, DeployRequest deployRequest)
+            throws DeploymentException {
+        List<Artifact> artifacts = new ArrayList<>(deployRequest.getArtifacts());
+        List<PreflightCheck.Status> statuses = new PreflightCheck(transporterProvider, layout, preflightThreads)
+                .check(session, stagingRepository, artifacts);
+        HashMap<String, PreflightCheck.Status> statusById = new HashMap<>();
+        for (int i = 0; i < artifacts.size(); i++) {
+            statusById.put(ArtifactIdUtils.toId(artifacts.get(i)), statuses.get(i));
+        }
+        DeployRequest result = new DeployRequest();
+        result.setRepository(deployRequest.getRepository());
+        result.setTrace(deployRequest.getTrace());
+        ArrayList<Artifact> different = new ArrayList<>();
+        for (int i = 0; i < artifacts.size(); i++) {
+            Artifact artifact = artifacts.get(i);
+            PreflightCheck.Status status = statuses.get(i);
+            PreflightCheck.Status signed = signedStatus(artifact, statusById);
+            if (status == PreflightCheck.Status.IDENTICAL) {
+                continue;
+            }
+            if (signed != null && status != PreflightCheck.Status.MISSING) {
+                if (signed != PreflightCheck.Status.IDENTICAL) {
+                    result.addArtifact(artifact);
+                }
+            } else if (status == PreflightCheck.Status.DIFFERENT) {
+                different.add(artifact);
+            } else {
+                result.addArtifact(artifact);
+            }
+        }
+        if (!different.isEmpty()) {
+            throw new DeploymentException("Pre-flight check found " + different.size()
+                    + " artifacts already present in "
+                    + stagingRepository.getUrl() + " with different content: "
+                    + different.stream().limit(10).map(Artifact::toString).collect(Collectors.joining(", "))
+                    + (different.size() > 10 ? ", ..." : ""));
+        }
+        for (Metadata metadata : deployRequest.getMetadata()) {
+            if (result.getArtifacts().stream()
+                    .anyMatch(a -> a.getGroupId().equals(metadata.getGroupId())
+                            && (metadata.getArtifactId().isEmpty()
+                                    || a.getArtifactId().equals(metadata.getArtifactId())))) {
+                result.addMetadata(metadata);
+            }
+        }
+        logger.info(
+                "Pre-flight check: {} artifacts to upload, {} already present",
+                result.getArtifacts().size(),
+                artifacts.size() - result.getArtifacts().size());
+        return result;
+    }
+
+    /**
+     * Returns status of artifact given artifact signs (has extension {@code <extension>.<suffix>} of), or {@code null}
+     * if it does not sign any artifact in request.
+     */
+    private static PreflightCheck.Status signedStatus(
+            Artifact artifact, Map<String, PreflightCheck.Status> statusById) {
+        String extension = artifact.getExtension();
+        for (int dot = extension.lastIndexOf('.'); dot > 0; dot = extension.lastIndexOf('.', dot - 1)) {
+            PreflightCheck.Status status = statusById.get(ArtifactIdUtils.toId(
+                    artifact.getGroupId(),
+                    artifact.getArtifactId(),
+                    extension.substring(0, dot),
+                    artifact.getClassifier(),
+                    artifact.getVersion()));
+            if (status != null) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    private RepositoryLayout layout(MavenSession session) throws DeploymentException {
+        try {
+            return repositoryLayoutProvider.newRepositoryLayout(session.getRepositorySession(), stagingRepository);
+        } catch (NoRepositoryLayoutException e) {
+            throw new DeploymentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Remote staging deployer configuration. Created by {@link Builder}, that rejects combinations of options that do
+     * not make sense.
+     */
+    public static final class Config {
+        private final RemoteRepository stagingRepository;
+        private final int threads;
+        private final Path journal;
+        private final boolean resume;
+        private final boolean preflight;
+
+        private Config(Builder builder) {
+            this.stagingRepository = builder.stagingRepository;
+            this.threads = builder.threads;
+            this.journal = builder.journal;
+            this.resume = builder.resume;
+            this.preflight = builder.preflight;
+        }
+
+        /**
+         * Starts configuration of staging into given remote repository.
+         */
+        public static Builder builder(RemoteRepository stagingRepository) {
+            return new Builder(requireNonNull(stagingRepository));
+        }
+
+        public static final class Builder {
+            private final RemoteRepository stagingRepository;
+            private int threads = 1;
+            private Path journal;
+            private boolean resume;
+            private boolean preflight;
+
+            private Builder(RemoteRepository stagingRepository) {
+                this.stagingRepository = stagingRepository;
+            }
+
+            /**
+             * Sets the count of threads to deploy (see {@link DeployEngine}) and pre-flight check with, 1 by default.
+             */
+            public Builder threads(int threads) {
+                this.threads = threads;
+                return this;
+            }
+
+            /**
+             * Records uploads in given journal file (see {@link DeployJournal}).
+             */
+            public Builder journal(Path journal) {
+                this.journal = journal;
+                return this;
+            }
+
+            /**
+             * Uploads only what is missing according to journal.
+             */
+            public Builder resume(boolean resume) {
+                this.resume = resume;
+                return this;
+            }
+
+            /**
+             * Checks staging repository before uploading anything (see {@link PreflightCheck}).
+             */
+            public Builder preflight(boolean preflight) {
+                this.preflight = preflight;
+                return this;
+            }
+
+            /**
+             * Builds the configuration.
+             *
+             * @throws IllegalArgumentException if options are combined in a way that does not make sense.
+             */
+            public Config build() {
+                if (threads < 1) {
+                    throw new IllegalArgumentException("Remote staging needs at least one thread, got " + threads);
+                }
+                if (resume && journal == null) {
+                    throw new IllegalArgumentException("Remote staging cannot resume without journal");
+                }
+                return new Config(this);
+            }
         }
     }
 }
@@ -11,6 +11,8 @@ import static java.util.Objects.requireNonNull;
 
 import eu.maveniverse.maven.mdk.kurt.DeployerFactory;
 import eu.maveniverse.maven.mdk.kurt.KurtConfig;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -18,6 +20,8 @@ import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.DeploymentRepository;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.eclipse.aether.spi.connector.transport.TransporterProvider;
 
 @Singleton
 @Named(RemoteStagingDeployerFactory.NAME)
@@ -25,10 +29,17 @@ public class RemoteStagingDeployerFactory implements DeployerFactory {
     public static final String NAME = "remote-staging";
 
     private final RepositorySystem repositorySystem;
+    private final RepositoryLayoutProvider repositoryLayoutProvider;
+    private final TransporterProvider transporterProvider;
 
     @Inject
-    public RemoteStagingDeployerFactory(RepositorySystem repositorySystem) {
+    public RemoteStagingDeployerFactory(
+            RepositorySystem repositorySystem,
+            RepositoryLayoutProvider repositoryLayoutProvider,
+            TransporterProvider transporterProvider) {
         this.repositorySystem = requireNonNull(repositorySystem);
+        this.repositoryLayoutProvider = requireNonNull(repositoryLayoutProvider);
+        this.transporterProvider = requireNonNull(transporterProvider);
     }
 
     @Override
@@ -57,6 +68,18 @@ public class RemoteStagingDeployerFactory implements DeployerFactory {
 
         RemoteRepository stagingRepository = repositorySystem.newDeploymentRepository(
                 session.getRepositorySession(), new RemoteRepository.Builder(id, "default", url).build());
-        return new RemoteStagingDeployer(repositorySystem, stagingRepository);
+        Path journal = null;
+        String journalName = KurtConfig.REMOTE_STAGING_JOURNAL.getOrDefault(session);
+        if (journalName != null && !journalName.trim().isEmpty()) {
+            journal = Paths.get(session.getTopLevelProject().getBuild().getDirectory())
+                    .resolve(journalName);
+        }
+        RemoteStagingDeployer.Config config = RemoteStagingDeployer.Config.builder(stagingRepository)
+                .threads(KurtConfig.DEPLOY_THREADS.requireInt(session, 1))
+                .journal(journal)
+                .resume(Boolean.parseBoolean(KurtConfig.REMOTE_STAGING_RESUME.require(session)))
+                .preflight(Boolean.parseBoolean(KurtConfig.REMOTE_STAGING_PREFLIGHT.require(session)))
+                .build();
+        return new RemoteStagingDeployer(repositorySystem, repositoryLayoutProvider, transporterProvider, config);
     }
 }
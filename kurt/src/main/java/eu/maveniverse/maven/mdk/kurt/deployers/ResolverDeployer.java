@@ -9,9 +9,11 @@ package eu.maveniverse.maven.mdk.kurt.deployers;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Map;
 import org.apache.maven.execution.MavenSession;
-import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.deployment.DeployRequest;
 import org.eclipse.aether.deployment.DeploymentException;
 import org.eclipse.aether.repository.RemoteRepository;
@@ -20,11 +22,11 @@ import org.eclipse.aether.repository.RemoteRepository;
  * "Ordinary" Resolver deployer, eats everything.
  */
 public class ResolverDeployer extends DeployerSupport {
-    private final RepositorySystem repositorySystem;
+    private final DeployEngine deployEngine;
 
-    public ResolverDeployer(RepositorySystem repositorySystem) {
+    public ResolverDeployer(DeployEngine deployEngine) {
         super(ResolverDeployerFactory.NAME);
-        this.repositorySystem = requireNonNull(repositorySystem);
+        this.deployEngine = requireNonNull(deployEngine);
     }
 
     @Override
@@ -34,9 +36,12 @@ public class ResolverDeployer extends DeployerSupport {
 
     @Override
     public void deployAll(MavenSession session, Map<RemoteRepository, DeployRequest> deployRequests)
-            throws DeploymentException {
-        for (DeployRequest dr : deployRequests.values()) {
-            repositorySystem.deploy(session.getRepositorySession(), dr);
+            throws DeploymentException, IOException {
+        RepositorySystemSession deploySession = deploySession(session);
+        ArrayList<DeployRequest> requests = new ArrayList<>(deployRequests.size());
+        for (DeployRequest deployRequest : deployRequests.values()) {
+            requests.add(withChecksums(deploySession, deployRequest));
         }
+        deployEngine.deploy(deploySession, requests);
     }
 }
@@ -10,6 +10,7 @@ package eu.maveniverse.maven.mdk.kurt.deployers;
 import static java.util.Objects.requireNonNull;
 
 import eu.maveniverse.maven.mdk.kurt.DeployerFactory;
+import eu.maveniverse.maven.mdk.kurt.KurtConfig;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -30,6 +31,7 @@ public class ResolverDeployerFactory implements DeployerFactory {
 
     @Override
     public ResolverDeployer createDeployer(MavenSession session) {
-        return new ResolverDeployer(repositorySystem);
+        return new ResolverDeployer(
+                new DeployEngine(repositorySystem, KurtConfig.DEPLOY_THREADS.requireInt(session, 1)));
     }
 }
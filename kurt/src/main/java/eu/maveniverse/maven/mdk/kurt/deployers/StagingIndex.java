@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Content index of a staging directory, kept next to it, that makes local staging incremental across runs. Per
+ * artifact location it records size, modification time and digest of the artifact file staged there. An artifact
+ * needs staging only if its digest changed, or its staged copy is gone; digest is not recomputed if size and
+ * modification time match indexed ones. Locations indexed in previous run but not recorded in this one are "removed".
+ * <p>
+ * Index is a text file, one {@code location<TAB>size<TAB>mtime<TAB>sha256} line per artifact. Unreadable index is
+ * treated as empty, making staging a full one.
+ */
+final class StagingIndex {
+    private static final class Entry {
+        private final long size;
+        private final long lastModified;
+        private final String digest;
+
+        private Entry(long size, long lastModified, String digest) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.digest = digest;
+        }
+    }
+
+    private static final String SHA_256 = "SHA-256";
+
+    private final Path file;
+    private final Map<String, Entry> previous;
+    private final TreeMap<String, Entry> current;
+
+    private StagingIndex(Path file, Map<String, Entry> previous) {
+        this.file = file;
+        this.previous = previous;
+        this.current = new TreeMap<>();
+    }
+
+    /**
+     * Loads index of given staging directory, or creates an empty one, if there is no index or staging directory.
+     */
+    static StagingIndex load(Path stagingDirectory) {
+        Path file = stagingDirectory.resolveSibling(stagingDirectory.getFileName() + ".index");
+        HashMap<String, Entry> entries = new HashMap<>();
+        if (Files.isDirectory(stagingDirectory) && Files.isRegularFile(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+                for (String line; (line = reader.readLine()) != null; ) {
+                    String[] fields = line.split("\t", -1);
+                    if (fields.length != 4) {
+                        throw new IOException("Malformed index line: " + line);
+                    }
+                    entries.put(fields[0], new Entry(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3]));
+                }
+            } catch (IOException | NumberFormatException e) {
+                entries.clear();
+            }
+        }
+        return new StagingIndex(file, entries);
+    }
+
+    /**
+     * Records artifact file to be staged at given location, returns {@code true} if it needs staging, as it is new,
+     * changed, or staged copy is missing.
+     */
+    boolean record(String location, Path artifactFile, Path stagedFile) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(artifactFile, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        Entry indexed = previous.get(location);
+        Entry entry;
+        if (indexed != null && indexed.size == size && indexed.lastModified == lastModified) {
+            entry = indexed;
+        } else {
+            entry = new Entry(size, lastModified, ContentDigest.digest(artifactFile, SHA_256));
+        }
+        current.put(location, entry);
+        return indexed == null
+                || !indexed.digest.equals(entry.digest)
+                || !Files.isRegularFile(stagedFile)
+                || Files.size(stagedFile) != size;
+    }
+
+    /**
+     * Returns locations that were indexed, but are not recorded in this run.
+     */
+    Set<String> removed() {
+        TreeSet<String> result = new TreeSet<>(previous.keySet());
+        result.removeAll(current.keySet());
+        return result;
+    }
+
+    /**
+     * Writes out the index of this run, replacing the previous one.
+     */
+    void save() throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary, UTF_8)) {
+            for (Map.Entry<String, Entry> entry : current.entrySet()) {
+                writer.write(entry.getKey() + "\t" + entry.getValue().size + "\t" + entry.getValue().lastModified + "\t"
+                        + entry.getValue().digest);
+                writer.newLine();
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+
+/**
+ * Manifest of a staging directory, written next to it once staging is done: one line per staged artifact, with its
+ * coordinates, path (relative to staging directory), size and SHA-1 (as staged alongside, empty if there is no
+ * SHA-1 checksum staged, or {@code -} if the layout has no checksums for the artifact at all, like for signatures).
+ * Consumers of staging directory can use it instead of hashing it.
+ */
+public final class StagingManifest {
+    private static final String HEADER = "# coordinates\tpath\tsize\tsha1";
+
+    private static final String WITHOUT_CHECKSUMS = "-";
+
+    public static final class Entry {
+        private final String coordinates;
+        private final String path;
+        private final long size;
+        private final String sha1;
+        private final boolean withoutChecksums;
+
+        private Entry(String coordinates, String path, long size, String sha1, boolean withoutChecksums) {
+            this.coordinates = requireNonNull(coordinates);
+            this.path = requireNonNull(path);
+            this.size = size;
+            this.sha1 = requireNonNull(sha1);
+            this.withoutChecksums = withoutChecksums;
+        }
+
+        public String getCoordinates() {
+            return coordinates;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * The SHA-1 of artifact, or empty string, if not staged.
+         */
+        public String getSha1() {
+            return sha1;
+        }
+
+        /**
+         * Returns {@code true} if layout has no checksums for artifact (signatures, as configured by
+         * {@code aether.checksums.omitChecksumsForExtensions}), hence it has no SHA-1 by design.
+         */
+        public boolean isWithoutChecksums() {
+            return withoutChecksums;
+        }
+    }
+
+    private StagingManifest() {}
+
+    /**
+     * Returns the manifest file of given staging directory.
+     */
+    public static Path file(Path stagingDirectory) {
+        return stagingDirectory.resolveSibling(stagingDirectory.getFileName() + ".manifest");
+    }
+
+    /**
+     * Reads manifest file.
+     */
+    public static List<Entry> read(Path file) throws IOException {
+        ArrayList<Entry> result = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 4) {
+                    throw new IOException("Malformed manifest line: " + line);
+                }
+                try {
+                    boolean withoutChecksums = WITHOUT_CHECKSUMS.equals(fields[3]);
+                    result.add(new Entry(
+                            fields[0],
+                            fields[1],
+                            Long.parseLong(fields[2]),
+                            withoutChecksums ? "" : fields[3],
+                            withoutChecksums));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed manifest line: " + line, e);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes manifest of given staged artifacts into staging directory manifest file.
+     */
+    static Path write(Path stagingDirectory, RepositoryLayout layout, Collection<Artifact> artifacts)
+            throws IOException {
+        LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+        for (Artifact artifact : artifacts) {
+            URI location = layout.getLocation(artifact, true);
+            String path = location.getPath();
+            Path sha1 = stagingDirectory.resolve(path + ".sha1");
+            entries.put(
+                    path,
+                    new Entry(
+                            ArtifactIdUtils.toId(artifact),
+                            path,
+                            Files.size(artifact.getFile().toPath()),
+                            Files.isRegularFile(sha1)
+                                    ? new String(Files.readAllBytes(sha1), US_ASCII)
+                                            .trim()
+                                            .split("\\s+")[0]
+                                    : "",
+                            layout.getChecksumLocations(artifact, true, location)
+                                    .isEmpty()));
+        }
+        Path file = file(stagingDirectory);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary, UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                Entry value = entry.getValue();
+                writer.write(value.coordinates + "\t" + value.path + "\t" + value.size + "\t"
+                        + (value.withoutChecksums ? WITHOUT_CHECKSUMS : value.sha1));
+                writer.newLine();
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.mdk.kurt.Kurt;
+import eu.maveniverse.maven.mdk.kurt.checksums.ChecksumCache;
+import eu.maveniverse.maven.mdk.kurt.checksums.ProvidedChecksumsRepositoryLayoutFactory;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.eclipse.aether.transfer.NoRepositoryLayoutException;
+
+/**
+ * Fan-out deployer: deploys everything to the original repositories and to all the target repositories as well,
+ * concurrently. Before fanning out, checksums of all release artifacts are calculated once, one pass per file with all
+ * algorithms of all repositories (reusing precomputed ones, if {@link ChecksumCache} is enabled), and same checksum
+ * artifacts are deployed to all targets with same layout checksum algorithms, so Resolver does not hash files once per
+ * target. Each target gets its own copy of metadata, as Resolver merges metadata it deploys. Files are still uploaded
+ * from disk by each target, but targets go through artifacts in same order at same time, so reads of the rest of
+ * targets are usually served from OS cache.
+ * <p>
+ * Targets are isolated: failure of one does not stop deployment to the others, failures are reported once all
+ * targets are done.
+ */
+public class TeeDeployer extends DeployerSupport {
+    private final RepositoryLayoutProvider repositoryLayoutProvider;
+    private final DeployEngine deployEngine;
+    private final List<RemoteRepository> targets;
+    private final int checksumThreads;
+
+    public TeeDeployer(
+            RepositoryLayoutProvider repositoryLayoutProvider,
+            DeployEngine deployEngine,
+            List<RemoteRepository> targets,
+            int checksumThreads) {
+        super(TeeDeployerFactory.NAME);
+        this.repositoryLayoutProvider = requireNonNull(repositoryLayoutProvider);
+        this.deployEngine = requireNonNull(deployEngine);
+        this.targets = Collections.unmodifiableList(new ArrayList<>(targets));
+        if (checksumThreads < 1) {
+            throw new IllegalArgumentException("Checksum thread count must be greater than zero");
+        }
+        this.checksumThreads = checksumThreads;
+    }
+
+    @Override
+    public boolean processRequest(MavenSession mavenSession, DeployRequest deployRequest) throws DeploymentException {
+        return true;
+    }
+
+    @Override
+    public void deployAll(MavenSession session, Map<RemoteRepository, DeployRequest> deployRequests)
+            throws DeploymentException, IOException {
+        ChecksumCache checksumCache =
+                (ChecksumCache) session.getRepositorySession().getData().get(Kurt.CHECKSUM_CACHE);
+        if (checksumCache != null) {
+            deployAll(deploySession(session), checksumCache, deployRequests);
+        } else {
+            Path directory = Paths.get(session.getTopLevelProject().getBuild().getDirectory())
+                    .resolve("kurt-tee-checksums");
+            try (ChecksumCache teeChecksumCache =
+                    new ChecksumCache(repositoryLayoutProvider, directory, checksumThreads)) {
+                DefaultRepositorySystemSession deploySession =
+                        new DefaultRepositorySystemSession(deploySession(session));
+                deploySession.setConfigProperty(
+                        ProvidedChecksumsRepositoryLayoutFactory.ENABLED, Boolean.TRUE.toString());
+                deployAll(deploySession, teeChecksumCache, deployRequests);
+            }
+        }
+    }
+
+    void deployAll(
+            RepositorySystemSession deploySession,
+            ChecksumCache checksumCache,
+            Map<RemoteRepository, DeployRequest> deployRequests)
+            throws DeploymentException, IOException {
+        ArrayList<DeployRequest> originals = new ArrayList<>(deployRequests.values());
+        ArrayList<RemoteRepository> repositories = new ArrayList<>(targets);
+        originals.forEach(r -> repositories.add(r.getRepository()));
+        // artifacts precomputed at request time are not hashed again
+        for (DeployRequest deployRequest : originals) {
+            checksumCache.precompute(deploySession, deployRequest, repositories);
+        }
+        ArrayList<DeployRequest> requests = new ArrayList<>(originals.size());
+        // requests with checksums, per distinct layout checksum algorithms, shared by targets using same ones
+        ArrayList<Map<List<String>, DeployRequest>> checksummed = new ArrayList<>(originals.size());
+        for (DeployRequest deployRequest : originals) {
+            DeployRequest withChecksums = checksumCache.withChecksums(deploySession, deployRequest);
+            requests.add(withChecksums);
+            HashMap<List<String>, DeployRequest> byAlgorithms = new HashMap<>();
+            byAlgorithms.put(algorithms(deploySession, deployRequest.getRepository()), withChecksums);
+            checksummed.add(byAlgorithms);
+        }
+        LinkedHashMap<String, List<DeployRequest>> deployments = new LinkedHashMap<>();
+        deployments.put(
+                requests.stream().map(r -> r.getRepository().getId()).collect(Collectors.joining(", ")), requests);
+        for (RemoteRepository target : targets) {
+            List<String> algorithms = algorithms(deploySession, target);
+            ArrayList<DeployRequest> targetRequests = new ArrayList<>(requests.size());
+            for (int i = 0; i < originals.size(); i++) {
+                Map<List<String>, DeployRequest> byAlgorithms = checksummed.get(i);
+                DeployRequest withChecksums = byAlgorithms.get(algorithms);
+                if (withChecksums == null) {
+                    withChecksums = checksumCache.withChecksums(deploySession, retarget(originals.get(i), target));
+                    byAlgorithms.put(algorithms, withChecksums);
+                }
+                targetRequests.add(retarget(withChecksums, target));
+            }
+            deployments.put(target.getId(), targetRequests);
+        }
+        logger.info("Deploying {} requests to {}", requests.size(), String.join("; ", deployments.keySet()));
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(deployments.size(), r -> {
+            Thread thread = new Thread(r, "kurt-tee-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            LinkedHashMap<String, Future<?>> futures = new LinkedHashMap<>();
+            for (Map.Entry<String, List<DeployRequest>> deployment : deployments.entrySet()) {
+                futures.put(deployment.getKey(), executor.submit(() -> {
+                    deployEngine.deploy(deploySession, deployment.getValue());
+                    return null;
+                }));
+            }
+            LinkedHashMap<String, Throwable> failures = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<?>> future : futures.entrySet()) {
+                try {
+                    future.getValue().get();
+                } catch (ExecutionException e) {
+                    logger.error(
+                            "Deployment to {} failed: {}",
+                            future.getKey(),
+                            e.getCause().getMessage());
+                    failures.put(future.getKey(), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.values().forEach(f -> f.cancel(true));
+                    throw new DeploymentException("Deployment interrupted", e);
+                }
+            }
+            if (!failures.isEmpty()) {
+                DeploymentException failure = new DeploymentException("Deployment failed to " + failures.size() + " of "
+                        + deployments.size() + " targets: " + String.join("; ", failures.keySet()));
+                failures.values().forEach(failure::addSuppressed);
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns names of checksum algorithms of repository layout, or empty list if it has no layout.
+     */
+    private List<String> algorithms(RepositorySystemSession session, RemoteRepository repository) {
+        try {
+            return repositoryLayoutProvider
+                    .newRepositoryLayout(session, repository)
+                    .getChecksumAlgorithmFactories()
+                    .stream()
+                    .map(ChecksumAlgorithmFactory::getName)
+                    .collect(Collectors.toList());
+        } catch (NoRepositoryLayoutException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Returns request to given target, with own copy of metadata, as Resolver merges metadata it deploys.
+     */
+    private static DeployRequest retarget(DeployRequest deployRequest, RemoteRepository target) {
+        DeployRequest result = new DeployRequest();
+        result.setRepository(target);
+        result.setTrace(deployRequest.getTrace());
+        result.setArtifacts(deployRequest.getArtifacts());
+        for (Metadata metadata : deployRequest.getMetadata()) {
+            // returns new metadata
+            result.addMetadata(metadata.setFile(metadata.getFile()));
+        }
+        return result;
+    }
+}
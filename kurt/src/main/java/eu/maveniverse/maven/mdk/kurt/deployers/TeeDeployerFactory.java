@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.mdk.kurt.DeployerFactory;
+import eu.maveniverse.maven.mdk.kurt.KurtConfig;
+import java.util.ArrayList;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+
+@Singleton
+@Named(TeeDeployerFactory.NAME)
+public class TeeDeployerFactory implements DeployerFactory {
+    public static final String NAME = "tee";
+
+    private final RepositorySystem repositorySystem;
+
+    private final RepositoryLayoutProvider repositoryLayoutProvider;
+
+    @Inject
+    public TeeDeployerFactory(RepositorySystem repositorySystem, RepositoryLayoutProvider repositoryLayoutProvider) {
+        this.repositorySystem = requireNonNull(repositorySystem);
+        this.repositoryLayoutProvider = requireNonNull(repositoryLayoutProvider);
+    }
+
+    @Override
+    public TeeDeployer createDeployer(MavenSession session) {
+        ArrayList<RemoteRepository> targets = new ArrayList<>();
+        for (String target : KurtConfig.TEE_TARGETS.require(session).split(",")) {
+            target = target.trim();
+            if (target.isEmpty()) {
+                continue;
+            }
+            int separator = target.indexOf("::");
+            if (separator < 1 || separator + 2 == target.length()) {
+                throw new IllegalArgumentException("Invalid tee target '" + target + "', expected id::url");
+            }
+            targets.add(repositorySystem.newDeploymentRepository(
+                    session.getRepositorySession(),
+                    new RemoteRepository.Builder(
+                                    target.substring(0, separator), "default", target.substring(separator + 2))
+                            .build()));
+        }
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("Parameter kurt.teeTargets has no targets.");
+        }
+        int checksumThreads = KurtConfig.CHECKSUM_THREADS.requireInt(session, 0);
+        return new TeeDeployer(
+                repositoryLayoutProvider,
+                new DeployEngine(repositorySystem, KurtConfig.DEPLOY_THREADS.requireInt(session, 1)),
+                targets,
+                checksumThreads > 0 ? checksumThreads : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.transport;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import org.eclipse.aether.spi.connector.transport.AbstractTransporter;
+import org.eclipse.aether.spi.connector.transport.GetTask;
+import org.eclipse.aether.spi.connector.transport.PeekTask;
+import org.eclipse.aether.spi.connector.transport.PutTask;
+import org.eclipse.aether.spi.connector.transport.TransportTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * File transporter that lays out uploaded files using hard links, and falls back to streaming copy if linking is not
+ * possible (for example source and target are on different file systems). Checksums and metadata are still created
+ * by Resolver, and are always written as new files, as metadata files are rewritten in place by Resolver.
+ */
+final class LinkingFileTransporter extends AbstractTransporter {
+    private static final String METADATA = "maven-metadata.xml";
+
+    /**
+     * Content-less buffer to report linked bytes as progress with, so transfer listeners account for them.
+     */
+    private static final ByteBuffer LINKED = ByteBuffer.allocate(64 * 1024).asReadOnlyBuffer();
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Path basedir;
+
+    LinkingFileTransporter(Path basedir) {
+        this.basedir = requireNonNull(basedir);
+    }
+
+    @Override
+    public int classify(Throwable error) {
+        if (error instanceof NoSuchFileException) {
+            return ERROR_NOT_FOUND;
+        }
+        return ERROR_OTHER;
+    }
+
+    @Override
+    protected void implPeek(PeekTask task) throws Exception {
+        Path file = getFile(task);
+        if (!Files.isRegularFile(file)) {
+            throw new NoSuchFileException(file.toString());
+        }
+    }
+
+    @Override
+    protected void implGet(GetTask task) throws Exception {
+        Path file = getFile(task);
+        if (!Files.isRegularFile(file)) {
+            throw new NoSuchFileException(file.toString());
+        }
+        utilGet(task, Files.newInputStream(file), true, Files.size(file), false);
+    }
+
+    @Override
+    protected void implPut(PutTask task) throws Exception {
+        Path file = getFile(task);
+        Files.createDirectories(file.getParent());
+        if (task.getDataFile() != null && !file.getFileName().toString().startsWith(METADATA)) {
+            Path source = task.getDataFile().toPath();
+            try {
+                Files.deleteIfExists(file);
+                Files.createLink(file, source);
+                long length = task.getDataLength();
+                task.getListener().transportStarted(0, length);
+                for (long reported = 0; reported < length; ) {
+                    ByteBuffer chunk = LINKED.duplicate();
+                    chunk.limit((int) Math.min(chunk.capacity(), length - reported));
+                    reported += chunk.remaining();
+                    task.getListener().transportProgressed(chunk);
+                }
+                return;
+            } catch (IOException | UnsupportedOperationException e) {
+                logger.debug("Could not link {}, copying it: {}", source, e.getMessage());
+            }
+        }
+        utilPut(task, Files.newOutputStream(file), true);
+    }
+
+    @Override
+    protected void implClose() {}
+
+    private Path getFile(TransportTask task) {
+        return basedir.resolve(task.getLocation().getPath());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.transport;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.transport.Transporter;
+import org.eclipse.aether.spi.connector.transport.TransporterFactory;
+import org.eclipse.aether.transfer.NoTransporterException;
+
+/**
+ * Transporter factory for {@code link+file:} URLs, used by local staging. Same as Resolver file transport, except
+ * that uploaded files are hard linked instead of copied, when possible.
+ */
+@Singleton
+@Named(LinkingFileTransporterFactory.PROTOCOL)
+public class LinkingFileTransporterFactory implements TransporterFactory {
+    public static final String PROTOCOL = "link+file";
+
+    private static final String PREFIX = "link+";
+
+    /**
+     * Returns the {@code link+file:} URL for given directory.
+     */
+    public static String toUrl(Path directory) {
+        return PREFIX + directory.toUri().toASCIIString();
+    }
+
+    @Override
+    public Transporter newInstance(RepositorySystemSession session, RemoteRepository repository)
+            throws NoTransporterException {
+        if (!PROTOCOL.equalsIgnoreCase(repository.getProtocol())) {
+            throw new NoTransporterException(repository);
+        }
+        try {
+            return new LinkingFileTransporter(
+                    Paths.get(URI.create(repository.getUrl().substring(PREFIX.length()))));
+        } catch (IllegalArgumentException e) {
+            throw new NoTransporterException(repository, e);
+        }
+    }
+
+    @Override
+    public float getPriority() {
+        return 1;
+    }
+}
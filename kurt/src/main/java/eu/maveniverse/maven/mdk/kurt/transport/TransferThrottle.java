@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.transport;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+
+/**
+ * Bandwidth throttle: a transfer listener that blocks transferring thread as transferred data goes over the limits,
+ * a global one and one per repository host, both token buckets. A bucket holds up to "burst" bytes, so short bursts
+ * go at full speed, and is refilled with "rate" bytes per second. Only network transfers (with host) are throttled,
+ * local file ones are not.
+ */
+public final class TransferThrottle extends AbstractTransferListener {
+    private static final TokenBucket UNLIMITED = new TokenBucket(0, 0);
+
+    private final TokenBucket global;
+    private final long hostRate;
+    private final long burst;
+    private final ConcurrentHashMap<String, String> hosts;
+    private final ConcurrentHashMap<String, TokenBucket> hostBuckets;
+
+    /**
+     * Creates throttle, rates are in bytes per second, non-positive rate means unlimited. Non-positive burst means
+     * one second worth of rate.
+     */
+    public TransferThrottle(long globalRate, long hostRate, long burst) {
+        this.global = globalRate > 0 ? new TokenBucket(globalRate, burst > 0 ? burst : globalRate) : UNLIMITED;
+        this.hostRate = hostRate;
+        this.burst = burst;
+        this.hosts = new ConcurrentHashMap<>();
+        this.hostBuckets = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void transferProgressed(TransferEvent event) throws TransferCancelledException {
+        String host = hosts.computeIfAbsent(event.getResource().getRepositoryUrl(), TransferThrottle::hostOf);
+        if (host.isEmpty()) {
+            return;
+        }
+        int length = event.getDataLength();
+        try {
+            global.take(length);
+            if (hostRate > 0) {
+                hostBuckets
+                        .computeIfAbsent(host, h -> new TokenBucket(hostRate, burst > 0 ? burst : hostRate))
+                        .take(length);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransferCancelledException("Interrupted while throttled");
+        }
+    }
+
+    /**
+     * Returns lower case host of URL, or empty string, if it has none (like {@code file:} URLs).
+     */
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "" : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Parses byte count, with optional {@code k}, {@code m} or {@code g} (binary) suffix, like {@code 512k}. Returns 0
+     * for {@code null}. Negative (or too large) counts are invalid, not to silently mean "unlimited".
+     */
+    public static long parseBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        String bytes = value.trim().toLowerCase(Locale.ROOT);
+        if (bytes.isEmpty()) {
+            return 0;
+        }
+        long multiplier = 1;
+        switch (bytes.charAt(bytes.length() - 1)) {
+            case 'g':
+                multiplier *= 1024;
+                // fall through
+            case 'm':
+                multiplier *= 1024;
+                // fall through
+            case 'k':
+                multiplier *= 1024;
+                bytes = bytes.substring(0, bytes.length() - 1).trim();
+                break;
+            default:
+        }
+        long count;
+        try {
+            count = Math.multiplyExact(Long.parseLong(bytes), multiplier);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid byte count: " + value, e);
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid byte count: " + value + ", must not be negative");
+        }
+        return count;
+    }
+
+    /**
+     * Token bucket that goes into debt: taker takes all it needs at once and then waits the debt off. This way
+     * transfers larger than burst work, and concurrent takers queue up fairly, as each sees the debt of previous ones.
+     */
+    private static final class TokenBucket {
+        private final long rate;
+        private final long capacity;
+        private double tokens;
+        private long refilled;
+
+        private TokenBucket(long rate, long capacity) {
+            this.rate = rate;
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.refilled = System.nanoTime();
+        }
+
+        private void take(int count) throws InterruptedException {
+            if (rate <= 0) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                tokens = Math.min(capacity, tokens + (now - refilled) * rate / 1e9);
+                refilled = now;
+                tokens -= count;
+                waitNanos = tokens < 0 ? (long) (-tokens * 1e9 / rate) : 0;
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR backed {@link KurtEvents}, loaded reflectively by {@link KurtEvents#get()}. Event is created only if its type is
+ * enabled, so nothing is allocated when not recording.
+ */
+final class JfrKurtEvents extends KurtEvents {
+    private static final EventType AFTER_PROJECTS_READ = EventType.getEventType(AfterProjectsRead.class);
+    private static final EventType PROCESS_REQUEST = EventType.getEventType(ProcessRequest.class);
+    private static final EventType MERGE = EventType.getEventType(Merge.class);
+    private static final EventType DEPLOY_ALL = EventType.getEventType(DeployAll.class);
+    private static final EventType TRANSFER = EventType.getEventType(Transfer.class);
+
+    @Override
+    Span afterProjectsRead() {
+        if (!AFTER_PROJECTS_READ.isEnabled()) {
+            return NOOP;
+        }
+        AfterProjectsRead event = new AfterProjectsRead();
+        event.begin();
+        return (succeeded, count) -> {
+            event.succeeded = succeeded;
+            event.commit();
+        };
+    }
+
+    @Override
+    Span processRequest(String deployer, String repository) {
+        if (!PROCESS_REQUEST.isEnabled()) {
+            return NOOP;
+        }
+        ProcessRequest event = new ProcessRequest();
+        event.deployer = deployer;
+        event.repository = repository;
+        event.begin();
+        return (succeeded, count) -> {
+            event.accepted = succeeded;
+            event.artifacts = count;
+            event.commit();
+        };
+    }
+
+    @Override
+    Span merge() {
+        if (!MERGE.isEnabled()) {
+            return NOOP;
+        }
+        Merge event = new Merge();
+        event.begin();
+        return (succeeded, count) -> {
+            event.repositories = count;
+            event.commit();
+        };
+    }
+
+    @Override
+    Span deployAll(String deployer) {
+        if (!DEPLOY_ALL.isEnabled()) {
+            return NOOP;
+        }
+        DeployAll event = new DeployAll();
+        event.deployer = deployer;
+        event.begin();
+        return (succeeded, count) -> {
+            event.succeeded = succeeded;
+            event.artifacts = count;
+            event.commit();
+        };
+    }
+
+    @Override
+    Span transfer(String url) {
+        if (!TRANSFER.isEnabled()) {
+            return NOOP;
+        }
+        Transfer event = new Transfer();
+        event.url = url;
+        event.begin();
+        return (succeeded, count) -> {
+            event.succeeded = succeeded;
+            event.bytes = count;
+            event.commit();
+        };
+    }
+
+    @Name("eu.maveniverse.maven.mdk.kurt.AfterProjectsRead")
+    @Label("Kurt afterProjectsRead")
+    @Category({"Maven", "Kurt"})
+    static final class AfterProjectsRead extends Event {
+        @Label("Succeeded")
+        boolean succeeded;
+    }
+
+    @Name("eu.maveniverse.maven.mdk.kurt.ProcessRequest")
+    @Label("Kurt deploy request")
+    @Category({"Maven", "Kurt"})
+    static final class ProcessRequest extends Event {
+        @Label("Deployer")
+        String deployer;
+
+        @Label("Repository")
+        String repository;
+
+        @Label("Accepted")
+        boolean accepted;
+
+        @Label("Artifacts")
+        long artifacts;
+    }
+
+    @Name("eu.maveniverse.maven.mdk.kurt.Merge")
+    @Label("Kurt request merge")
+    @Category({"Maven", "Kurt"})
+    static final class Merge extends Event {
+        @Label("Repositories")
+        long repositories;
+    }
+
+    @Name("eu.maveniverse.maven.mdk.kurt.DeployAll")
+    @Label("Kurt deploy all")
+    @Category({"Maven", "Kurt"})
+    static final class DeployAll extends Event {
+        @Label("Deployer")
+        String deployer;
+
+        @Label("Succeeded")
+        boolean succeeded;
+
+        @Label("Artifacts")
+        long artifacts;
+    }
+
+    @Name("eu.maveniverse.maven.mdk.kurt.Transfer")
+    @Label("Kurt artifact transfer")
+    @Category({"Maven", "Kurt"})
+    static final class Transfer extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Succeeded")
+        boolean succeeded;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ArtifactLogTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTrip() throws IOException {
+        Artifact jar = new DefaultArtifact(
+                "org.example",
+                "lib",
+                "sources",
+                "jar",
+                "1.0-20240101.120000-1",
+                Collections.singletonMap("type", "java-source"),
+                new File("target", "lib-1.0-SNAPSHOT-sources.jar"));
+        Artifact noFile = new DefaultArtifact("org.example:lib:pom:1.0-SNAPSHOT");
+
+        List<Artifact> artifacts;
+        try (ArtifactLog log = new ArtifactLog(tempDir.resolve("artifacts.log"))) {
+            log.append(jar);
+            log.append(noFile);
+            artifacts = new ArrayList<>(log.read());
+        }
+
+        assertEquals(2, artifacts.size());
+        assertEquals(jar, artifacts.get(0));
+        assertEquals("1.0-SNAPSHOT", artifacts.get(0).getBaseVersion());
+        assertEquals(jar.getFile(), artifacts.get(0).getFile());
+        assertEquals("java-source", artifacts.get(0).getProperty("type", null));
+        assertEquals(noFile, artifacts.get(1));
+        assertNull(artifacts.get(1).getFile());
+    }
+
+    @Test
+    void readsManyChunksRepeatedly() throws IOException {
+        int count = 2500;
+        Collection<Artifact> artifacts;
+        try (ArtifactLog log = new ArtifactLog(tempDir.resolve("artifacts.log"))) {
+            for (int i = 0; i < count; i++) {
+                log.append(artifact(i));
+            }
+            artifacts = log.read();
+        }
+
+        assertEquals(count, artifacts.size());
+        for (int pass = 0; pass < 2; pass++) {
+            int i = 0;
+            for (Artifact artifact : artifacts) {
+                assertEquals(artifact(i++), artifact);
+            }
+            assertEquals(count, i);
+        }
+    }
+
+    @Test
+    void emptyLog() throws IOException {
+        try (ArtifactLog log = new ArtifactLog(tempDir.resolve("artifacts.log"))) {
+            Iterator<Artifact> iterator = log.read().iterator();
+            assertFalse(iterator.hasNext());
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+    }
+
+    @Test
+    void closedForWritingOnceRead() throws IOException {
+        try (ArtifactLog log = new ArtifactLog(tempDir.resolve("artifacts.log"))) {
+            log.read();
+            assertThrows(IllegalStateException.class, () -> log.append(artifact(0)));
+        }
+    }
+
+    private static Artifact artifact(int i) {
+        return new DefaultArtifact("org.example", "lib-" + i, "", "jar", "1.0")
+                .setFile(new File("target", "lib-" + i + "-1.0.jar"));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.metadata.DefaultMetadata;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DeployRequestAccumulatorTest {
+    private static final RemoteRepository RELEASES =
+            new RemoteRepository.Builder("releases", "default", "https://repo.example.org/releases").build();
+
+    private static final RemoteRepository STAGING =
+            new RemoteRepository.Builder("staging", "default", "https://repo.example.org/staging").build();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mergesPerRepositoryOnHeap() throws IOException {
+        DeployRequestAccumulator accumulator = new DeployRequestAccumulator();
+        assertMerges(accumulator);
+        accumulator.clear();
+        assertTrue(accumulator.isEmpty());
+    }
+
+    @Test
+    void mergesPerRepositorySpilled() throws IOException {
+        DeployRequestAccumulator accumulator = new DeployRequestAccumulator();
+        Path spill = tempDir.resolve("spill");
+        accumulator.spillTo(spill);
+        assertMerges(accumulator);
+        try (Stream<Path> files = Files.list(spill)) {
+            assertEquals(2, files.count());
+        }
+        accumulator.clear();
+        assertTrue(accumulator.isEmpty());
+        assertFalse(Files.exists(spill));
+    }
+
+    @Test
+    void keepsUnconventionalFileNames() throws IOException {
+        DeployRequestAccumulator accumulator = new DeployRequestAccumulator();
+        Artifact renamed = artifact("lib", "", "jar").setFile(new File("target", "renamed.jar"));
+        Artifact noFile = artifact("lib", "", "pom").setFile(null);
+        accumulator.add(request(RELEASES, renamed, noFile));
+
+        List<Artifact> artifacts =
+                new ArrayList<>(accumulator.batches().get(RELEASES).getArtifacts());
+
+        assertEquals(renamed.getFile(), artifacts.get(0).getFile());
+        assertNull(artifacts.get(1).getFile());
+    }
+
+    private void assertMerges(DeployRequestAccumulator accumulator) throws IOException {
+        Artifact pom = artifact("lib", "", "pom");
+        Artifact jar = artifact("lib", "", "jar").setProperties(Collections.singletonMap("type", "jar"));
+        Artifact sources = artifact("lib", "sources", "jar");
+        Artifact other = artifact("other", "", "jar");
+        Metadata metadata = new DefaultMetadata("org.example", "lib", "maven-metadata.xml", Metadata.Nature.RELEASE);
+
+        DeployRequest first = request(RELEASES, pom, jar);
+        first.addMetadata(metadata);
+        accumulator.add(first);
+        // same coordinates again, first one wins
+        DeployRequest second = request(RELEASES, jar.setFile(new File("elsewhere", "lib-1.0.jar")), sources);
+        second.addMetadata(new DefaultMetadata("org.example", "lib", "maven-metadata.xml", Metadata.Nature.RELEASE));
+        accumulator.add(second);
+        accumulator.add(request(STAGING, other));
+
+        Map<RemoteRepository, DeployRequest> batches = accumulator.batches();
+
+        assertEquals(2, batches.size());
+        List<Artifact> releases = new ArrayList<>(batches.get(RELEASES).getArtifacts());
+        assertEquals(3, releases.size());
+        assertEquals(Arrays.asList(pom, jar, sources), releases);
+        assertEquals(jar.getFile(), releases.get(1).getFile());
+        assertEquals("jar", releases.get(1).getProperty("type", null));
+        assertEquals(
+                Collections.singletonList(metadata),
+                new ArrayList<>(batches.get(RELEASES).getMetadata()));
+        assertEquals(
+                Collections.singletonList(other),
+                new ArrayList<>(batches.get(STAGING).getArtifacts()));
+    }
+
+    private static Artifact artifact(String artifactId, String classifier, String extension) {
+        Artifact artifact = new DefaultArtifact("org.example", artifactId, classifier, extension, "1.0");
+        String name = artifactId + "-1.0" + (classifier.isEmpty() ? "" : "-" + classifier) + "." + extension;
+        return artifact.setFile(new File("target", name));
+    }
+
+    private static DeployRequest request(RemoteRepository repository, Artifact... artifacts) {
+        DeployRequest deployRequest = new DeployRequest();
+        deployRequest.setRepository(repository);
+        deployRequest.setArtifacts(Arrays.asList(artifacts));
+        return deployRequest;
+    }
+}
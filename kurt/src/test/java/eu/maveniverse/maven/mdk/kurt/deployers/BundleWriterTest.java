@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.internal.impl.checksum.Sha1ChecksumAlgorithmFactory;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BundleWriterTest {
+    private static final ChecksumAlgorithmFactory SHA_1 = new Sha1ChecksumAlgorithmFactory();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writesArtifactsWithChecksums() throws IOException {
+        Artifact jar = artifact("jar", "classes, classes, classes");
+        Artifact pom = artifact("pom", "<project/>");
+        Path bundle = tempDir.resolve("target").resolve("bundle.zip");
+
+        try (BundleWriter writer = new BundleWriter(new Sha1Layout(), bundle)) {
+            assertTrue(writer.write(pom));
+            assertTrue(writer.write(jar));
+        }
+
+        try (ZipFile zip = new ZipFile(bundle.toFile())) {
+            List<String> names = new ArrayList<>();
+            zip.stream().forEach(e -> names.add(e.getName()));
+            assertEquals(
+                    Arrays.asList(
+                            "org/example/lib/1.0/lib-1.0.pom",
+                            "org/example/lib/1.0/lib-1.0.pom.sha1",
+                            "org/example/lib/1.0/lib-1.0.jar",
+                            "org/example/lib/1.0/lib-1.0.jar.sha1"),
+                    names);
+            assertEntry(zip, "org/example/lib/1.0/lib-1.0.jar", jar, ZipEntry.STORED);
+            assertEntry(zip, "org/example/lib/1.0/lib-1.0.pom", pom, ZipEntry.DEFLATED);
+        }
+    }
+
+    @Test
+    void writesLocationOnce() throws IOException {
+        Artifact jar = artifact("jar", "classes");
+        Path bundle = tempDir.resolve("bundle.zip");
+
+        try (BundleWriter writer = new BundleWriter(new Sha1Layout(), bundle)) {
+            assertTrue(writer.write(jar));
+            assertFalse(writer.write(jar));
+        }
+
+        try (ZipFile zip = new ZipFile(bundle.toFile())) {
+            assertEquals(2, zip.size());
+        }
+    }
+
+    private static void assertEntry(ZipFile zip, String location, Artifact artifact, int method) throws IOException {
+        ZipEntry entry = zip.getEntry(location);
+        assertEquals(method, entry.getMethod());
+        assertArrayEquals(Files.readAllBytes(artifact.getFile().toPath()), read(zip, entry));
+        assertEquals(
+                ContentDigest.sha1(artifact.getFile()),
+                new String(read(zip, zip.getEntry(location + ".sha1")), US_ASCII));
+    }
+
+    private static byte[] read(ZipFile zip, ZipEntry entry) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = zip.getInputStream(entry)) {
+            byte[] buffer = new byte[8192];
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private Artifact artifact(String extension, String content) throws IOException {
+        Path file = tempDir.resolve("lib-1.0." + extension);
+        Files.write(file, content.getBytes(UTF_8));
+        return new DefaultArtifact("org.example:lib:" + extension + ":1.0").setFile(file.toFile());
+    }
+
+    /**
+     * Bare Maven 2 layout with SHA-1 checksums only.
+     */
+    private static final class Sha1Layout implements RepositoryLayout {
+        @Override
+        public List<ChecksumAlgorithmFactory> getChecksumAlgorithmFactories() {
+            return Collections.singletonList(SHA_1);
+        }
+
+        @Override
+        public boolean hasChecksums(Artifact artifact) {
+            return true;
+        }
+
+        @Override
+        public URI getLocation(Artifact artifact, boolean upload) {
+            return URI.create(artifact.getGroupId().replace('.', '/') + "/" + artifact.getArtifactId() + "/"
+                    + artifact.getBaseVersion() + "/" + artifact.getArtifactId() + "-" + artifact.getVersion() + "."
+                    + artifact.getExtension());
+        }
+
+        @Override
+        public URI getLocation(Metadata metadata, boolean upload) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ChecksumLocation> getChecksumLocations(Artifact artifact, boolean upload, URI location) {
+            return Collections.singletonList(ChecksumLocation.forLocation(location, SHA_1));
+        }
+
+        @Override
+        public List<ChecksumLocation> getChecksumLocations(Metadata metadata, boolean upload, URI location) {
+            return Collections.emptyList();
+        }
+    }
+}
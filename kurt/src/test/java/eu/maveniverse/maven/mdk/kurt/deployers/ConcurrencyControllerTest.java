@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntToLongFunction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ConcurrencyControllerTest {
+    private static final String URL = "https://repo.example.org/releases";
+
+    private static final long MB = 1024 * 1024;
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void growsByOnePerRoundWhileThroughputGrows() throws Exception {
+        ConcurrencyController.Limiter limiter = controller(1, 4).limiter(URL);
+
+        // upload time shrinks with concurrency: throughput grows
+        IntToLongFunction nanos = limit -> SECOND / limit;
+        rounds(limiter, nanos, 1);
+        assertEquals(2, limiter.getLimit());
+        rounds(limiter, nanos, 1);
+        assertEquals(3, limiter.getLimit());
+        rounds(limiter, nanos, 5);
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void keepsLimitWhenThroughputStalls() throws Exception {
+        ConcurrencyController.Limiter limiter = controller(2, 8).limiter(URL);
+
+        rounds(limiter, limit -> SECOND, 1);
+        assertEquals(3, limiter.getLimit());
+        rounds(limiter, limit -> SECOND, 5);
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void halvesWhenThroughputCollapses() throws Exception {
+        ConcurrencyController.Limiter limiter = controller(3, 8).limiter(URL);
+
+        // repository chokes at 4 concurrent uploads
+        IntToLongFunction nanos = limit -> limit < 4 ? SECOND / limit : 3 * SECOND;
+        rounds(limiter, nanos, 1);
+        assertEquals(4, limiter.getLimit());
+        rounds(limiter, nanos, 1);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void halvesOnFailure() throws Exception {
+        ConcurrencyController.Limiter limiter = controller(8, 8).limiter(URL);
+
+        round(limiter, limit -> SECOND, true);
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void sizeOfSingleUploadsDoesNotMatter() throws Exception {
+        ConcurrencyController.Limiter limiter = controller(2, 2).limiter(URL);
+        rounds(limiter, limit -> SECOND, 1);
+
+        // one large upload among small ones, same throughput
+        for (int i = 0; i < ConcurrencyController.Limiter.MIN_ROUND; i++) {
+            long bytes = i == 0 ? 20 * MB : MB;
+            limiter.acquire();
+            clock.addAndGet(bytes * SECOND / MB);
+            limiter.release(bytes, false);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void learnedLimitsAreSaved() throws Exception {
+        Path file = tempDir.resolve("limits.properties");
+        ConcurrencyController controller = ConcurrencyController.load(file, 1, 4, clock::get);
+        rounds(controller.limiter(URL), limit -> SECOND / limit, 2);
+        controller.save();
+
+        ConcurrencyController loaded = ConcurrencyController.load(file, 1, 4, clock::get);
+        assertEquals(3, loaded.limiter(URL).getLimit());
+        // no host, not adapted
+        assertEquals(1, loaded.limiter("file:///tmp/repository").getLimit());
+    }
+
+    @Test
+    void invalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> ConcurrencyController.load(null, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> ConcurrencyController.load(null, 4, 2));
+    }
+
+    private ConcurrencyController controller(int initialLimit, int maxLimit) throws Exception {
+        return ConcurrencyController.load(null, initialLimit, maxLimit, clock::get);
+    }
+
+    private void rounds(ConcurrencyController.Limiter limiter, IntToLongFunction nanos, int count)
+            throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            round(limiter, nanos, false);
+        }
+    }
+
+    /**
+     * Uploads one round worth of 1 MB groups, one at a time, each taking time given for current limit.
+     */
+    private void round(ConcurrencyController.Limiter limiter, IntToLongFunction nanos, boolean failed)
+            throws InterruptedException {
+        int uploads = Math.max(ConcurrencyController.Limiter.MIN_ROUND, limiter.getLimit());
+        for (int i = 0; i < uploads; i++) {
+            limiter.acquire();
+            clock.addAndGet(nanos.applyAsLong(limiter.getLimit()));
+            limiter.release(MB, failed && i == 0);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactProperties;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeployResult;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.metadata.DefaultMetadata;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.jupiter.api.Test;
+
+public class DeployEngineTest {
+    private static final RemoteRepository RELEASES =
+            new RemoteRepository.Builder("releases", "default", "https://repo.example.org/releases").build();
+
+    @Test
+    void splitsPerGA() {
+        Artifact libPom = artifact("lib", "", "pom");
+        Artifact libJar = artifact("lib", "", "jar");
+        Artifact libSources = artifact("lib", "sources", "jar");
+        Artifact appJar = artifact("app", "", "jar");
+        Metadata libMetadata = metadata("lib");
+        Metadata appMetadata = metadata("app");
+        DeployRequest deployRequest = request(libPom, appJar, libJar, libSources);
+        deployRequest.setMetadata(Arrays.asList(appMetadata, libMetadata));
+
+        List<DeployRequest> groups = new ArrayList<>(DeployEngine.split(deployRequest));
+
+        assertEquals(2, groups.size());
+        assertEquals(Arrays.asList(libPom, libJar, libSources), artifacts(groups.get(0)));
+        assertEquals(Collections.singletonList(libMetadata), metadata(groups.get(0)));
+        assertEquals(Collections.singletonList(appJar), artifacts(groups.get(1)));
+        assertEquals(Collections.singletonList(appMetadata), metadata(groups.get(1)));
+        for (DeployRequest group : groups) {
+            assertSame(RELEASES, group.getRepository());
+        }
+    }
+
+    @Test
+    void keepsPluginsPerGroupId() {
+        Artifact pluginPom = artifact("plugin", "", "pom");
+        Artifact pluginJar = artifact("plugin", "", "jar")
+                .setProperties(Collections.singletonMap(ArtifactProperties.TYPE, "maven-plugin"));
+        Artifact otherPluginJar = artifact("other-plugin", "", "jar")
+                .setProperties(Collections.singletonMap(ArtifactProperties.TYPE, "maven-plugin"));
+        Artifact libJar = artifact("lib", "", "jar");
+        Metadata groupMetadata = metadata("");
+        Metadata pluginMetadata = metadata("plugin");
+        Metadata libMetadata = metadata("lib");
+        DeployRequest deployRequest = request(pluginPom, pluginJar, libJar, otherPluginJar);
+        deployRequest.setMetadata(Arrays.asList(groupMetadata, pluginMetadata, libMetadata));
+
+        List<DeployRequest> groups = new ArrayList<>(DeployEngine.split(deployRequest));
+
+        assertEquals(2, groups.size());
+        assertEquals(Arrays.asList(pluginPom, pluginJar, otherPluginJar), artifacts(groups.get(0)));
+        assertEquals(Arrays.asList(groupMetadata, pluginMetadata), metadata(groups.get(0)));
+        assertEquals(Collections.singletonList(libJar), artifacts(groups.get(1)));
+        assertEquals(Collections.singletonList(libMetadata), metadata(groups.get(1)));
+    }
+
+    @Test
+    void deploysAllGroupsConcurrently() throws DeploymentException {
+        Set<String> deployed = ConcurrentHashMap.newKeySet();
+        DeployEngine engine = new DeployEngine(repositorySystem(deployed, g -> false), 4);
+        Set<DeployRequest> results = ConcurrentHashMap.newKeySet();
+
+        engine.deploy(
+                new DefaultRepositorySystemSession(),
+                Collections.singletonList(
+                        request(artifact("a", "", "jar"), artifact("b", "", "jar"), artifact("c", "", "jar"))),
+                result -> results.add(result.getRequest()));
+
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), deployed);
+        assertEquals(3, results.size());
+    }
+
+    @Test
+    void sequentialDeploysRequestsAsTheyAre() throws DeploymentException {
+        Set<String> deployed = ConcurrentHashMap.newKeySet();
+        DeployEngine engine = new DeployEngine(repositorySystem(deployed, g -> false), 1);
+        DeployRequest deployRequest = request(artifact("a", "", "jar"), artifact("b", "", "jar"));
+        List<DeployRequest> results = new ArrayList<>();
+
+        engine.deploy(
+                new DefaultRepositorySystemSession(),
+                Collections.singletonList(deployRequest),
+                result -> results.add(result.getRequest()));
+
+        assertEquals(Collections.singletonList(deployRequest), results);
+    }
+
+    @Test
+    void failureOfOneGroupFailsDeploy() {
+        Set<String> deployed = ConcurrentHashMap.newKeySet();
+        DeployEngine engine = new DeployEngine(repositorySystem(deployed, "b"::equals), 4);
+
+        DeploymentException e = assertThrows(
+                DeploymentException.class,
+                () -> engine.deploy(
+                        new DefaultRepositorySystemSession(),
+                        Collections.singletonList(request(artifact("a", "", "jar"), artifact("b", "", "jar"))),
+                        result -> {}));
+
+        assertEquals("b failed", e.getMessage());
+        assertTrue(deployed.contains("b"));
+    }
+
+    @Test
+    void invalidThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new DeployEngine(repositorySystem(null, null), 0));
+    }
+
+    /**
+     * Repository system that records artifactIds of deployed groups, and fails groups matching the predicate.
+     */
+    private static RepositorySystem repositorySystem(Set<String> deployed, Predicate<String> fails) {
+        return (RepositorySystem) Proxy.newProxyInstance(
+                RepositorySystem.class.getClassLoader(), new Class<?>[] {RepositorySystem.class}, (proxy, m, args) -> {
+                    if (!"deploy".equals(m.getName())) {
+                        throw new UnsupportedOperationException(m.getName());
+                    }
+                    DeployRequest group = (DeployRequest) args[1];
+                    for (Artifact artifact : group.getArtifacts()) {
+                        deployed.add(artifact.getArtifactId());
+                        if (fails.test(artifact.getArtifactId())) {
+                            throw new DeploymentException(artifact.getArtifactId() + " failed");
+                        }
+                    }
+                    return new DeployResult(group);
+                });
+    }
+
+    private static Artifact artifact(String artifactId, String classifier, String extension) {
+        return new DefaultArtifact("org.example", artifactId, classifier, extension, "1.0");
+    }
+
+    private static Metadata metadata(String artifactId) {
+        return new DefaultMetadata("org.example", artifactId, "maven-metadata.xml", Metadata.Nature.RELEASE);
+    }
+
+    private static DeployRequest request(Artifact... artifacts) {
+        DeployRequest deployRequest = new DeployRequest();
+        deployRequest.setRepository(RELEASES);
+        deployRequest.setArtifacts(Arrays.asList(artifacts));
+        return deployRequest;
+    }
+
+    private static List<Artifact> artifacts(DeployRequest deployRequest) {
+        return new ArrayList<>(deployRequest.getArtifacts());
+    }
+
+    private static List<Metadata> metadata(DeployRequest deployRequest) {
+        return new ArrayList<>(deployRequest.getMetadata());
+    }
+}
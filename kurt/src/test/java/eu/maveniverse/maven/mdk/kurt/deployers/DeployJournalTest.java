@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeployResult;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DeployJournalTest {
+    private static final String URL = "https://repo.example.org/releases";
+
+    private static final RemoteRepository RELEASES = new RemoteRepository.Builder("releases", "default", URL).build();
+
+    private final RepositorySystemSession session = new DefaultRepositorySystemSession();
+
+    @TempDir
+    Path tempDir;
+
+    private Path journal;
+
+    private Artifact pom;
+
+    private Artifact jar;
+
+    private DeployRequest group;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journal = tempDir.resolve("journal").resolve("releases.log");
+        pom = artifact("pom", "<project/>");
+        jar = artifact("jar", "classes");
+        group = new DeployRequest();
+        group.setRepository(RELEASES);
+        group.setArtifacts(Arrays.asList(pom, jar));
+    }
+
+    @Test
+    void freshGroupIsDeployedWhole() throws IOException {
+        try (DeployJournal deployJournal = open(false)) {
+            assertEquals(Arrays.asList(pom, jar), artifacts(deployJournal.missing(session, group)));
+        }
+    }
+
+    @Test
+    void resumeSkipsUploadedArtifacts() throws IOException {
+        try (DeployJournal deployJournal = open(false)) {
+            deployJournal.missing(session, group);
+            uploaded(deployJournal, jar);
+        }
+
+        try (DeployJournal deployJournal = open(true)) {
+            assertEquals(Collections.singletonList(pom), artifacts(deployJournal.missing(session, group)));
+        }
+    }
+
+    @Test
+    void resumeSkipsDoneGroup() throws IOException {
+        try (DeployJournal deployJournal = open(false)) {
+            deployJournal.missing(session, group);
+            uploaded(deployJournal, pom);
+            uploaded(deployJournal, jar);
+            deployJournal.deployed(session, new DeployResult(group));
+        }
+
+        try (DeployJournal deployJournal = open(true)) {
+            assertNull(deployJournal.missing(session, group));
+        }
+    }
+
+    @Test
+    void uploadedButNotDoneGroupIsDeployedAgain() throws IOException {
+        try (DeployJournal deployJournal = open(false)) {
+            deployJournal.missing(session, group);
+            uploaded(deployJournal, pom);
+            uploaded(deployJournal, jar);
+        }
+
+        try (DeployJournal deployJournal = open(true)) {
+            // metadata was not uploaded, whole group again
+            assertSame(group, deployJournal.missing(session, group));
+        }
+    }
+
+    @Test
+    void changedContentIsUploadedAgain() throws IOException {
+        try (DeployJournal deployJournal = open(false)) {
+            deployJournal.missing(session, group);
+            deployJournal.deployed(session, new DeployResult(group));
+        }
+        Files.write(jar.getFile().toPath(), "rebuilt classes".getBytes(UTF_8));
+
+        try (DeployJournal deployJournal = open(true)) {
+            assertEquals(Collections.singletonList(jar), artifacts(deployJournal.missing(session, group)));
+        }
+    }
+
+    @Test
+    void notResumingTruncatesJournal() throws IOException {
+        try (DeployJournal deployJournal = open(false)) {
+            deployJournal.missing(session, group);
+            deployJournal.deployed(session, new DeployResult(group));
+        }
+        open(false).close();
+
+        try (DeployJournal deployJournal = open(true)) {
+            assertEquals(Arrays.asList(pom, jar), artifacts(deployJournal.missing(session, group)));
+        }
+    }
+
+    private DeployJournal open(boolean resume) throws IOException {
+        return DeployJournal.open(journal, resume, URL, new SimpleLayout());
+    }
+
+    private void uploaded(DeployJournal deployJournal, Artifact artifact) {
+        TransferResource resource = new TransferResource(
+                RELEASES.getId(), URL + "/", SimpleLayout.path(artifact), artifact.getFile(), null);
+        deployJournal.transferSucceeded(new TransferEvent.Builder(session, resource)
+                .setRequestType(TransferEvent.RequestType.PUT)
+                .setType(TransferEvent.EventType.SUCCEEDED)
+                .build());
+    }
+
+    private Artifact artifact(String extension, String content) throws IOException {
+        Path file = tempDir.resolve("lib-1.0." + extension);
+        Files.write(file, content.getBytes(UTF_8));
+        return new DefaultArtifact("org.example:lib:" + extension + ":1.0").setFile(file.toFile());
+    }
+
+    private static List<Artifact> artifacts(DeployRequest deployRequest) {
+        return new ArrayList<>(deployRequest.getArtifacts());
+    }
+
+    /**
+     * Bare Maven 2 layout, enough for journal URLs.
+     */
+    private static final class SimpleLayout implements RepositoryLayout {
+        private static String path(Artifact artifact) {
+            return artifact.getGroupId().replace('.', '/') + "/" + artifact.getArtifactId() + "/"
+                    + artifact.getBaseVersion() + "/" + artifact.getArtifactId() + "-" + artifact.getVersion() + "."
+                    + artifact.getExtension();
+        }
+
+        @Override
+        public List<ChecksumAlgorithmFactory> getChecksumAlgorithmFactories() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean hasChecksums(Artifact artifact) {
+            return false;
+        }
+
+        @Override
+        public URI getLocation(Artifact artifact, boolean upload) {
+            return URI.create(path(artifact));
+        }
+
+        @Override
+        public URI getLocation(Metadata metadata, boolean upload) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ChecksumLocation> getChecksumLocations(Artifact artifact, boolean upload, URI location) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<ChecksumLocation> getChecksumLocations(Metadata metadata, boolean upload, URI location) {
+            return Collections.emptyList();
+        }
+    }
+}
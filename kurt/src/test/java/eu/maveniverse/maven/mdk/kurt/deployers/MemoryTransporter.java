@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.eclipse.aether.spi.connector.transport.GetTask;
+import org.eclipse.aether.spi.connector.transport.PeekTask;
+import org.eclipse.aether.spi.connector.transport.PutTask;
+import org.eclipse.aether.spi.connector.transport.Transporter;
+import org.eclipse.aether.spi.connector.transport.TransporterProvider;
+
+/**
+ * Read-only transporter of in-memory "remote repository", that records the locations it was asked to get.
+ */
+class MemoryTransporter implements Transporter {
+    private static final class NotFoundException extends Exception {
+        private NotFoundException(URI location) {
+            super(location.toString());
+        }
+    }
+
+    private final Map<String, byte[]> content = new ConcurrentHashMap<>();
+
+    final List<String> gets = new CopyOnWriteArrayList<>();
+
+    MemoryTransporter put(String location, String data) {
+        content.put(location, data.getBytes(UTF_8));
+        return this;
+    }
+
+    TransporterProvider provider() {
+        return (session, repository) -> this;
+    }
+
+    @Override
+    public int classify(Throwable error) {
+        return error instanceof NotFoundException ? ERROR_NOT_FOUND : ERROR_OTHER;
+    }
+
+    @Override
+    public void peek(PeekTask task) throws Exception {
+        if (!content.containsKey(task.getLocation().toString())) {
+            throw new NotFoundException(task.getLocation());
+        }
+    }
+
+    @Override
+    public void get(GetTask task) throws Exception {
+        gets.add(task.getLocation().toString());
+        byte[] data = content.get(task.getLocation().toString());
+        if (data == null) {
+            throw new NotFoundException(task.getLocation());
+        }
+        try (OutputStream out = task.newOutputStream()) {
+            out.write(data);
+        }
+    }
+
+    @Override
+    public void put(PutTask task) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PreflightCheckTest {
+    private static final RemoteRepository STAGING =
+            new RemoteRepository.Builder("staging", "default", "https://repo.example.org/staging").build();
+
+    private final RepositorySystemSession session = new DefaultRepositorySystemSession();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void comparesBySha1Sidecar() throws Exception {
+        Artifact same = artifact("lib", "jar", "classes");
+        Artifact changed = artifact("app", "jar", "classes");
+        Artifact missing = artifact("tool", "jar", "classes");
+        MemoryTransporter transporter = new MemoryTransporter()
+                .put(Sha1Layout.path(same), "classes")
+                .put(Sha1Layout.path(same) + ".sha1", ContentDigest.sha1(same.getFile()) + "  lib-1.0.jar")
+                .put(Sha1Layout.path(changed), "CLASSES")
+                .put(Sha1Layout.path(changed) + ".sha1", "0123456789abcdef0123456789abcdef01234567");
+
+        assertEquals(
+                Arrays.asList(
+                        PreflightCheck.Status.IDENTICAL,
+                        PreflightCheck.Status.DIFFERENT,
+                        PreflightCheck.Status.MISSING),
+                check(transporter, same, changed, missing));
+        assertFalse(transporter.gets.contains(Sha1Layout.path(same)));
+        assertFalse(transporter.gets.contains(Sha1Layout.path(changed)));
+    }
+
+    @Test
+    void withoutSha1SidecarChecksExistenceOnly() throws Exception {
+        Artifact signature = artifact("lib", "jar.asc", "signature");
+        Artifact missingSignature = artifact("app", "jar.sigstore.json", "signature");
+        Artifact sidecarMissing = artifact("tool", "jar", "classes");
+        MemoryTransporter transporter = new MemoryTransporter()
+                .put(Sha1Layout.path(signature), "other signature")
+                .put(Sha1Layout.path(sidecarMissing), "classes");
+
+        assertEquals(
+                Arrays.asList(
+                        PreflightCheck.Status.PRESENT, PreflightCheck.Status.MISSING, PreflightCheck.Status.PRESENT),
+                check(transporter, signature, missingSignature, sidecarMissing));
+        assertEquals(Collections.singletonList(Sha1Layout.path(sidecarMissing) + ".sha1"), transporter.gets);
+    }
+
+    @Test
+    void failureFailsCheck() throws Exception {
+        Artifact jar = artifact("lib", "jar", "classes");
+        MemoryTransporter transporter = new MemoryTransporter() {
+            @Override
+            public int classify(Throwable error) {
+                return ERROR_OTHER;
+            }
+        };
+
+        DeploymentException e = assertThrows(DeploymentException.class, () -> check(transporter, jar));
+        assertTrue(e.getMessage().startsWith("Pre-flight check of " + jar + " failed"));
+    }
+
+    private List<PreflightCheck.Status> check(MemoryTransporter transporter, Artifact... artifacts)
+            throws DeploymentException {
+        return new PreflightCheck(transporter.provider(), new Sha1Layout(), 2)
+                .check(session, STAGING, Arrays.asList(artifacts));
+    }
+
+    private Artifact artifact(String artifactId, String extension, String content) throws IOException {
+        Path file = tempDir.resolve(artifactId + "-1.0." + extension);
+        Files.write(file, content.getBytes(UTF_8));
+        return new DefaultArtifact("org.example:" + artifactId + ":" + extension + ":1.0").setFile(file.toFile());
+    }
+}
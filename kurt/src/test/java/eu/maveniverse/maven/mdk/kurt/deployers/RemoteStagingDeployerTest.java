@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.metadata.DefaultMetadata;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RemoteStagingDeployerTest {
+    private static final RemoteRepository STAGING =
+            new RemoteRepository.Builder("staging", "default", "https://repo.example.org/staging").build();
+
+    private final RepositorySystemSession session = new DefaultRepositorySystemSession();
+
+    @TempDir
+    Path tempDir;
+
+    private Artifact pom;
+
+    private Artifact jar;
+
+    private Artifact jarAsc;
+
+    private Artifact jarSigstore;
+
+    private MemoryTransporter transporter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pom = artifact("pom", "<project/>");
+        jar = artifact("jar", "classes");
+        jarAsc = artifact("jar.asc", "signature");
+        jarSigstore = artifact("jar.sigstore.json", "signature");
+        transporter = new MemoryTransporter();
+    }
+
+    @Test
+    void uploadsMissingOnly() throws Exception {
+        present(pom);
+
+        DeployRequest result = preflight(pom, jar, jarAsc);
+
+        assertEquals(Arrays.asList(jar, jarAsc), artifacts(result));
+        assertEquals(1, result.getMetadata().size());
+    }
+
+    @Test
+    void allPresentUploadsNothing() throws Exception {
+        present(pom);
+        present(jar);
+        transporter.put(Sha1Layout.path(jarAsc), "signature");
+
+        DeployRequest result = preflight(pom, jar, jarAsc);
+
+        assertTrue(result.getArtifacts().isEmpty());
+        assertTrue(result.getMetadata().isEmpty());
+    }
+
+    @Test
+    void resignedSignaturesOfSamePayloadAreSkipped() throws Exception {
+        present(pom);
+        present(jar);
+        transporter.put(Sha1Layout.path(jarAsc), "other signature");
+        transporter.put(Sha1Layout.path(jarSigstore), "other signature");
+
+        DeployRequest result = preflight(pom, jar, jarAsc, jarSigstore);
+
+        assertTrue(result.getArtifacts().isEmpty());
+        assertEquals(
+                Collections.emptyList(),
+                transporter.gets.stream().filter(l -> !l.endsWith(".sha1")).collect(Collectors.toList()));
+    }
+
+    @Test
+    void signaturesOfMissingPayloadAreUploadedAgain() throws Exception {
+        present(pom);
+        transporter.put(Sha1Layout.path(jarAsc), "other signature");
+
+        DeployRequest result = preflight(pom, jar, jarAsc);
+
+        assertEquals(Arrays.asList(jar, jarAsc), artifacts(result));
+    }
+
+    @Test
+    void payloadWithoutSidecarIsUploadedAgain() throws Exception {
+        present(pom);
+        transporter.put(Sha1Layout.path(jar), "partially uploaded");
+
+        DeployRequest result = preflight(pom, jar);
+
+        assertEquals(Collections.singletonList(jar), artifacts(result));
+    }
+
+    @Test
+    void differentPayloadFails() throws IOException {
+        present(pom);
+        transporter.put(Sha1Layout.path(jar), "CLASSES");
+        transporter.put(Sha1Layout.path(jar) + ".sha1", "0123456789abcdef0123456789abcdef01234567");
+        transporter.put(Sha1Layout.path(jarAsc), "other signature");
+
+        DeploymentException e = assertThrows(DeploymentException.class, () -> preflight(pom, jar, jarAsc));
+        assertTrue(e.getMessage().startsWith("Pre-flight check found 1 artifacts"), e.getMessage());
+    }
+
+    @Test
+    void invalidConfig() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> RemoteStagingDeployer.Config.builder(STAGING).threads(0).build());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> RemoteStagingDeployer.Config.builder(STAGING).resume(true).build());
+        RemoteStagingDeployer.Config.builder(STAGING)
+                .journal(tempDir.resolve("journal.log"))
+                .resume(true)
+                .preflight(true)
+                .threads(4)
+                .build();
+    }
+
+    private DeployRequest preflight(Artifact... artifacts) throws DeploymentException {
+        DeployRequest deployRequest = new DeployRequest();
+        deployRequest.setRepository(STAGING);
+        deployRequest.setArtifacts(Arrays.asList(artifacts));
+        deployRequest.setMetadata(Collections.singletonList(
+                new DefaultMetadata("org.example", "lib", "maven-metadata.xml", Metadata.Nature.RELEASE)));
+        RemoteStagingDeployer deployer = new RemoteStagingDeployer(
+                repositorySystem(),
+                (s, r) -> new Sha1Layout(),
+                transporter.provider(),
+                RemoteStagingDeployer.Config.builder(STAGING)
+                        .threads(2)
+                        .preflight(true)
+                        .build());
+        return deployer.preflight(session, new Sha1Layout(), deployRequest);
+    }
+
+    private void present(Artifact artifact) throws IOException {
+        transporter.put(Sha1Layout.path(artifact), "content");
+        transporter.put(Sha1Layout.path(artifact) + ".sha1", ContentDigest.sha1(artifact.getFile()));
+    }
+
+    private Artifact artifact(String extension, String content) throws IOException {
+        Path file = tempDir.resolve("lib-1.0." + extension);
+        Files.write(file, content.getBytes(UTF_8));
+        return new DefaultArtifact("org.example:lib:" + extension + ":1.0").setFile(file.toFile());
+    }
+
+    private static List<Artifact> artifacts(DeployRequest deployRequest) {
+        return new ArrayList<>(deployRequest.getArtifacts());
+    }
+
+    private static RepositorySystem repositorySystem() {
+        return (RepositorySystem) Proxy.newProxyInstance(
+                RepositorySystem.class.getClassLoader(), new Class<?>[] {RepositorySystem.class}, (proxy, m, args) -> {
+                    throw new UnsupportedOperationException(m.getName());
+                });
+    }
+}
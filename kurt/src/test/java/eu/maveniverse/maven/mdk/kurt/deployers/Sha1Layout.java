@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.internal.impl.checksum.Sha1ChecksumAlgorithmFactory;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+
+/**
+ * Bare Maven 2 layout with SHA-1 checksums, omitted for signatures, like the default one.
+ */
+final class Sha1Layout implements RepositoryLayout {
+    private static final ChecksumAlgorithmFactory SHA_1 = new Sha1ChecksumAlgorithmFactory();
+
+    static String path(Artifact artifact) {
+        return artifact.getGroupId().replace('.', '/') + "/" + artifact.getArtifactId() + "/"
+                + artifact.getBaseVersion() + "/" + artifact.getArtifactId() + "-" + artifact.getVersion()
+                + (artifact.getClassifier().isEmpty() ? "" : "-" + artifact.getClassifier()) + "."
+                + artifact.getExtension();
+    }
+
+    @Override
+    public List<ChecksumAlgorithmFactory> getChecksumAlgorithmFactories() {
+        return Collections.singletonList(SHA_1);
+    }
+
+    @Override
+    public boolean hasChecksums(Artifact artifact) {
+        return !artifact.getExtension().endsWith(".asc")
+                && !artifact.getExtension().endsWith(".sigstore.json");
+    }
+
+    @Override
+    public URI getLocation(Artifact artifact, boolean upload) {
+        return URI.create(path(artifact));
+    }
+
+    @Override
+    public URI getLocation(Metadata metadata, boolean upload) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<ChecksumLocation> getChecksumLocations(Artifact artifact, boolean upload, URI location) {
+        return hasChecksums(artifact)
+                ? Collections.singletonList(ChecksumLocation.forLocation(location, SHA_1))
+                : Collections.emptyList();
+    }
+
+    @Override
+    public List<ChecksumLocation> getChecksumLocations(Metadata metadata, boolean upload, URI location) {
+        return Collections.emptyList();
+    }
+}
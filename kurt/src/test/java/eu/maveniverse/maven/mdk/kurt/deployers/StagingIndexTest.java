@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StagingIndexTest {
+    private static final String JAR = "org/example/lib/1.0/lib-1.0.jar";
+
+    private static final String POM = "org/example/lib/1.0/lib-1.0.pom";
+
+    @TempDir
+    Path tempDir;
+
+    private Path stagingDirectory;
+
+    private Path jar;
+
+    private Path pom;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stagingDirectory = tempDir.resolve("staging");
+        jar = write("lib-1.0.jar", "classes");
+        pom = write("lib-1.0.pom", "<project/>");
+    }
+
+    @Test
+    void firstRunStagesEverything() throws IOException {
+        StagingIndex index = StagingIndex.load(stagingDirectory);
+        assertTrue(index.record(JAR, jar, staged(JAR)));
+        assertTrue(index.record(POM, pom, staged(POM)));
+        assertTrue(index.removed().isEmpty());
+    }
+
+    @Test
+    void unchangedIsNotStagedAgain() throws IOException {
+        stageAll();
+
+        StagingIndex index = StagingIndex.load(stagingDirectory);
+        assertFalse(index.record(JAR, jar, staged(JAR)));
+        assertFalse(index.record(POM, pom, staged(POM)));
+    }
+
+    @Test
+    void touchedButSameContentIsNotStagedAgain() throws IOException {
+        stageAll();
+        Files.setLastModifiedTime(
+                jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 10_000));
+
+        StagingIndex index = StagingIndex.load(stagingDirectory);
+        assertFalse(index.record(JAR, jar, staged(JAR)));
+    }
+
+    @Test
+    void changedIsStagedAgain() throws IOException {
+        stageAll();
+        FileTime lastModified = Files.getLastModifiedTime(jar);
+        write("lib-1.0.jar", "CLASSES");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(lastModified.toMillis() + 10_000));
+
+        StagingIndex index = StagingIndex.load(stagingDirectory);
+        assertTrue(index.record(JAR, jar, staged(JAR)));
+        assertFalse(index.record(POM, pom, staged(POM)));
+    }
+
+    @Test
+    void missingStagedCopyIsStagedAgain() throws IOException {
+        stageAll();
+        Files.delete(staged(JAR));
+
+        StagingIndex index = StagingIndex.load(stagingDirectory);
+        assertTrue(index.record(JAR, jar, staged(JAR)));
+    }
+
+    @Test
+    void notRecordedIsRemoved() throws IOException {
+        stageAll();
+
+        StagingIndex index = StagingIndex.load(stagingDirectory);
+        index.record(POM, pom, staged(POM));
+        assertEquals(Collections.singleton(JAR), index.removed());
+    }
+
+    @Test
+    void malformedIndexMeansFullStaging() throws IOException {
+        stageAll();
+        Files.write(tempDir.resolve("staging.index"), "garbage\n".getBytes(UTF_8));
+
+        StagingIndex index = StagingIndex.load(stagingDirectory);
+        assertTrue(index.record(JAR, jar, staged(JAR)));
+        assertTrue(index.removed().isEmpty());
+    }
+
+    @Test
+    void indexWithoutStagingDirectoryIsIgnored() throws IOException {
+        stageAll();
+        Files.move(stagingDirectory, tempDir.resolve("elsewhere"));
+
+        StagingIndex index = StagingIndex.load(stagingDirectory);
+        assertTrue(index.removed().isEmpty());
+        assertTrue(index.record(POM, pom, staged(POM)));
+    }
+
+    /**
+     * Runs a full staging, saving the index.
+     */
+    private void stageAll() throws IOException {
+        StagingIndex index = StagingIndex.load(stagingDirectory);
+        stage(index, JAR, jar);
+        stage(index, POM, pom);
+        index.save();
+    }
+
+    private void stage(StagingIndex index, String location, Path artifactFile) throws IOException {
+        if (index.record(location, artifactFile, staged(location))) {
+            Files.createDirectories(staged(location).getParent());
+            Files.copy(artifactFile, staged(location), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path staged(String location) {
+        return stagingDirectory.resolve(location);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(tempDir.resolve(name), content.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StagingManifestTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTrip() throws IOException {
+        Path stagingDirectory = tempDir.resolve("staging");
+        Artifact jar = artifact("jar", "classes");
+        Artifact signature = artifact("jar.sigstore.json", "signature");
+        Artifact unhashed = artifact("pom", "<project/>");
+        Path sha1 = stagingDirectory.resolve("org/example/lib/1.0/lib-1.0.jar.sha1");
+        Files.createDirectories(sha1.getParent());
+        Files.write(sha1, "0123456789abcdef  lib-1.0.jar\n".getBytes(UTF_8));
+
+        Path file = StagingManifest.write(stagingDirectory, new Sha1Layout(), Arrays.asList(jar, signature, unhashed));
+
+        assertEquals(tempDir.resolve("staging.manifest"), file);
+        List<StagingManifest.Entry> entries = StagingManifest.read(file);
+        assertEquals(3, entries.size());
+        assertEquals("org.example:lib:jar:1.0", entries.get(0).getCoordinates());
+        assertEquals("org/example/lib/1.0/lib-1.0.jar", entries.get(0).getPath());
+        assertEquals(7, entries.get(0).getSize());
+        assertEquals("0123456789abcdef", entries.get(0).getSha1());
+        assertFalse(entries.get(0).isWithoutChecksums());
+        assertEquals("", entries.get(1).getSha1());
+        assertTrue(entries.get(1).isWithoutChecksums());
+        assertEquals("", entries.get(2).getSha1());
+        assertFalse(entries.get(2).isWithoutChecksums());
+    }
+
+    @Test
+    void malformed() throws IOException {
+        Path file = Files.write(tempDir.resolve("staging.manifest"), "a\tb\tc\n".getBytes(UTF_8));
+        assertThrows(IOException.class, () -> StagingManifest.read(file));
+    }
+
+    private Artifact artifact(String extension, String content) throws IOException {
+        Path file = tempDir.resolve("lib-1.0." + extension);
+        Files.write(file, content.getBytes(UTF_8));
+        return new DefaultArtifact("org.example:lib:" + extension + ":1.0").setFile(file.toFile());
+    }
+}
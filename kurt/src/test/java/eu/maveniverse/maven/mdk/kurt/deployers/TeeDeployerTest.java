@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.deployers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import eu.maveniverse.maven.mdk.kurt.checksums.ChecksumCache;
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeployResult;
+import org.eclipse.aether.internal.impl.checksum.Sha1ChecksumAlgorithmFactory;
+import org.eclipse.aether.internal.impl.checksum.Sha256ChecksumAlgorithmFactory;
+import org.eclipse.aether.metadata.AbstractMetadata;
+import org.eclipse.aether.metadata.MergeableMetadata;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TeeDeployerTest {
+    private static final ChecksumAlgorithmFactory SHA_1 = new Sha1ChecksumAlgorithmFactory();
+
+    private static final ChecksumAlgorithmFactory SHA_256 = new Sha256ChecksumAlgorithmFactory();
+
+    private static final RemoteRepository RELEASES = repository("releases");
+
+    private static final RemoteRepository MIRROR = repository("mirror");
+
+    private static final RemoteRepository SECURE = repository("secure");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void checksumsAndMetadataPerTarget() throws Exception {
+        Path file = Files.write(tempDir.resolve("lib-1.0.jar"), "classes".getBytes(UTF_8));
+        Artifact jar = new DefaultArtifact("org.example:lib:jar:1.0").setFile(file.toFile());
+        Metadata metadata = new MergeableTestMetadata();
+        DeployRequest deployRequest = new DeployRequest();
+        deployRequest.setRepository(RELEASES);
+        deployRequest.addArtifact(jar);
+        deployRequest.addMetadata(metadata);
+        Map<String, DeployRequest> deployed = new ConcurrentHashMap<>();
+        RepositoryLayoutProvider layoutProvider = (session, repository) -> new ChecksumsLayout(
+                SECURE.equals(repository) ? Arrays.asList(SHA_1, SHA_256) : Collections.singletonList(SHA_1));
+        TeeDeployer teeDeployer = new TeeDeployer(
+                layoutProvider, new DeployEngine(repositorySystem(deployed), 1), Arrays.asList(MIRROR, SECURE), 2);
+
+        try (ChecksumCache checksumCache = new ChecksumCache(layoutProvider, tempDir.resolve("checksums"), 2)) {
+            teeDeployer.deployAll(
+                    new DefaultRepositorySystemSession(),
+                    checksumCache,
+                    Collections.singletonMap(RELEASES, deployRequest));
+        }
+
+        assertEquals(Arrays.asList("jar", "jar.sha1"), extensions(deployed.get("releases")));
+        assertEquals(Arrays.asList("jar", "jar.sha1"), extensions(deployed.get("mirror")));
+        assertEquals(Arrays.asList("jar", "jar.sha1", "jar.sha256"), extensions(deployed.get("secure")));
+        Metadata releasesMetadata =
+                deployed.get("releases").getMetadata().iterator().next();
+        Metadata mirrorMetadata =
+                deployed.get("mirror").getMetadata().iterator().next();
+        Metadata secureMetadata =
+                deployed.get("secure").getMetadata().iterator().next();
+        assertNotSame(releasesMetadata, mirrorMetadata);
+        assertNotSame(releasesMetadata, secureMetadata);
+        assertNotSame(mirrorMetadata, secureMetadata);
+        assertEquals(metadata, mirrorMetadata);
+    }
+
+    private static List<String> extensions(DeployRequest deployRequest) {
+        return deployRequest.getArtifacts().stream().map(Artifact::getExtension).collect(Collectors.toList());
+    }
+
+    private static RemoteRepository repository(String id) {
+        return new RemoteRepository.Builder(id, "default", "https://repo.example.org/" + id).build();
+    }
+
+    /**
+     * Repository system that records deploy requests per repository id.
+     */
+    private static RepositorySystem repositorySystem(Map<String, DeployRequest> deployed) {
+        return (RepositorySystem) Proxy.newProxyInstance(
+                RepositorySystem.class.getClassLoader(), new Class<?>[] {RepositorySystem.class}, (proxy, m, args) -> {
+                    if (!"deploy".equals(m.getName())) {
+                        throw new UnsupportedOperationException(m.getName());
+                    }
+                    DeployRequest request = (DeployRequest) args[1];
+                    deployed.put(request.getRepository().getId(), request);
+                    return new DeployResult(request);
+                });
+    }
+
+    /**
+     * Metadata that, like Maven metadata, is mutated when merged, and is copied by {@link #setFile(File)}.
+     */
+    private static final class MergeableTestMetadata extends AbstractMetadata implements MergeableMetadata {
+        private boolean merged;
+
+        @Override
+        public void merge(File current, File result) {
+            merged = true;
+        }
+
+        @Override
+        public boolean isMerged() {
+            return merged;
+        }
+
+        @Override
+        public Metadata setFile(File file) {
+            return new MergeableTestMetadata();
+        }
+
+        @Override
+        public String getGroupId() {
+            return "org.example";
+        }
+
+        @Override
+        public String getArtifactId() {
+            return "lib";
+        }
+
+        @Override
+        public String getVersion() {
+            return "";
+        }
+
+        @Override
+        public String getType() {
+            return "maven-metadata.xml";
+        }
+
+        @Override
+        public Nature getNature() {
+            return Nature.RELEASE;
+        }
+
+        @Override
+        public File getFile() {
+            return null;
+        }
+
+        @Override
+        public Map<String, String> getProperties() {
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Bare Maven 2 layout with given checksum algorithms.
+     */
+    private static final class ChecksumsLayout implements RepositoryLayout {
+        private final List<ChecksumAlgorithmFactory> factories;
+
+        private ChecksumsLayout(List<ChecksumAlgorithmFactory> factories) {
+            this.factories = factories;
+        }
+
+        @Override
+        public List<ChecksumAlgorithmFactory> getChecksumAlgorithmFactories() {
+            return factories;
+        }
+
+        @Override
+        public boolean hasChecksums(Artifact artifact) {
+            return true;
+        }
+
+        @Override
+        public URI getLocation(Artifact artifact, boolean upload) {
+            return URI.create(Sha1Layout.path(artifact));
+        }
+
+        @Override
+        public URI getLocation(Metadata metadata, boolean upload) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ChecksumLocation> getChecksumLocations(Artifact artifact, boolean upload, URI location) {
+            return factories.stream()
+                    .map(f -> ChecksumLocation.forLocation(location, f))
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public List<ChecksumLocation> getChecksumLocations(Metadata metadata, boolean upload, URI location) {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.mdk.kurt.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.junit.jupiter.api.Test;
+
+public class TransferThrottleTest {
+    private static final int KB = 1024;
+
+    @Test
+    void parseBytes() {
+        assertEquals(0, TransferThrottle.parseBytes(null));
+        assertEquals(0, TransferThrottle.parseBytes(" "));
+        assertEquals(0, TransferThrottle.parseBytes("0"));
+        assertEquals(1000, TransferThrottle.parseBytes("1000"));
+        assertEquals(512 * KB, TransferThrottle.parseBytes("512k"));
+        assertEquals(10L * KB * KB, TransferThrottle.parseBytes(" 10 M "));
+        assertEquals(2L * KB * KB * KB, TransferThrottle.parseBytes("2g"));
+    }
+
+    @Test
+    void parseBytesRejectsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> TransferThrottle.parseBytes("-5m"));
+        assertThrows(IllegalArgumentException.class, () -> TransferThrottle.parseBytes("-1"));
+        assertThrows(IllegalArgumentException.class, () -> TransferThrottle.parseBytes("10x"));
+        assertThrows(IllegalArgumentException.class, () -> TransferThrottle.parseBytes("k"));
+        assertThrows(IllegalArgumentException.class, () -> TransferThrottle.parseBytes("99999999999g"));
+    }
+
+    @Test
+    void burstGoesAtFullSpeedThenRateApplies() throws TransferCancelledException {
+        // 1 MB/s, 64 KB burst
+        TransferThrottle throttle = new TransferThrottle(KB * KB, 0, 64 * KB);
+        String url = "https://repo.example.org/releases";
+
+        long burst = elapsedMillis(throttle, url, 64 * KB);
+        long throttled = elapsedMillis(throttle, url, 256 * KB);
+
+        assertTrue(burst < 100, "burst took " + burst + " ms");
+        // 256 KB at 1 MB/s is 250 ms
+        assertTrue(throttled >= 200, "throttled took " + throttled + " ms");
+    }
+
+    @Test
+    void hostsAreThrottledSeparately() throws TransferCancelledException {
+        TransferThrottle throttle = new TransferThrottle(0, KB * KB, 64 * KB);
+
+        long first = elapsedMillis(throttle, "https://one.example.org/releases", 64 * KB);
+        long second = elapsedMillis(throttle, "https://two.example.org/releases", 64 * KB);
+
+        assertTrue(first < 100, "first host took " + first + " ms");
+        assertTrue(second < 100, "second host took " + second + " ms");
+    }
+
+    @Test
+    void localTransfersAreNotThrottled() throws TransferCancelledException {
+        TransferThrottle throttle = new TransferThrottle(KB, KB, KB);
+
+        long local = elapsedMillis(throttle, "file:///tmp/repository", 256 * KB);
+
+        assertTrue(local < 100, "local took " + local + " ms");
+    }
+
+    private static long elapsedMillis(TransferThrottle throttle, String url, int length)
+            throws TransferCancelledException {
+        TransferEvent event = new TransferEvent.Builder(
+                        new DefaultRepositorySystemSession(),
+                        new TransferResource("test", url, "org/example/lib/1.0/lib-1.0.jar", null, null))
+                .setType(TransferEvent.EventType.PROGRESSED)
+                .setDataBuffer(ByteBuffer.allocate(length))
+                .build();
+        long start = System.nanoTime();
+        throttle.transferProgressed(event);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
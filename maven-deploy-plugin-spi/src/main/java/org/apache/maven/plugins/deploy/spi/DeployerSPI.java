@@ -19,6 +19,8 @@
 package org.apache.maven.plugins.deploy.spi;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.deployment.DeployRequest;
 import org.eclipse.aether.deployment.DeploymentException;
@@ -35,4 +37,23 @@ public interface DeployerSPI {
      */
     boolean deploy(RepositorySystemSession session, DeployRequest deployRequest)
             throws DeploymentException, IOException;
+
+    /**
+     * Asynchronous variant of {@link #deploy(RepositorySystemSession, DeployRequest)}: the returned stage completes
+     * with the value the synchronous method would return, or exceptionally with the exception it would throw. The
+     * caller is released as soon as this method returns, hence implementations performing network I/O should
+     * override this method and deploy off the calling thread.
+     * <p>
+     * The default implementation adapts the synchronous method: it deploys on the calling thread and returns an
+     * already completed stage.
+     */
+    default CompletionStage<Boolean> deployAsync(RepositorySystemSession session, DeployRequest deployRequest) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        try {
+            result.complete(deploy(session, deployRequest));
+        } catch (DeploymentException | IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+def remote = new File( basedir, "remote/org/apache/maven/its/deploy/repo" )
+
+assert new File( remote, "lib/1.0/lib-1.0.pom" ).exists()
+assert new File( remote, "lib/1.0/lib-1.0.jar" ).exists()
+assert new File( remote, "lib/1.0/lib-1.0-sources.jar" ).exists()
+assert new File( remote, "lib/1.1/lib-1.1.pom" ).exists()
+assert new File( remote, "lib/1.1/lib-1.1.jar" ).exists()
+// versions of same GA are deployed one after the other, metadata lists all of them
+def metadata = new groovy.xml.XmlSlurper().parse( new File( remote, "lib/maven-metadata.xml" ) )
+def versions = metadata.versioning.versions.version*.text()
+assert versions.contains( "1.0" )
+assert versions.contains( "1.1" )
+// checksums are calculated, not copied
+assert new File( remote, "lib/1.0/lib-1.0.jar.sha1" ).text != "0000\n"
+// snapshots are skipped
+assert !new File( remote, "lib/2.0-SNAPSHOT" ).exists()
+// existing versions are skipped
+assert new File( remote, "other/1.0/other-1.0.jar" ).text == "existing\n"
+assert !new File( remote, "other/maven-metadata.xml" ).exists()
@@ -21,7 +21,16 @@ package org.apache.maven.plugins.deploy;
 import javax.inject.Inject;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
@@ -58,6 +67,24 @@ public abstract class AbstractDeployMojo extends AbstractMojo {
     @Parameter(property = "retryFailedDeploymentCount", defaultValue = "1")
     private int retryFailedDeploymentCount;
 
+    /**
+     * Initial delay in milliseconds before retrying a failed deployment. Delay doubles with each subsequent retry
+     * (up to one minute), and is randomized to avoid retry storms. Value of {@code 0} retries without delay.
+     *
+     * @since 3.2.0
+     */
+    @Parameter(property = "retryBackoff", defaultValue = "1000")
+    private int retryBackoff;
+
+    /**
+     * Total number of retries all deployments of the session may perform together. Once used up, failed deployments
+     * are no longer retried, regardless of {@code retryFailedDeploymentCount}.
+     *
+     * @since 3.2.0
+     */
+    @Parameter(property = "retryBudget", defaultValue = "20")
+    private int retryBudget;
+
     @Component
     private RuntimeInformation runtimeInformation;
 
@@ -128,15 +155,29 @@ public abstract class AbstractDeployMojo extends AbstractMojo {
         return result;
     }
 
+    private void configureDeployers() {
+        RepositorySystemSession repositorySystemSession = session.getRepositorySession();
+        repositorySystemSession
+                .getData()
+                .set(FallbackDeployerSPI.RETRY_FAILED_DEPLOYMENT_COUNT, retryFailedDeploymentCount);
+        repositorySystemSession.getData().set(FallbackDeployerSPI.RETRY_BACKOFF, retryBackoff);
+        repositorySystemSession.getData().set(FallbackDeployerSPI.RETRY_BUDGET, retryBudget);
+    }
+
     protected void deploy(DeployRequest deployRequest) throws MojoExecutionException {
         try {
-            RepositorySystemSession repositorySystemSession = session.getRepositorySession();
-            repositorySystemSession
-                    .getData()
-                    .set(FallbackDeployerSPI.RETRY_FAILED_DEPLOYMENT_COUNT, retryFailedDeploymentCount);
+            configureDeployers();
             boolean accepted = false;
             for (DeployerSPI deployerSPI : deployers) {
-                accepted = deployerSPI.deploy(session.getRepositorySession(), deployRequest);
+                DeployEvents.Span span = DeployEvents.get()
+                        .deployerSPI(
+                                deployerSPI.getClass().getName(),
+                                deployRequest.getRepository().getId());
+                try {
+                    accepted = deployerSPI.deploy(session.getRepositorySession(), deployRequest);
+                } finally {
+                    span.commit(accepted, deployRequest.getArtifacts().size());
+                }
                 if (accepted) {
                     break;
                 }
@@ -148,4 +189,125 @@ public abstract class AbstractDeployMojo extends AbstractMojo {
             throw new MojoExecutionException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Asynchronous variant of {@link #deploy(DeployRequest)}: SPI components are asked in order, using
+     * {@link DeployerSPI#deployAsync(RepositorySystemSession, DeployRequest)}. The returned stage completes
+     * exceptionally with {@link MojoExecutionException} if deploy failed.
+     *
+     * @since 3.2.0
+     */
+    protected CompletionStage<Void> deployAsync(DeployRequest deployRequest) {
+        configureDeployers();
+        CompletionStage<Boolean> result = CompletableFuture.completedFuture(false);
+        for (DeployerSPI deployerSPI : deployers) {
+            result = result.thenCompose(accepted ->
+                    accepted ? CompletableFuture.completedFuture(true) : deployAsync(deployerSPI, deployRequest));
+        }
+        return result.handle((accepted, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                throw new CompletionException(new MojoExecutionException(cause.getMessage(), cause));
+            } else if (!accepted) {
+                throw new CompletionException(
+                        new MojoExecutionException("No deployer SPI accepted the deploy: failed to deploy"));
+            }
+            return null;
+        });
+    }
+
+    private CompletionStage<Boolean> deployAsync(DeployerSPI deployerSPI, DeployRequest deployRequest) {
+        DeployEvents.Span span = DeployEvents.get()
+                .deployerSPI(
+                        deployerSPI.getClass().getName(),
+                        deployRequest.getRepository().getId());
+        CompletionStage<Boolean> stage;
+        try {
+            stage = deployerSPI.deployAsync(session.getRepositorySession(), deployRequest);
+        } catch (RuntimeException e) {
+            CompletableFuture<Boolean> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            stage = failed;
+        }
+        return stage.whenComplete((accepted, e) ->
+                span.commit(e == null && accepted, deployRequest.getArtifacts().size()));
+    }
+
+    /**
+     * Task of {@link #forEach(List, int, Task, String)}.
+     *
+     * @param <T> the item type
+     * @param <R> the result type
+     * @since 3.2.0
+     */
+    @FunctionalInterface
+    protected interface Task<T, R> {
+        R apply(T item) throws MojoExecutionException;
+    }
+
+    /**
+     * Applies task to every item, using up to given count of threads, and returns results in item order. Unlike
+     * serial loop, it does not stop at first failure: all failures are collected and reported together.
+     *
+     * @since 3.2.0
+     */
+    protected <T, R> List<R> forEach(List<T> items, int threads, Task<T, R> task, String message)
+            throws MojoExecutionException {
+        List<R> results = new ArrayList<>(items.size());
+        List<MojoExecutionException> failures = new ArrayList<>();
+        if (Math.min(threads, items.size()) <= 1) {
+            for (T item : items) {
+                try {
+                    results.add(task.apply(item));
+                } catch (MojoExecutionException e) {
+                    failures.add(e);
+                }
+            }
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, items.size()), r -> {
+                Thread thread = new Thread(r, "deploy-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<R>> futures = new ArrayList<>(items.size());
+                for (T item : items) {
+                    futures.add(executor.submit(() -> task.apply(item)));
+                }
+                for (Future<R> future : futures) {
+                    try {
+                        results.add(future.get());
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof MojoExecutionException) {
+                            failures.add((MojoExecutionException) e.getCause());
+                        } else {
+                            failures.add(new MojoExecutionException(e.getCause().getMessage(), e.getCause()));
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MojoExecutionException("Interrupted while deploying", e);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        if (failures.size() == 1) {
+            throw failures.get(0);
+        } else if (!failures.isEmpty()) {
+            StringBuilder sb = new StringBuilder(message)
+                    .append(": ")
+                    .append(failures.size())
+                    .append(" failures");
+            for (MojoExecutionException failure : failures) {
+                sb.append("\n  - ").append(failure.getMessage());
+            }
+            MojoExecutionException exception = new MojoExecutionException(sb.toString(), failures.get(0));
+            failures.subList(1, failures.size()).forEach(exception::addSuppressed);
+            throw exception;
+        }
+        return results;
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.deploy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Session scoped index of reactor projects using this plugin, for "deploy at end" bookkeeping. Projects using the
+ * plugin are computed once per session, and are counted down as they are processed, so the last processed project
+ * triggers deploy in constant time, even in huge reactors. Deployment repositories of projects to be deployed at end
+ * are resolved as projects are processed, and are cached here.
+ *
+ * @since 3.2.0
+ */
+final class DeployAtEndIndex {
+    private static final String KEY = DeployAtEndIndex.class.getName();
+
+    private final List<MavenProject> projectsUsingPlugin;
+
+    private final Set<MavenProject> unprocessed;
+
+    private final AtomicInteger remaining;
+
+    private final ConcurrentHashMap<MavenProject, RemoteRepository> toBeDeployed;
+
+    /**
+     * Returns the index of current session, creating it if needed.
+     */
+    static DeployAtEndIndex get(MavenSession session, List<MavenProject> reactorProjects) {
+        return (DeployAtEndIndex) session.getRepositorySession()
+                .getData()
+                .computeIfAbsent(KEY, () -> new DeployAtEndIndex(reactorProjects));
+    }
+
+    private DeployAtEndIndex(List<MavenProject> reactorProjects) {
+        ArrayList<MavenProject> result = new ArrayList<>();
+        for (MavenProject reactorProject : reactorProjects) {
+            if (hasExecution(reactorProject.getPlugin("org.apache.maven.plugins:maven-deploy-plugin"))) {
+                result.add(reactorProject);
+            }
+        }
+        this.projectsUsingPlugin = Collections.unmodifiableList(result);
+        this.unprocessed = ConcurrentHashMap.newKeySet();
+        this.unprocessed.addAll(result);
+        this.remaining = new AtomicInteger(result.size());
+        this.toBeDeployed = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records project to be deployed at end, with its deployment repository.
+     */
+    void toBeDeployed(MavenProject project, RemoteRepository repository) {
+        toBeDeployed.put(project, repository);
+    }
+
+    /**
+     * Marks project as processed, and returns {@code true} if all projects using the plugin are processed, and
+     * deploy at end should happen.
+     */
+    boolean processed(MavenProject project) {
+        if (unprocessed.remove(project)) {
+            return remaining.decrementAndGet() == 0;
+        }
+        return remaining.get() == 0;
+    }
+
+    /**
+     * Removes and returns the deployment repository of project, if project is to be deployed at end, otherwise
+     * {@code null}.
+     */
+    RemoteRepository takeToBeDeployed(MavenProject project) {
+        return toBeDeployed.remove(project);
+    }
+
+    /**
+     * Returns the projects using the plugin, in reactor order.
+     */
+    List<MavenProject> getProjectsUsingPlugin() {
+        return projectsUsingPlugin;
+    }
+
+    private static boolean hasExecution(Plugin plugin) {
+        if (plugin == null) {
+            return false;
+        }
+
+        for (PluginExecution execution : plugin.getExecutions()) {
+            if (!execution.getGoals().isEmpty() && !"none".equalsIgnoreCase(execution.getPhase())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
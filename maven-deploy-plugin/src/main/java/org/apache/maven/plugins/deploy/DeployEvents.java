@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.deploy;
+
+/**
+ * Deploy events. If JFR is available (Java 11+), events are emitted as JFR events (see {@code JfrDeployEvents} in
+ * {@code src/main/java11}), otherwise all of them are no-op. As plugin is built for Java 8, JFR implementation is
+ * compiled separately, and is loaded reflectively.
+ *
+ * @since 3.2.0
+ */
+abstract class DeployEvents {
+    interface Span {
+        /**
+         * Commits the event. The meaning of {@code count} depends on event: artifact count or attempt number.
+         */
+        void commit(boolean succeeded, long count);
+    }
+
+    static final Span NOOP = (succeeded, count) -> {};
+
+    private static final DeployEvents INSTANCE = create();
+
+    static DeployEvents get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Event of one {@link org.apache.maven.plugins.deploy.spi.DeployerSPI} offered a deploy request.
+     */
+    abstract Span deployerSPI(String deployer, String repository);
+
+    /**
+     * Event of one deployment attempt of {@link FallbackDeployerSPI}.
+     */
+    abstract Span deployAttempt(String repository, int maxAttempts);
+
+    private static DeployEvents create() {
+        try {
+            Class.forName("jdk.jfr.Event", false, DeployEvents.class.getClassLoader());
+            return (DeployEvents) Class.forName(DeployEvents.class.getPackage().getName() + ".JfrDeployEvents")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new Noop();
+        }
+    }
+
+    private static final class Noop extends DeployEvents {
+        @Override
+        Span deployerSPI(String deployer, String repository) {
+            return NOOP;
+        }
+
+        @Override
+        Span deployAttempt(String repository, int maxAttempts) {
+            return NOOP;
+        }
+    }
+}
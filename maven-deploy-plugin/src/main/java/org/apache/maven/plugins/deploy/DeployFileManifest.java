@@ -0,0 +1,360 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.deploy;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Manifest of {@link DeployFileMojo} bulk mode: lists the artifacts to deploy, one entry per line. Manifests with
+ * {@code .jsonl} or {@code .ndjson} extension are read as JSON lines, any other as CSV, except {@code .json} ones,
+ * that are refused, as plain JSON documents are not supported. Blank lines and lines starting with {@code #} are
+ * ignored. Relative paths are resolved against the directory of the manifest.
+ * <p>
+ * CSV columns, in this order (only {@code file} is mandatory, trailing columns may be omitted):
+ * {@code groupId,artifactId,version,packaging,file,pom,sources,javadoc,classifiers}, where {@code classifiers} is a
+ * {@code ;} separated list of {@code classifier=file} pairs. Values may be enclosed in double quotes. A first line
+ * starting with {@code groupId,} is considered a header, and is skipped.
+ * <p>
+ * JSON lines have same keys, and {@code classifiers} is an object mapping classifier to file, for example:
+ * <pre>
+ * {"groupId": "org.example", "artifactId": "lib", "version": "1.0", "file": "lib-1.0.jar",
+ *  "sources": "lib-1.0-sources.jar", "classifiers": {"tests": "lib-1.0-tests.jar"}}
+ * </pre>
+ * (shown wrapped, but must be on one line in the manifest).
+ *
+ * @since 3.2.0
+ */
+final class DeployFileManifest {
+    private DeployFileManifest() {}
+
+    /**
+     * One entry of the manifest.
+     */
+    static final class Entry {
+        final int line;
+
+        String groupId;
+
+        String artifactId;
+
+        String version;
+
+        String packaging;
+
+        File file;
+
+        File pomFile;
+
+        File sources;
+
+        File javadoc;
+
+        final Map<String, File> classifiers = new LinkedHashMap<>();
+
+        Entry(int line) {
+            this.line = line;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + " (" + groupId + ":" + artifactId + ":" + version + ")";
+        }
+    }
+
+    /**
+     * Reads manifest entries. Format errors are reported right away, as {@link IllegalArgumentException} telling the
+     * offending line.
+     */
+    static List<Entry> read(File manifest) throws IOException {
+        String name = manifest.getName().toLowerCase(Locale.ENGLISH);
+        if (name.endsWith(".json")) {
+            throw new IllegalArgumentException("Invalid manifest " + manifest
+                    + ": JSON manifest must be JSON lines, one object per line, with .jsonl or .ndjson extension");
+        }
+        boolean json = name.endsWith(".jsonl") || name.endsWith(".ndjson");
+        File basedir = manifest.getAbsoluteFile().getParentFile();
+        List<Entry> result = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(manifest.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty()
+                        || line.startsWith("#")
+                        || (!json && result.isEmpty() && line.startsWith("groupId,"))) {
+                    continue;
+                }
+                try {
+                    result.add(json ? fromJson(basedir, lineNumber, line) : fromCsv(basedir, lineNumber, line));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(
+                            "Invalid manifest " + manifest + " at line " + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Entry fromCsv(File basedir, int lineNumber, String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() > 9) {
+            throw new IllegalArgumentException("too many columns: " + values.size());
+        }
+        while (values.size() < 9) {
+            values.add("");
+        }
+        Entry entry = new Entry(lineNumber);
+        entry.groupId = value(values.get(0));
+        entry.artifactId = value(values.get(1));
+        entry.version = value(values.get(2));
+        entry.packaging = value(values.get(3));
+        entry.file = file(basedir, values.get(4));
+        entry.pomFile = file(basedir, values.get(5));
+        entry.sources = file(basedir, values.get(6));
+        entry.javadoc = file(basedir, values.get(7));
+        for (String pair : values.get(8).split(";")) {
+            if (!pair.trim().isEmpty()) {
+                int eq = pair.indexOf('=');
+                if (eq < 1) {
+                    throw new IllegalArgumentException("classifiers must be classifier=file pairs: " + pair);
+                }
+                entry.classifiers.put(pair.substring(0, eq).trim(), file(basedir, pair.substring(eq + 1)));
+            }
+        }
+        return entry;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> result = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                result.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quote");
+        }
+        result.add(value.toString());
+        return result;
+    }
+
+    private static Entry fromJson(File basedir, int lineNumber, String line) {
+        Json json = new Json(line);
+        Map<String, Object> object = json.object();
+        json.end();
+        Entry entry = new Entry(lineNumber);
+        for (Map.Entry<String, Object> member : object.entrySet()) {
+            Object value = member.getValue();
+            if ("classifiers".equals(member.getKey())) {
+                if (!(value instanceof Map)) {
+                    throw new IllegalArgumentException("classifiers must be an object");
+                }
+                for (Map.Entry<?, ?> classifier : ((Map<?, ?>) value).entrySet()) {
+                    if (!(classifier.getValue() instanceof String)) {
+                        throw new IllegalArgumentException("classifier " + classifier.getKey() + " must be a string");
+                    }
+                    entry.classifiers.put((String) classifier.getKey(), file(basedir, (String) classifier.getValue()));
+                }
+                continue;
+            }
+            if (!(value instanceof String)) {
+                throw new IllegalArgumentException(member.getKey() + " must be a string");
+            }
+            String string = (String) value;
+            switch (member.getKey()) {
+                case "groupId":
+                    entry.groupId = value(string);
+                    break;
+                case "artifactId":
+                    entry.artifactId = value(string);
+                    break;
+                case "version":
+                    entry.version = value(string);
+                    break;
+                case "packaging":
+                    entry.packaging = value(string);
+                    break;
+                case "file":
+                    entry.file = file(basedir, string);
+                    break;
+                case "pom":
+                    entry.pomFile = file(basedir, string);
+                    break;
+                case "sources":
+                    entry.sources = file(basedir, string);
+                    break;
+                case "javadoc":
+                    entry.javadoc = file(basedir, string);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown key " + member.getKey());
+            }
+        }
+        return entry;
+    }
+
+    private static String value(String value) {
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static File file(File basedir, String path) {
+        path = value(path);
+        if (path == null) {
+            return null;
+        }
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(basedir, path);
+    }
+
+    /**
+     * Minimal JSON reader, for objects having string or object values, as used by manifest lines.
+     */
+    private static final class Json {
+        private final String text;
+
+        private int pos;
+
+        private Json(String text) {
+            this.text = text;
+        }
+
+        private Map<String, Object> object() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            expect('{');
+            if (peek() == '}') {
+                pos++;
+                return result;
+            }
+            do {
+                String key = string();
+                expect(':');
+                result.put(key, peek() == '{' ? object() : string());
+            } while (next(',', '}') == ',');
+            return result;
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                } else if (c == '\\') {
+                    if (pos >= text.length()) {
+                        break;
+                    }
+                    char e = text.charAt(pos++);
+                    switch (e) {
+                        case 'n':
+                            sb.append('\n');
+                            break;
+                        case 't':
+                            sb.append('\t');
+                            break;
+                        case 'r':
+                            sb.append('\r');
+                            break;
+                        case 'b':
+                            sb.append('\b');
+                            break;
+                        case 'f':
+                            sb.append('\f');
+                            break;
+                        case 'u':
+                            if (pos + 4 > text.length()) {
+                                throw new IllegalArgumentException("invalid unicode escape");
+                            }
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                            pos += 4;
+                            break;
+                        default:
+                            sb.append(e);
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+            throw new IllegalArgumentException("unterminated string");
+        }
+
+        private char peek() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            if (pos >= text.length()) {
+                throw new IllegalArgumentException("unexpected end of line");
+            }
+            return text.charAt(pos);
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw new IllegalArgumentException("expected '" + c + "' at column " + (pos + 1));
+            }
+            pos++;
+        }
+
+        private char next(char a, char b) {
+            char c = peek();
+            if (c != a && c != b) {
+                throw new IllegalArgumentException("expected '" + a + "' or '" + b + "' at column " + (pos + 1));
+            }
+            pos++;
+            return c;
+        }
+
+        private void end() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            if (pos < text.length()) {
+                throw new IllegalArgumentException("unexpected content at column " + (pos + 1));
+            }
+        }
+    }
+}
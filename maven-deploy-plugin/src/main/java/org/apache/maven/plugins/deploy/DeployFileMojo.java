@@ -26,8 +26,18 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
@@ -53,6 +63,7 @@ import org.eclipse.aether.artifact.ArtifactType;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.deployment.DeployRequest;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 import org.eclipse.aether.util.artifact.SubArtifact;
 
 /**
@@ -96,9 +107,9 @@ public class DeployFileMojo extends AbstractDeployMojo {
     private String description;
 
     /**
-     * File to be deployed.
+     * File to be deployed. Required, unless {@link #manifest} is used.
      */
-    @Parameter(property = "file", required = true)
+    @Parameter(property = "file")
     private File file;
 
     /**
@@ -184,6 +195,32 @@ public class DeployFileMojo extends AbstractDeployMojo {
     @Parameter(property = "maven.deploy.file.skip", defaultValue = "false")
     private String skip = Boolean.FALSE.toString();
 
+    /**
+     * Manifest listing many artifacts to deploy in one execution, instead of single artifact specified by
+     * {@link #file} and other parameters. Manifest is a CSV or JSON lines file (when it has {@code .jsonl} or
+     * {@code .ndjson} extension), each line listing GAV, packaging, file, POM, sources, javadoc and extra classified
+     * files of one artifact. All entries are validated before anything is deployed (an artifact listed more than once
+     * is invalid as well), then entries are deployed in parallel, to the repository
+     * specified by {@link #repositoryId} and {@link #url}. Entries sharing repository metadata (same
+     * {@code groupId:artifactId}, or same {@code groupId} for {@code maven-plugin} packaging) are deployed one after
+     * the other, in manifest order.
+     *
+     * @since 3.2.0
+     */
+    @Parameter(property = "manifest")
+    private File manifest;
+
+    /**
+     * Number of threads used to deploy {@link #manifest} entries. Each thread deploys entries sharing repository
+     * metadata one after the other.
+     *
+     * @since 3.2.0
+     */
+    @Parameter(property = "manifestThreads", defaultValue = "4")
+    private int manifestThreads;
+
+    private static final String MAVEN_PLUGIN = "maven-plugin";
+
     void initProperties() throws MojoExecutionException {
         if (pomFile == null) {
             boolean foundPom = false;
@@ -229,6 +266,14 @@ public class DeployFileMojo extends AbstractDeployMojo {
     }
 
     public void execute() throws MojoExecutionException, MojoFailureException {
+        if (manifest != null) {
+            deployManifest();
+            return;
+        }
+        if (file == null) {
+            throw new MojoExecutionException("The parameter 'file' is required, unless 'manifest' is used.");
+        }
+
         if (Boolean.parseBoolean(skip)
                 || ("releases".equals(skip) && !ArtifactUtils.isSnapshot(version))
                 || ("snapshots".equals(skip) && ArtifactUtils.isSnapshot(version))) {
@@ -289,7 +334,7 @@ public class DeployFileMojo extends AbstractDeployMojo {
             if (pomFile != null) {
                 deployRequest.addArtifact(new SubArtifact(mainArtifact, "", "pom", pomFile));
             } else if (generatePom) {
-                temporaryPom = generatePomFile();
+                temporaryPom = generatePomFile(groupId, artifactId, version, packaging);
                 getLog().debug("Deploying generated POM");
                 deployRequest.addArtifact(new SubArtifact(mainArtifact, "", "pom", temporaryPom));
             } else {
@@ -381,6 +426,268 @@ public class DeployFileMojo extends AbstractDeployMojo {
         }
     }
 
+    /**
+     * Bulk mode: deploys all entries of {@link #manifest}. Entries are validated up front, and deployed only if all of
+     * them are valid. Deploy failures are collected and reported together, along with a summary of deployment.
+     */
+    private void deployManifest() throws MojoExecutionException, MojoFailureException {
+        if (file != null) {
+            throw new MojoExecutionException("The parameters 'file' and 'manifest' are mutually exclusive.");
+        }
+
+        RemoteRepository remoteRepository = getRemoteRepository(repositoryId, url);
+        if (StringUtils.isEmpty(remoteRepository.getProtocol())) {
+            throw new MojoExecutionException("No transfer protocol found.");
+        }
+
+        List<DeployFileManifest.Entry> entries;
+        try {
+            entries = DeployFileManifest.read(manifest);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Error reading manifest " + manifest, e);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+
+        List<String> problems = new ArrayList<>();
+        Map<String, DeployFileManifest.Entry> artifactEntries = new HashMap<>();
+        for (DeployFileManifest.Entry entry : entries) {
+            int size = problems.size();
+            validate(entry, problems);
+            if (problems.size() == size) {
+                // release repositories refuse redeploy: duplicates would fail deployment half way
+                for (Artifact artifact : toArtifacts(entry)) {
+                    String id = ArtifactIdUtils.toId(artifact);
+                    DeployFileManifest.Entry other = artifactEntries.putIfAbsent(id, entry);
+                    if (other != null) {
+                        problems.add(entry + ": artifact " + id + " is already listed by " + other);
+                    }
+                }
+            }
+        }
+        if (!problems.isEmpty()) {
+            StringBuilder sb = new StringBuilder("Invalid manifest ")
+                    .append(manifest)
+                    .append(": ")
+                    .append(problems.size())
+                    .append(" problems");
+            for (String problem : problems) {
+                sb.append("\n  - ").append(problem);
+            }
+            throw new MojoExecutionException(sb.toString());
+        }
+
+        List<DeployFileManifest.Entry> toDeploy = new ArrayList<>();
+        for (DeployFileManifest.Entry entry : entries) {
+            if (!(Boolean.parseBoolean(skip)
+                    || ("releases".equals(skip) && !ArtifactUtils.isSnapshot(entry.version))
+                    || ("snapshots".equals(skip) && ArtifactUtils.isSnapshot(entry.version)))) {
+                toDeploy.add(entry);
+            }
+        }
+        if (toDeploy.size() < entries.size()) {
+            getLog().info("Skipping deployment of " + (entries.size() - toDeploy.size()) + " manifest entries");
+        }
+        if (toDeploy.isEmpty()) {
+            return;
+        }
+
+        failIfOffline();
+        LinkedHashSet<String> packagings = new LinkedHashSet<>();
+        toDeploy.forEach(entry -> packagings.add(entry.packaging));
+        packagings.forEach(this::warnIfAffectedPackagingAndMaven);
+
+        List<File> temporaryPoms = new ArrayList<>();
+        AtomicInteger deployedEntries = new AtomicInteger();
+        AtomicInteger deployedArtifacts = new AtomicInteger();
+        AtomicLong deployedBytes = new AtomicLong();
+        long start = System.nanoTime();
+        try {
+            List<DeployRequest> deployRequests = new ArrayList<>(toDeploy.size());
+            for (DeployFileManifest.Entry entry : toDeploy) {
+                deployRequests.add(toDeployRequest(entry, remoteRepository, temporaryPoms));
+            }
+            forEach(
+                    groupByMetadata(toDeploy, deployRequests),
+                    manifestThreads,
+                    group -> {
+                        for (DeployRequest deployRequest : group) {
+                            deploy(deployRequest);
+                            deployedEntries.incrementAndGet();
+                            for (Artifact artifact : deployRequest.getArtifacts()) {
+                                deployedArtifacts.incrementAndGet();
+                                deployedBytes.addAndGet(artifact.getFile().length());
+                            }
+                        }
+                        return group;
+                    },
+                    "Failed to deploy manifest " + manifest);
+        } finally {
+            getLog().info("Deployed " + deployedEntries.get() + " of " + toDeploy.size() + " manifest entries ("
+                    + deployedArtifacts.get() + " artifacts, " + deployedBytes.get() + " bytes) in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            for (File temporaryPom : temporaryPoms) {
+                // noinspection ResultOfMethodCallIgnored
+                temporaryPom.delete();
+            }
+        }
+    }
+
+    /**
+     * Groups deploy requests of manifest entries (in same order) that must not be deployed concurrently, as Resolver
+     * updates {@code maven-metadata.xml} once per deploy call: requests of same {@code groupId:artifactId}, and
+     * requests of all Maven Plugins (that contribute G level metadata as well) of same {@code groupId} are in same
+     * group. Groups keep manifest order.
+     */
+    static List<List<DeployRequest>> groupByMetadata(
+            List<DeployFileManifest.Entry> entries, List<DeployRequest> deployRequests) {
+        HashSet<String> pluginGAs = new HashSet<>();
+        for (DeployFileManifest.Entry entry : entries) {
+            if (MAVEN_PLUGIN.equals(entry.packaging)) {
+                pluginGAs.add(entry.groupId + ":" + entry.artifactId);
+            }
+        }
+        LinkedHashMap<String, List<DeployRequest>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            DeployFileManifest.Entry entry = entries.get(i);
+            String ga = entry.groupId + ":" + entry.artifactId;
+            String key = pluginGAs.contains(ga) ? entry.groupId : ga;
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(deployRequests.get(i));
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Validates manifest entry, completing missing coordinates from its POM, if any. Found problems are added to
+     * passed in list.
+     */
+    private void validate(DeployFileManifest.Entry entry, List<String> problems) {
+        int size = problems.size();
+        if (entry.file == null) {
+            problems.add(entry + ": 'file' is required");
+        } else if (!entry.file.isFile()) {
+            problems.add(entry + ": " + entry.file + " not found");
+        }
+        if (entry.pomFile != null) {
+            if (!entry.pomFile.isFile()) {
+                problems.add(entry + ": " + entry.pomFile + " not found");
+            } else {
+                try {
+                    Model model = readModel(entry.pomFile);
+                    Parent parent = model.getParent();
+                    if (entry.groupId == null) {
+                        entry.groupId = model.getGroupId() != null
+                                ? model.getGroupId()
+                                : parent != null ? parent.getGroupId() : null;
+                    }
+                    if (entry.artifactId == null) {
+                        entry.artifactId = model.getArtifactId();
+                    }
+                    if (entry.version == null) {
+                        entry.version = model.getVersion() != null
+                                ? model.getVersion()
+                                : parent != null ? parent.getVersion() : null;
+                    }
+                    if (entry.packaging == null) {
+                        entry.packaging = model.getPackaging();
+                    }
+                } catch (MojoExecutionException e) {
+                    problems.add(entry + ": " + e.getMessage());
+                }
+            }
+        }
+        if (entry.packaging == null && entry.file != null) {
+            entry.packaging = getExtension(entry.file);
+        }
+        for (File side : new File[] {entry.sources, entry.javadoc}) {
+            if (side != null && !side.isFile()) {
+                problems.add(entry + ": " + side + " not found");
+            }
+        }
+        for (Map.Entry<String, File> side : entry.classifiers.entrySet()) {
+            if (!isValidId(side.getKey())) {
+                problems.add(entry + ": classifier '" + side.getKey() + "' uses invalid characters");
+            }
+            if (!side.getValue().isFile()) {
+                problems.add(entry + ": " + side.getValue() + " not found");
+            }
+        }
+        if (entry.groupId == null || entry.artifactId == null || entry.version == null || entry.packaging == null) {
+            problems.add(entry + ": the artifact information is incomplete: 'groupId', 'artifactId', 'version' and "
+                    + "'packaging' are required");
+        } else if (!isValidId(entry.groupId) || !isValidId(entry.artifactId) || !isValidVersion(entry.version)) {
+            problems.add(entry + ": the artifact information is not valid: uses invalid characters");
+        }
+        if (problems.size() == size
+                && entry.file.equals(getLocalRepositoryFile(
+                        session.getRepositorySession(),
+                        new DefaultArtifact(
+                                entry.groupId, entry.artifactId, "", getExtension(entry.file), entry.version)))) {
+            problems.add(entry + ": cannot deploy artifact from the local repository: " + entry.file);
+        }
+    }
+
+    /**
+     * Creates deploy request out of valid manifest entry, same way as for single artifact deployment.
+     */
+    private DeployRequest toDeployRequest(
+            DeployFileManifest.Entry entry, RemoteRepository remoteRepository, List<File> temporaryPoms)
+            throws MojoExecutionException {
+        DeployRequest deployRequest = new DeployRequest();
+        deployRequest.setRepository(remoteRepository);
+        for (Artifact artifact : toArtifacts(entry)) {
+            if (artifact.getFile() == null) {
+                File temporaryPom = generatePomFile(entry.groupId, entry.artifactId, entry.version, entry.packaging);
+                temporaryPoms.add(temporaryPom);
+                artifact = artifact.setFile(temporaryPom);
+            }
+            deployRequest.addArtifact(artifact);
+        }
+        return deployRequest;
+    }
+
+    /**
+     * Returns artifacts of valid manifest entry. POM to be generated has no file yet.
+     */
+    private List<Artifact> toArtifacts(DeployFileManifest.Entry entry) {
+        List<Artifact> artifacts = new ArrayList<>();
+        String entryClassifier = null;
+        boolean isFilePom = "pom".equals(entry.packaging);
+        if (!isFilePom) {
+            ArtifactType artifactType =
+                    session.getRepositorySession().getArtifactTypeRegistry().get(entry.packaging);
+            if (artifactType != null && !StringUtils.isEmpty(artifactType.getClassifier())) {
+                entryClassifier = artifactType.getClassifier();
+            }
+        }
+        Artifact mainArtifact = new DefaultArtifact(
+                        entry.groupId,
+                        entry.artifactId,
+                        entryClassifier,
+                        isFilePom ? "pom" : getExtension(entry.file),
+                        entry.version)
+                .setFile(entry.file);
+        artifacts.add(mainArtifact);
+
+        if (!isFilePom) {
+            if (entry.pomFile != null) {
+                artifacts.add(new SubArtifact(mainArtifact, "", "pom", entry.pomFile));
+            } else if (generatePom) {
+                artifacts.add(new SubArtifact(mainArtifact, "", "pom"));
+            }
+        }
+        if (entry.sources != null) {
+            artifacts.add(new SubArtifact(mainArtifact, "sources", "jar", entry.sources));
+        }
+        if (entry.javadoc != null) {
+            artifacts.add(new SubArtifact(mainArtifact, "javadoc", "jar", entry.javadoc));
+        }
+        for (Map.Entry<String, File> side : entry.classifiers.entrySet()) {
+            artifacts.add(new SubArtifact(mainArtifact, side.getKey(), getExtension(side.getValue()), side.getValue()));
+        }
+        return artifacts;
+    }
+
     /**
      * Gets the path of the specified artifact within the local repository. Note that the returned path need not exist
      * (yet).
@@ -443,8 +750,9 @@ public class DeployFileMojo extends AbstractDeployMojo {
      * @return The path to the generated POM file, never <code>null</code>.
      * @throws MojoExecutionException If the generation failed.
      */
-    private File generatePomFile() throws MojoExecutionException {
-        Model model = generateModel();
+    private File generatePomFile(String groupId, String artifactId, String version, String packaging)
+            throws MojoExecutionException {
+        Model model = generateModel(groupId, artifactId, version, packaging);
 
         try {
             File tempFile = File.createTempFile("mvndeploy", ".pom");
@@ -465,7 +773,7 @@ public class DeployFileMojo extends AbstractDeployMojo {
      *
      * @return The generated model, never <code>null</code>.
      */
-    private Model generateModel() {
+    private Model generateModel(String groupId, String artifactId, String version, String packaging) {
         Model model = new Model();
 
         model.setModelVersion("4.0.0");
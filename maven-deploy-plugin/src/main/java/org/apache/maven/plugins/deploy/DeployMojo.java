@@ -28,11 +28,8 @@ import java.util.regex.Pattern;
 
 import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.ArtifactUtils;
-import org.apache.maven.model.Plugin;
-import org.apache.maven.model.PluginExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
-import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -61,9 +58,6 @@ public class DeployMojo extends AbstractDeployMojo {
     @Parameter(defaultValue = "${reactorProjects}", required = true, readonly = true)
     private List<MavenProject> reactorProjects;
 
-    @Parameter(defaultValue = "${plugin}", required = true, readonly = true)
-    private PluginDescriptor pluginDescriptor;
-
     /**
      * Whether every project should be deployed during its own deploy-phase or at the end of the multimodule build. If
      * set to {@code true} and the build fails, none of the reactor projects is deployed.
@@ -140,47 +134,44 @@ public class DeployMojo extends AbstractDeployMojo {
     @Parameter(defaultValue = "false", property = "allowIncompleteProjects")
     private boolean allowIncompleteProjects;
 
+    /**
+     * Number of threads used by deploy at end: to process reactor projects and to deploy to several repositories
+     * concurrently. Default value of {@code 1} keeps deploy at end serial, as before.
+     *
+     * @since 3.2.0
+     */
+    @Parameter(defaultValue = "1", property = "deployAtEndThreads")
+    private int deployAtEndThreads;
+
+    /**
+     * Whether projects deployed during their own deploy-phase (when {@code deployAtEnd} is {@code false}) should be
+     * deployed asynchronously: upload is performed on background threads, and the builder thread is released right
+     * away, to build other projects. Deployments are awaited, and failures are reported, once all reactor projects
+     * were processed, or at the end of the session, if the build stopped before that. Mostly useful with parallel
+     * builds ({@code -T}).
+     *
+     * @since 3.2.0
+     */
+    @Parameter(defaultValue = "false", property = "deployAsync")
+    private boolean deployAsync;
+
+    /**
+     * Number of background threads used by asynchronous deploy.
+     *
+     * @since 3.2.0
+     * @see #deployAsync
+     */
+    @Parameter(defaultValue = "4", property = "deployAsyncThreads")
+    private int deployAsyncThreads;
+
     private enum State {
         SKIPPED,
         DEPLOYED,
         TO_BE_DEPLOYED
     }
 
-    private static final String DEPLOY_PROCESSED_MARKER = DeployMojo.class.getName() + ".processed";
-
-    private static final String DEPLOY_ALT_RELEASE_DEPLOYMENT_REPOSITORY =
-            DeployMojo.class.getName() + ".altReleaseDeploymentRepository";
-
-    private static final String DEPLOY_ALT_SNAPSHOT_DEPLOYMENT_REPOSITORY =
-            DeployMojo.class.getName() + ".altSnapshotDeploymentRepository";
-
-    private static final String DEPLOY_ALT_DEPLOYMENT_REPOSITORY =
-            DeployMojo.class.getName() + ".altDeploymentRepository";
-
-    private void putState(State state) {
-        getPluginContext().put(DEPLOY_PROCESSED_MARKER, state.name());
-    }
-
-    private void putPluginContextValue(String key, String value) {
-        if (value != null) {
-            getPluginContext().put(key, value);
-        }
-    }
-
-    private String getPluginContextValue(Map<String, Object> pluginContext, String key) {
-        return (String) pluginContext.get(key);
-    }
-
-    private State getState(Map<String, Object> pluginContext) {
-        return State.valueOf(getPluginContextValue(pluginContext, DEPLOY_PROCESSED_MARKER));
-    }
-
-    private boolean hasState(MavenProject project) {
-        Map<String, Object> pluginContext = session.getPluginContext(pluginDescriptor, project);
-        return pluginContext.containsKey(DEPLOY_PROCESSED_MARKER);
-    }
-
     public void execute() throws MojoExecutionException, MojoFailureException {
+        DeployAtEndIndex index = DeployAtEndIndex.get(session, reactorProjects);
         State state;
         if (Boolean.parseBoolean(skip)
                 || ("releases".equals(skip) && !ArtifactUtils.isSnapshot(project.getVersion()))
@@ -202,88 +193,83 @@ public class DeployMojo extends AbstractDeployMojo {
                 DeployRequest request = new DeployRequest();
                 request.setRepository(deploymentRepository);
                 processProject(project, request);
-                deploy(request);
+                if (deployAsync) {
+                    PendingDeploys pendingDeploys = PendingDeploys.get(session, deployAsyncThreads);
+                    session.getRepositorySession()
+                            .getData()
+                            .set(FallbackDeployerSPI.ASYNC_EXECUTOR, pendingDeploys.executor());
+                    pendingDeploys.register(project.getId(), deployAsync(request));
+                } else {
+                    deploy(request);
+                }
                 state = State.DEPLOYED;
             } else {
-                putPluginContextValue(DEPLOY_ALT_SNAPSHOT_DEPLOYMENT_REPOSITORY, altSnapshotDeploymentRepository);
-                putPluginContextValue(DEPLOY_ALT_RELEASE_DEPLOYMENT_REPOSITORY, altReleaseDeploymentRepository);
-                putPluginContextValue(DEPLOY_ALT_DEPLOYMENT_REPOSITORY, altDeploymentRepository);
+                // resolved now, while other modules are still building, and not by the last module
+                index.toBeDeployed(
+                        project,
+                        getDeploymentRepository(
+                                project,
+                                altSnapshotDeploymentRepository,
+                                altReleaseDeploymentRepository,
+                                altDeploymentRepository));
                 state = State.TO_BE_DEPLOYED;
             }
         }
 
-        putState(state);
-
-        List<MavenProject> allProjectsUsingPlugin = getAllProjectsUsingPlugin();
-
-        if (allProjectsMarked(allProjectsUsingPlugin)) {
-            deployAllAtOnce(allProjectsUsingPlugin);
+        if (index.processed(project)) {
+            PendingDeploys pendingDeploys = PendingDeploys.find(session);
+            if (pendingDeploys != null) {
+                pendingDeploys.join();
+            }
+            deployAllAtOnce(index);
         } else if (state == State.TO_BE_DEPLOYED) {
             getLog().info("Deferring deploy for " + project.getGroupId() + ":" + project.getArtifactId() + ":"
                     + project.getVersion() + " at end");
         }
     }
 
-    private void deployAllAtOnce(List<MavenProject> allProjectsUsingPlugin) throws MojoExecutionException {
-        Map<RemoteRepository, DeployRequest> requests = new LinkedHashMap<>();
-
-        // collect all arifacts from all modules to deploy
-        // requests are grouped by used remote repository
-        for (MavenProject reactorProject : allProjectsUsingPlugin) {
-            Map<String, Object> pluginContext = session.getPluginContext(pluginDescriptor, reactorProject);
-            State state = getState(pluginContext);
-            if (state == State.TO_BE_DEPLOYED) {
-
-                RemoteRepository deploymentRepository = getDeploymentRepository(
-                        reactorProject,
-                        getPluginContextValue(pluginContext, DEPLOY_ALT_SNAPSHOT_DEPLOYMENT_REPOSITORY),
-                        getPluginContextValue(pluginContext, DEPLOY_ALT_RELEASE_DEPLOYMENT_REPOSITORY),
-                        getPluginContextValue(pluginContext, DEPLOY_ALT_DEPLOYMENT_REPOSITORY));
-
-                DeployRequest request = requests.computeIfAbsent(deploymentRepository, repo -> {
-                    DeployRequest newRequest = new DeployRequest();
-                    newRequest.setRepository(repo);
-                    return newRequest;
-                });
-                processProject(reactorProject, request);
+    private void deployAllAtOnce(DeployAtEndIndex index) throws MojoExecutionException {
+        List<MavenProject> projects = new ArrayList<>();
+        List<RemoteRepository> repositories = new ArrayList<>();
+        for (MavenProject reactorProject : index.getProjectsUsingPlugin()) {
+            RemoteRepository deploymentRepository = index.takeToBeDeployed(reactorProject);
+            if (deploymentRepository != null) {
+                projects.add(reactorProject);
+                repositories.add(deploymentRepository);
             }
         }
-        // finally execute all deployments request, lets resolver to optimize deployment
-        for (DeployRequest request : requests.values()) {
-            deploy(request);
-        }
-    }
-
-    private boolean allProjectsMarked(List<MavenProject> allProjectsUsingPlugin) {
-        for (MavenProject reactorProject : allProjectsUsingPlugin) {
-            if (!hasState(reactorProject)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private List<MavenProject> getAllProjectsUsingPlugin() {
-        ArrayList<MavenProject> result = new ArrayList<>();
-        for (MavenProject reactorProject : reactorProjects) {
-            if (hasExecution(reactorProject.getPlugin("org.apache.maven.plugins:maven-deploy-plugin"))) {
-                result.add(reactorProject);
-            }
-        }
-        return result;
-    }
 
-    private boolean hasExecution(Plugin plugin) {
-        if (plugin == null) {
-            return false;
+        // collect all arifacts from all modules to deploy, each module on its own
+        List<DeployRequest> projectRequests = forEach(
+                projects,
+                deployAtEndThreads,
+                reactorProject -> {
+                    DeployRequest projectRequest = new DeployRequest();
+                    processProject(reactorProject, projectRequest);
+                    return projectRequest;
+                },
+                "Failed to process projects for deploy");
+
+        // requests are grouped by used remote repository, keeping reactor order
+        Map<RemoteRepository, DeployRequest> requests = new LinkedHashMap<>();
+        for (int i = 0; i < projects.size(); i++) {
+            DeployRequest request = requests.computeIfAbsent(repositories.get(i), repo -> {
+                DeployRequest newRequest = new DeployRequest();
+                newRequest.setRepository(repo);
+                return newRequest;
+            });
+            projectRequests.get(i).getArtifacts().forEach(request::addArtifact);
         }
 
-        for (PluginExecution execution : plugin.getExecutions()) {
-            if (!execution.getGoals().isEmpty() && !"none".equalsIgnoreCase(execution.getPhase())) {
-                return true;
-            }
-        }
-        return false;
+        // finally execute all deployments request, one per repository, lets resolver to optimize deployment
+        forEach(
+                new ArrayList<>(requests.values()),
+                deployAtEndThreads,
+                request -> {
+                    deploy(request);
+                    return request;
+                },
+                "Failed to deploy");
     }
 
     private void processProject(final MavenProject project, DeployRequest request) throws MojoExecutionException {
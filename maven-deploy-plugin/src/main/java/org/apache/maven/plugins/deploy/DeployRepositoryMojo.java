@@ -0,0 +1,470 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.deploy;
+
+import javax.inject.Inject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.xml.ReaderFactory;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.eclipse.aether.spi.connector.transport.PeekTask;
+import org.eclipse.aether.spi.connector.transport.Transporter;
+import org.eclipse.aether.spi.connector.transport.TransporterProvider;
+import org.eclipse.aether.transfer.NoRepositoryLayoutException;
+import org.eclipse.aether.transfer.NoTransporterException;
+
+/**
+ * Deploys a directory laid out as a Maven repository (for example a local repository, or a copy of a remote one) to
+ * the remote repository. The directory is walked as a stream: files of each version directory are grouped into one
+ * deploy request (POM, main artifact, classified artifacts and signatures), that is deployed while the walk goes on,
+ * with bounded concurrency. Checksums are not deployed from the directory, as they are calculated while deploying.
+ * Repository metadata is not deployed either, but is updated in the remote repository for each deployed version.
+ * As Resolver updates {@code maven-metadata.xml} once per deploy call, versions of same {@code groupId:artifactId} are
+ * deployed one after the other, never concurrently. Versions of Maven Plugins (that contribute G level metadata as
+ * well) are additionally deployed one after the other with all other plugins of same {@code groupId}.
+ * <p>
+ * Versions the remote repository already has (its POM, or its first file if there is no POM, exists) are skipped.
+ * Snapshot versions are skipped as well, as deploying them would assign new timestamps.
+ *
+ * @since 3.2.0
+ */
+@Mojo(name = "deploy-repository", requiresProject = false, threadSafe = true)
+public class DeployRepositoryMojo extends AbstractDeployMojo {
+    /**
+     * The directory laid out as Maven repository, to deploy.
+     */
+    @Parameter(property = "repositoryDirectory", required = true)
+    private File repositoryDirectory;
+
+    /**
+     * Server Id to map on the &lt;id&gt; under &lt;server&gt; section of settings.xml In most cases, this parameter
+     * will be required for authentication.
+     */
+    @Parameter(property = "repositoryId", defaultValue = "remote-repository", required = true)
+    private String repositoryId;
+
+    /**
+     * URL where the artifacts will be deployed. <br/>
+     * ie ( file:///C:/m2-repo or scp://host.com/path/to/repo )
+     */
+    @Parameter(property = "url", required = true)
+    private String url;
+
+    /**
+     * Number of versions deployed concurrently. Versions of same {@code groupId:artifactId} are never deployed
+     * concurrently. At most twice as many versions are kept in memory, waiting to be
+     * deployed, while the directory is walked.
+     */
+    @Parameter(property = "deployThreads", defaultValue = "4")
+    private int deployThreads;
+
+    /**
+     * Whether versions the remote repository already has should be skipped.
+     */
+    @Parameter(property = "skipExisting", defaultValue = "true")
+    private boolean skipExisting;
+
+    /**
+     * Set this to {@code true} to bypass deploy.
+     */
+    @Parameter(property = "maven.deploy.repository.skip", defaultValue = "false")
+    private boolean skip;
+
+    private static final int MAX_REPORTED_FAILURES = 20;
+
+    private static final String MAVEN_PLUGIN = "maven-plugin";
+
+    @Inject
+    private RepositoryLayoutProvider repositoryLayoutProvider;
+
+    @Inject
+    private TransporterProvider transporterProvider;
+
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping repository deployment");
+            return;
+        }
+        if (!repositoryDirectory.isDirectory()) {
+            throw new MojoExecutionException(repositoryDirectory.getPath() + " is not a directory.");
+        }
+
+        RemoteRepository remoteRepository = getRemoteRepository(repositoryId, url);
+        if (StringUtils.isEmpty(remoteRepository.getProtocol())) {
+            throw new MojoExecutionException("No transfer protocol found.");
+        }
+        failIfOffline();
+
+        RepositorySystemSession repositorySession = session.getRepositorySession();
+        RepositoryLayout layout;
+        try {
+            layout = repositoryLayoutProvider.newRepositoryLayout(repositorySession, remoteRepository);
+        } catch (NoRepositoryLayoutException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+
+        Transporter transporter = null;
+        if (skipExisting) {
+            try {
+                transporter = transporterProvider.newTransporter(repositorySession, remoteRepository);
+            } catch (NoTransporterException e) {
+                throw new MojoExecutionException(e.getMessage(), e);
+            }
+        }
+
+        Walker walker =
+                new Walker(repositoryDirectory.toPath().toAbsolutePath(), remoteRepository, layout, transporter);
+        long start = System.nanoTime();
+        try {
+            Files.walkFileTree(walker.root, walker);
+            walker.awaitAll();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Error walking " + repositoryDirectory, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while deploying " + repositoryDirectory, e);
+        } finally {
+            walker.executor.shutdownNow();
+            if (transporter != null) {
+                transporter.close();
+            }
+            getLog().info("Deployed " + walker.deployed.get() + " versions (" + walker.artifacts.get()
+                    + " artifacts), skipped " + walker.existing.get() + " existing, " + walker.snapshots.get()
+                    + " snapshot versions and " + walker.unrecognized.get() + " unrecognized files, "
+                    + walker.failed.get() + " failed, in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        }
+
+        if (!walker.failures.isEmpty()) {
+            StringBuilder sb = new StringBuilder("Failed to deploy ")
+                    .append(walker.failed.get())
+                    .append(" versions");
+            for (String failure : walker.failures) {
+                sb.append("\n  - ").append(failure);
+            }
+            if (walker.failed.get() > walker.failures.size()) {
+                sb.append("\n  - ...");
+            }
+            throw new MojoExecutionException(sb.toString());
+        }
+    }
+
+    /**
+     * Walks the directory keeping only the files of directories being visited (a stack of them), and submits each
+     * version directory to deploy as soon as it was visited. Submission blocks while too many versions are pending.
+     */
+    private final class Walker extends SimpleFileVisitor<Path> {
+        private final Path root;
+
+        private final RemoteRepository remoteRepository;
+
+        private final RepositoryLayout layout;
+
+        private final Transporter transporter;
+
+        private final Deque<List<Path>> files = new ArrayDeque<>();
+
+        private final Semaphore pending;
+
+        private final ExecutorService executor;
+
+        private final AtomicInteger deployed = new AtomicInteger();
+
+        private final AtomicInteger artifacts = new AtomicInteger();
+
+        private final AtomicInteger existing = new AtomicInteger();
+
+        private final AtomicInteger snapshots = new AtomicInteger();
+
+        private final AtomicInteger unrecognized = new AtomicInteger();
+
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+        /**
+         * Last submitted deploy per metadata key ({@code groupId:artifactId}, and {@code groupId} for plugins), that
+         * next deploy touching same metadata must wait for. Entries are removed once they completed.
+         */
+        private final ConcurrentHashMap<String, CompletableFuture<Void>> lanes = new ConcurrentHashMap<>();
+
+        private Walker(Path root, RemoteRepository remoteRepository, RepositoryLayout layout, Transporter transporter) {
+            int threads = Math.max(1, deployThreads);
+            AtomicInteger counter = new AtomicInteger();
+            this.root = root;
+            this.remoteRepository = remoteRepository;
+            this.layout = layout;
+            this.transporter = transporter;
+            this.pending = new Semaphore(threads * 2);
+            this.executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "deploy-repository-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (!dir.equals(root) && dir.getFileName().toString().startsWith(".")) {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            files.push(new ArrayList<>());
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (attrs.isRegularFile()) {
+                files.peek().add(file);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+            if (exc != null) {
+                throw exc;
+            }
+            List<Path> dirFiles = files.pop();
+            if (!dirFiles.isEmpty()) {
+                DeployRequest deployRequest = toDeployRequest(dir, dirFiles);
+                if (deployRequest != null) {
+                    submit(deployRequest);
+                }
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        /**
+         * Groups files of a version directory {@code groupId/artifactId/version} into a deploy request, or returns
+         * {@code null} if directory is not a version directory, or its version should not be deployed.
+         */
+        private DeployRequest toDeployRequest(Path dir, List<Path> dirFiles) {
+            Path relative = root.relativize(dir);
+            if (relative.getNameCount() < 3) {
+                countUnrecognized(dirFiles);
+                return null;
+            }
+            String version = relative.getFileName().toString();
+            String artifactId = relative.getParent().getFileName().toString();
+            String groupId = relative.getParent().getParent().toString().replace(File.separatorChar, '.');
+            if (version.endsWith("SNAPSHOT")) {
+                snapshots.incrementAndGet();
+                return null;
+            }
+
+            String prefix = artifactId + "-" + version;
+            DeployRequest deployRequest = new DeployRequest();
+            deployRequest.setRepository(remoteRepository);
+            Collections.sort(dirFiles);
+            for (Path file : dirFiles) {
+                String name = file.getFileName().toString();
+                if (isLocalRepositoryFile(name)) {
+                    continue;
+                }
+                if (!name.startsWith(prefix) || name.length() == prefix.length()) {
+                    countUnrecognized(Collections.singletonList(file));
+                    continue;
+                }
+                String rest = name.substring(prefix.length());
+                String classifier = "";
+                if (rest.startsWith("-")) {
+                    int dot = rest.indexOf('.');
+                    if (dot < 2) {
+                        countUnrecognized(Collections.singletonList(file));
+                        continue;
+                    }
+                    classifier = rest.substring(1, dot);
+                    rest = rest.substring(dot);
+                }
+                if (!rest.startsWith(".") || rest.length() == 1) {
+                    countUnrecognized(Collections.singletonList(file));
+                    continue;
+                }
+                String extension = rest.substring(1);
+                if (isChecksum(extension)) {
+                    // calculated while deploying
+                    continue;
+                }
+                Artifact artifact =
+                        new DefaultArtifact(groupId, artifactId, classifier, extension, version).setFile(file.toFile());
+                if ("pom".equals(extension) && classifier.isEmpty()) {
+                    ArrayList<Artifact> reordered = new ArrayList<>(deployRequest.getArtifacts());
+                    reordered.add(0, artifact);
+                    deployRequest.setArtifacts(reordered);
+                } else {
+                    deployRequest.addArtifact(artifact);
+                }
+            }
+            return deployRequest.getArtifacts().isEmpty() ? null : deployRequest;
+        }
+
+        private void submit(DeployRequest deployRequest) throws IOException {
+            try {
+                pending.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+            Artifact first = deployRequest.getArtifacts().iterator().next();
+            List<String> keys = new ArrayList<>(2);
+            keys.add(first.getGroupId() + ":" + first.getArtifactId());
+            if (isMavenPlugin(deployRequest)) {
+                keys.add(first.getGroupId());
+            }
+            CompletableFuture<?>[] previous =
+                    keys.stream().map(lanes::get).filter(Objects::nonNull).toArray(CompletableFuture<?>[]::new);
+            CompletableFuture<Void> done =
+                    CompletableFuture.allOf(previous).handleAsync((v, e) -> deploy(deployRequest, first), executor);
+            for (String key : keys) {
+                lanes.put(key, done);
+            }
+            done.whenComplete((v, e) -> keys.forEach(key -> lanes.remove(key, done)));
+        }
+
+        /**
+         * Deploys request, unless it should be skipped. Never throws, failure is recorded instead.
+         */
+        private Void deploy(DeployRequest deployRequest, Artifact first) {
+            try {
+                if (skipExisting && exists(first)) {
+                    getLog().debug("Skipping existing " + first);
+                    existing.incrementAndGet();
+                    return null;
+                }
+                DeployRepositoryMojo.this.deploy(deployRequest);
+                deployed.incrementAndGet();
+                artifacts.addAndGet(deployRequest.getArtifacts().size());
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                if (failures.size() < MAX_REPORTED_FAILURES) {
+                    failures.add(first.getGroupId() + ":" + first.getArtifactId() + ":" + first.getVersion() + ": "
+                            + e.getMessage());
+                }
+            } finally {
+                pending.release();
+            }
+            return null;
+        }
+
+        /**
+         * Returns {@code true} if POM of the request declares {@code maven-plugin} packaging. Unreadable POM is not
+         * considered a plugin, its deploy reports the problem, if any.
+         */
+        private boolean isMavenPlugin(DeployRequest deployRequest) {
+            for (Artifact artifact : deployRequest.getArtifacts()) {
+                if ("pom".equals(artifact.getExtension())
+                        && artifact.getClassifier().isEmpty()) {
+                    try (Reader reader = ReaderFactory.newXmlReader(artifact.getFile())) {
+                        return MAVEN_PLUGIN.equals(
+                                new MavenXpp3Reader().read(reader, false).getPackaging());
+                    } catch (IOException | XmlPullParserException e) {
+                        getLog().debug("Cannot read packaging of " + artifact.getFile(), e);
+                        return false;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean exists(Artifact artifact) throws Exception {
+            try {
+                transporter.peek(new PeekTask(layout.getLocation(artifact, false)));
+                return true;
+            } catch (Exception e) {
+                if (transporter.classify(e) == Transporter.ERROR_NOT_FOUND) {
+                    return false;
+                }
+                throw e;
+            }
+        }
+
+        private void awaitAll() throws InterruptedException {
+            int permits = Math.max(1, deployThreads) * 2;
+            pending.acquire(permits);
+            pending.release(permits);
+        }
+
+        private void countUnrecognized(List<Path> paths) {
+            for (Path path : paths) {
+                if (!isLocalRepositoryFile(path.getFileName().toString())) {
+                    getLog().debug("Skipping unrecognized " + path);
+                    unrecognized.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static boolean isChecksum(String extension) {
+        String lower = extension.toLowerCase(Locale.ENGLISH);
+        return lower.endsWith(".md5")
+                || lower.endsWith(".sha1")
+                || lower.endsWith(".sha256")
+                || lower.endsWith(".sha512")
+                || lower.equals("md5")
+                || lower.equals("sha1");
+    }
+
+    /**
+     * Files that are not artifacts, but metadata or local repository bookkeeping.
+     */
+    private static boolean isLocalRepositoryFile(String name) {
+        return name.startsWith("maven-metadata")
+                || name.equals("_remote.repositories")
+                || name.equals("resolver-status.properties")
+                || name.endsWith(".lastUpdated")
+                || name.endsWith(".part")
+                || name.endsWith(".lock");
+    }
+}
@@ -22,11 +22,34 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.apache.maven.plugins.deploy.spi.DeployerSPI;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactProperties;
 import org.eclipse.aether.deployment.DeployRequest;
 import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
 import org.eclipse.sisu.Priority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +60,16 @@ import static java.util.Objects.requireNonNull;
  * Fallback deployer, this is the "original" m-deploy-p code in separate component. This code is always present, and
  * plugin really can always do what it did before: deploy using Resolver. This deployer always accepts deploy
  * requests and does whatever this plugin was doing with them before.
+ * <p>
+ * Failed deployments are retried with exponential backoff and jitter, and all retries of the session draw from one
+ * shared retry budget. Release deployments are retried partially: based on repository events Resolver emitted
+ * during the failed attempt, only the artifacts that failed are re-submitted. If metadata of some GA was not deployed
+ * and none of its artifacts failed, its POM is re-submitted as well, to have metadata generated (and the plugin
+ * artifact, if plugin metadata was not deployed). Snapshot deployments are always retried
+ * as a whole, as timestamped versions are calculated per deploy request.
+ * <p>
+ * Asynchronous deploy is performed on the executor provided by the plugin in session data (under key
+ * {@link #ASYNC_EXECUTOR}), if present, otherwise on the calling thread.
  *
  * @since 3.2.0
  */
@@ -46,6 +79,23 @@ import static java.util.Objects.requireNonNull;
 public class FallbackDeployerSPI implements DeployerSPI {
     public static final String RETRY_FAILED_DEPLOYMENT_COUNT = "retryFailedDeploymentCount";
 
+    public static final String RETRY_BACKOFF = "retryBackoff";
+
+    public static final String RETRY_BUDGET = "retryBudget";
+
+    public static final String ASYNC_EXECUTOR = "asyncExecutor";
+
+    private static final String RETRY_BUDGET_REMAINING = FallbackDeployerSPI.class.getName() + ".retryBudgetRemaining";
+
+    /**
+     * Default of {@link #RETRY_BACKOFF}, same as default of plugin {@code retryBackoff} parameter.
+     */
+    private static final int DEFAULT_RETRY_BACKOFF = 1000;
+
+    private static final long MAX_BACKOFF = 60_000L;
+
+    private static final String MAVEN_PLUGIN = "maven-plugin";
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final RepositorySystem repositorySystem;
@@ -57,25 +107,45 @@ public class FallbackDeployerSPI implements DeployerSPI {
 
     @Override
     public boolean deploy(RepositorySystemSession session, DeployRequest deployRequest) throws DeploymentException {
-        int retryFailedDeploymentCounter =
-                Math.max(1, Math.min(10, (Integer) session.getData().get(RETRY_FAILED_DEPLOYMENT_COUNT)));
+        int retryFailedDeploymentCounter = Math.max(1, Math.min(10, getInt(session, RETRY_FAILED_DEPLOYMENT_COUNT, 1)));
+        long retryBackoff = Math.max(0, getInt(session, RETRY_BACKOFF, DEFAULT_RETRY_BACKOFF));
+        AtomicInteger retryBudget = (AtomicInteger) session.getData()
+                .computeIfAbsent(
+                        RETRY_BUDGET_REMAINING,
+                        () -> new AtomicInteger(getInt(session, RETRY_BUDGET, Integer.MAX_VALUE)));
+        DeployRequest request = deployRequest;
         DeploymentException exception = null;
         for (int count = 0; count < retryFailedDeploymentCounter; count++) {
+            DeployEvents.Span span = DeployEvents.get()
+                    .deployAttempt(deployRequest.getRepository().getId(), retryFailedDeploymentCounter);
+            Outcome outcome = new Outcome();
             try {
                 if (count > 0) {
-                    logger.info("Retrying deployment attempt " + (count + 1) + " of " + retryFailedDeploymentCounter);
+                    logger.info("Retrying deployment attempt " + (count + 1) + " of " + retryFailedDeploymentCounter
+                            + " (" + request.getArtifacts().size() + " of "
+                            + deployRequest.getArtifacts().size() + " artifacts)");
                 }
 
-                repositorySystem.deploy(session, deployRequest);
+                repositorySystem.deploy(outcome.track(session), request);
+                span.commit(true, count + 1);
                 exception = null;
                 break;
             } catch (DeploymentException e) {
+                span.commit(false, count + 1);
+                if (exception == null) {
+                    exception = e;
+                }
                 if (count + 1 < retryFailedDeploymentCounter) {
                     logger.warn("Encountered issue during deployment: {}", e.getLocalizedMessage());
                     logger.debug("", e);
-                }
-                if (exception == null) {
-                    exception = e;
+                    if (retryBudget.getAndDecrement() <= 0) {
+                        logger.warn("Retry budget of the session is exhausted, not retrying");
+                        break;
+                    }
+                    if (!backoff(retryBackoff, count)) {
+                        break;
+                    }
+                    request = outcome.retryRequest(request);
                 }
             }
         }
@@ -84,4 +154,148 @@ public class FallbackDeployerSPI implements DeployerSPI {
         }
         return true;
     }
+
+    @Override
+    public CompletionStage<Boolean> deployAsync(RepositorySystemSession session, DeployRequest deployRequest) {
+        Executor executor = (Executor) session.getData().get(ASYNC_EXECUTOR);
+        if (executor == null) {
+            return DeployerSPI.super.deployAsync(session, deployRequest);
+        }
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return deploy(session, deployRequest);
+                    } catch (DeploymentException e) {
+                        throw new CompletionException(e);
+                    }
+                },
+                executor);
+    }
+
+    /**
+     * Sleeps before retry: exponential backoff capped at {@link #MAX_BACKOFF}, randomized between half and full delay
+     * so concurrent deployments do not retry in lockstep. Returns {@code false} if interrupted.
+     */
+    private boolean backoff(long retryBackoff, int count) {
+        if (retryBackoff == 0) {
+            return true;
+        }
+        long delay = Math.min(MAX_BACKOFF, retryBackoff << Math.min(count, 16));
+        delay = ThreadLocalRandom.current().nextLong(delay / 2, delay + 1);
+        logger.info("Waiting {} ms before retrying deployment", delay);
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static int getInt(RepositorySystemSession session, String key, int defaultValue) {
+        Object value = session.getData().get(key);
+        return value instanceof Integer ? (Integer) value : defaultValue;
+    }
+
+    /**
+     * Outcome of one deploy attempt, as told by repository events.
+     */
+    static final class Outcome extends AbstractRepositoryListener {
+        private final Set<String> deployedArtifacts = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        private final Set<String> deployedMetadata = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        private final Set<String> failedMetadata = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        RepositorySystemSession track(RepositorySystemSession session) {
+            DefaultRepositorySystemSession result = new DefaultRepositorySystemSession(session);
+            result.setRepositoryListener(ChainedRepositoryListener.newInstance(session.getRepositoryListener(), this));
+            return result;
+        }
+
+        @Override
+        public void artifactDeployed(RepositoryEvent event) {
+            if (event.getException() == null) {
+                deployedArtifacts.add(ArtifactIdUtils.toId(event.getArtifact()));
+            }
+        }
+
+        @Override
+        public void metadataDeployed(RepositoryEvent event) {
+            (event.getException() == null ? deployedMetadata : failedMetadata).add(key(event.getMetadata()));
+        }
+
+        /**
+         * Creates the request to retry failed attempt with. Artifacts are deployed first, and metadata only if all
+         * artifacts were deployed, hence metadata is considered deployed only if metadata upload happened and did not
+         * fail.
+         */
+        DeployRequest retryRequest(DeployRequest request) {
+            if (request.getArtifacts().stream().anyMatch(Artifact::isSnapshot)) {
+                return request;
+            }
+            boolean metadataUploaded = !deployedMetadata.isEmpty() || !failedMetadata.isEmpty();
+
+            Map<String, List<Artifact>> byGa = new LinkedHashMap<>();
+            for (Artifact artifact : request.getArtifacts()) {
+                byGa.computeIfAbsent(artifact.getGroupId() + ":" + artifact.getArtifactId(), k -> new ArrayList<>())
+                        .add(artifact);
+            }
+            Set<Artifact> artifacts = new LinkedHashSet<>();
+            for (List<Artifact> gaArtifacts : byGa.values()) {
+                boolean metadataDeployed = metadataUploaded;
+                for (Artifact artifact : gaArtifacts) {
+                    if (!deployedArtifacts.contains(ArtifactIdUtils.toId(artifact))) {
+                        artifacts.add(artifact);
+                        metadataDeployed = false;
+                    }
+                    if (failedMetadata.contains(artifact.getGroupId() + ":" + artifact.getArtifactId() + ":")
+                            || (isPlugin(artifact) && failedMetadata.contains(artifact.getGroupId() + "::"))) {
+                        metadataDeployed = false;
+                    }
+                }
+                if (!metadataDeployed) {
+                    // plugin metadata generator needs the plugin artifact to (re)generate metadata of G
+                    for (Artifact artifact : gaArtifacts) {
+                        if (isPlugin(artifact) && !deployedMetadata.contains(artifact.getGroupId() + "::")) {
+                            artifacts.add(artifact);
+                        }
+                    }
+                    // versions metadata generator needs any artifact of GA, the POM if GA is not retried anyway
+                    if (gaArtifacts.stream().noneMatch(artifacts::contains)) {
+                        for (Artifact artifact : gaArtifacts) {
+                            if ("pom".equals(artifact.getExtension())
+                                    && artifact.getClassifier().isEmpty()) {
+                                artifacts.add(artifact);
+                            }
+                        }
+                    }
+                }
+            }
+            List<Metadata> metadata = new ArrayList<>();
+            for (Metadata m : request.getMetadata()) {
+                if (!deployedMetadata.contains(key(m))) {
+                    metadata.add(m);
+                }
+            }
+
+            DeployRequest result = new DeployRequest();
+            result.setRepository(request.getRepository());
+            result.setTrace(request.getTrace());
+            // keep original order of artifacts
+            List<Artifact> ordered = new ArrayList<>(request.getArtifacts());
+            ordered.retainAll(artifacts);
+            result.setArtifacts(ordered);
+            result.setMetadata(metadata);
+            return result;
+        }
+
+        private static boolean isPlugin(Artifact artifact) {
+            return MAVEN_PLUGIN.equals(artifact.getProperty(ArtifactProperties.TYPE, ""));
+        }
+
+        private static String key(Metadata metadata) {
+            return metadata.getGroupId() + ":" + metadata.getArtifactId() + ":" + metadata.getVersion();
+        }
+    }
 }
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.deploy;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Session scoped registry of asynchronous deployments. Deployments are registered as projects are processed, and
+ * are joined once all reactor projects using this plugin were processed. If that does not happen (like when the build
+ * fails fast), they are joined when session ends, and failures are added to session result. Also provides the
+ * executor that deployer SPI implementations may use to deploy off the builder threads (see
+ * {@link FallbackDeployerSPI#ASYNC_EXECUTOR}).
+ *
+ * @since 3.2.0
+ */
+final class PendingDeploys {
+    private static final String KEY = PendingDeploys.class.getName();
+
+    private final ExecutorService executor;
+
+    private final ConcurrentLinkedQueue<Map.Entry<String, CompletionStage<?>>> pending;
+
+    /**
+     * Returns the registry of current session, creating it if needed.
+     */
+    static PendingDeploys get(MavenSession session, int threads) {
+        return (PendingDeploys) session.getRepositorySession().getData().computeIfAbsent(KEY, () -> {
+            PendingDeploys pendingDeploys = new PendingDeploys(threads);
+            MavenExecutionRequest request = session.getRequest();
+            request.setExecutionListener(new SessionEndListener(request.getExecutionListener(), pendingDeploys));
+            return pendingDeploys;
+        });
+    }
+
+    /**
+     * Returns the registry of current session, or {@code null} if nothing was deployed asynchronously.
+     */
+    static PendingDeploys find(MavenSession session) {
+        return (PendingDeploys) session.getRepositorySession().getData().get(KEY);
+    }
+
+    private PendingDeploys(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+                Math.max(1, threads), Math.max(1, threads), 1L, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), r -> {
+                    // not daemon: JVM must not exit in the middle of an upload
+                    return new Thread(r, "deploy-async-" + counter.incrementAndGet());
+                });
+        // idle threads go away, even if session end is never reached
+        threadPool.allowCoreThreadTimeOut(true);
+        this.executor = threadPool;
+        this.pending = new ConcurrentLinkedQueue<>();
+    }
+
+    ExecutorService executor() {
+        return executor;
+    }
+
+    /**
+     * Registers pending deployment, described by given (project) description.
+     */
+    void register(String description, CompletionStage<?> stage) {
+        pending.add(new AbstractMap.SimpleImmutableEntry<>(description, stage));
+    }
+
+    /**
+     * Waits for all registered deployments to complete. Failures are collected and reported together.
+     */
+    void join() throws MojoExecutionException {
+        List<String> messages = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        Map.Entry<String, CompletionStage<?>> entry;
+        while ((entry = pending.poll()) != null) {
+            try {
+                entry.getValue().toCompletableFuture().get();
+            } catch (ExecutionException | CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                messages.add(entry.getKey() + ": " + cause.getMessage());
+                failures.add(cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MojoExecutionException("Interrupted while waiting for deployments", e);
+            }
+        }
+        if (failures.size() == 1 && failures.get(0) instanceof MojoExecutionException) {
+            throw (MojoExecutionException) failures.get(0);
+        } else if (!failures.isEmpty()) {
+            StringBuilder sb = new StringBuilder("Failed to deploy ")
+                    .append(failures.size())
+                    .append(failures.size() == 1 ? " project" : " projects");
+            for (String message : messages) {
+                sb.append("\n  - ").append(message);
+            }
+            MojoExecutionException exception = new MojoExecutionException(sb.toString(), failures.get(0));
+            failures.subList(1, failures.size()).forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+    /**
+     * Execution listener joining pending deployments when session ends, delegating all events to the listener it
+     * replaced.
+     */
+    private static final class SessionEndListener implements ExecutionListener {
+        private final ExecutionListener delegate;
+
+        private final PendingDeploys pendingDeploys;
+
+        private SessionEndListener(ExecutionListener delegate, PendingDeploys pendingDeploys) {
+            this.delegate = delegate;
+            this.pendingDeploys = pendingDeploys;
+        }
+
+        @Override
+        public void sessionEnded(ExecutionEvent event) {
+            try {
+                pendingDeploys.join();
+            } catch (MojoExecutionException e) {
+                event.getSession().getResult().addException(e);
+            } finally {
+                pendingDeploys.executor.shutdown();
+            }
+            if (delegate != null) {
+                delegate.sessionEnded(event);
+            }
+        }
+
+        @Override
+        public void projectDiscoveryStarted(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.projectDiscoveryStarted(event);
+            }
+        }
+
+        @Override
+        public void sessionStarted(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.sessionStarted(event);
+            }
+        }
+
+        @Override
+        public void projectSkipped(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.projectSkipped(event);
+            }
+        }
+
+        @Override
+        public void projectStarted(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.projectStarted(event);
+            }
+        }
+
+        @Override
+        public void projectSucceeded(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.projectSucceeded(event);
+            }
+        }
+
+        @Override
+        public void projectFailed(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.projectFailed(event);
+            }
+        }
+
+        @Override
+        public void mojoSkipped(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.mojoSkipped(event);
+            }
+        }
+
+        @Override
+        public void mojoStarted(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.mojoStarted(event);
+            }
+        }
+
+        @Override
+        public void mojoSucceeded(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.mojoSucceeded(event);
+            }
+        }
+
+        @Override
+        public void mojoFailed(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.mojoFailed(event);
+            }
+        }
+
+        @Override
+        public void forkStarted(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.forkStarted(event);
+            }
+        }
+
+        @Override
+        public void forkSucceeded(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.forkSucceeded(event);
+            }
+        }
+
+        @Override
+        public void forkFailed(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.forkFailed(event);
+            }
+        }
+
+        @Override
+        public void forkedProjectStarted(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.forkedProjectStarted(event);
+            }
+        }
+
+        @Override
+        public void forkedProjectSucceeded(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.forkedProjectSucceeded(event);
+            }
+        }
+
+        @Override
+        public void forkedProjectFailed(ExecutionEvent event) {
+            if (delegate != null) {
+                delegate.forkedProjectFailed(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.deploy;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR backed {@link DeployEvents}, loaded reflectively by {@link DeployEvents#get()}. Event is created only if its
+ * type is enabled, so nothing is allocated when not recording.
+ *
+ * @since 3.2.0
+ */
+final class JfrDeployEvents extends DeployEvents {
+    private static final EventType DEPLOYER_SPI = EventType.getEventType(DeployerSPIEvent.class);
+    private static final EventType DEPLOY_ATTEMPT = EventType.getEventType(DeployAttemptEvent.class);
+
+    @Override
+    Span deployerSPI(String deployer, String repository) {
+        if (!DEPLOYER_SPI.isEnabled()) {
+            return NOOP;
+        }
+        DeployerSPIEvent event = new DeployerSPIEvent();
+        event.deployer = deployer;
+        event.repository = repository;
+        event.begin();
+        return (succeeded, count) -> {
+            event.accepted = succeeded;
+            event.artifacts = count;
+            event.commit();
+        };
+    }
+
+    @Override
+    Span deployAttempt(String repository, int maxAttempts) {
+        if (!DEPLOY_ATTEMPT.isEnabled()) {
+            return NOOP;
+        }
+        DeployAttemptEvent event = new DeployAttemptEvent();
+        event.repository = repository;
+        event.maxAttempts = maxAttempts;
+        event.begin();
+        return (succeeded, count) -> {
+            event.succeeded = succeeded;
+            event.attempt = (int) count;
+            event.commit();
+        };
+    }
+
+    @Name("org.apache.maven.plugins.deploy.DeployerSPI")
+    @Label("DeployerSPI deploy")
+    @Category({"Maven", "Deploy"})
+    static final class DeployerSPIEvent extends Event {
+        @Label("Deployer")
+        String deployer;
+
+        @Label("Repository")
+        String repository;
+
+        @Label("Accepted")
+        boolean accepted;
+
+        @Label("Artifacts")
+        long artifacts;
+    }
+
+    @Name("org.apache.maven.plugins.deploy.DeployAttempt")
+    @Label("Deploy attempt")
+    @Category({"Maven", "Deploy"})
+    static final class DeployAttemptEvent extends Event {
+        @Label("Repository")
+        String repository;
+
+        @Label("Attempt")
+        int attempt;
+
+        @Label("Max attempts")
+        int maxAttempts;
+
+        @Label("Succeeded")
+        boolean succeeded;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.deploy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeployAtEndIndexTest {
+    private MavenSession session;
+
+    private MavenProject module1;
+
+    private MavenProject module2;
+
+    private MavenProject noDeploy;
+
+    private List<MavenProject> reactorProjects;
+
+    @Before
+    public void setUp() {
+        session = mock(MavenSession.class);
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+        module1 = project("module1", true);
+        module2 = project("module2", true);
+        noDeploy = project("no-deploy", false);
+        reactorProjects = Arrays.asList(module1, noDeploy, module2);
+    }
+
+    @Test
+    public void testIndexIsSessionScoped() {
+        assertSame(DeployAtEndIndex.get(session, reactorProjects), DeployAtEndIndex.get(session, reactorProjects));
+        assertEquals(
+                Arrays.asList(module1, module2),
+                DeployAtEndIndex.get(session, reactorProjects).getProjectsUsingPlugin());
+    }
+
+    @Test
+    public void testLastProcessedTriggers() {
+        DeployAtEndIndex index = DeployAtEndIndex.get(session, reactorProjects);
+        assertFalse(index.processed(module2));
+        assertFalse(index.processed(module2));
+        assertTrue(index.processed(module1));
+    }
+
+    @Test
+    public void testToBeDeployedIsTakenOnce() {
+        DeployAtEndIndex index = DeployAtEndIndex.get(session, reactorProjects);
+        RemoteRepository repository = new RemoteRepository.Builder("id", "default", "file:///tmp/repo").build();
+        index.toBeDeployed(module1, repository);
+        assertSame(repository, index.takeToBeDeployed(module1));
+        assertNull(index.takeToBeDeployed(module1));
+        assertNull(index.takeToBeDeployed(module2));
+    }
+
+    private static MavenProject project(String artifactId, boolean usesPlugin) {
+        Model model = new Model();
+        model.setGroupId("org.apache.maven.test");
+        model.setArtifactId(artifactId);
+        model.setVersion("1.0");
+        MavenProject project = new MavenProject(model);
+        if (usesPlugin) {
+            PluginExecution execution = new PluginExecution();
+            execution.setId("default-deploy");
+            execution.setPhase("deploy");
+            execution.addGoal("deploy");
+            Plugin plugin = new Plugin();
+            plugin.setGroupId("org.apache.maven.plugins");
+            plugin.setArtifactId("maven-deploy-plugin");
+            plugin.addExecution(execution);
+            model.setBuild(new Build());
+            model.getBuild().addPlugin(plugin);
+        }
+        return project;
+    }
+}
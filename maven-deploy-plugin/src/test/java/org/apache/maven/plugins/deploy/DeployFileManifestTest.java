@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.deploy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.deployment.DeployRequest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DeployFileManifestTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testCsv() throws IOException {
+        File manifest = manifest(
+                "manifest.csv",
+                "groupId,artifactId,version,packaging,file,pom,sources,javadoc,classifiers",
+                "# vendor drop",
+                "org.example,lib,1.0,jar,lib-1.0.jar,,lib-1.0-sources.jar,,tests=lib-1.0-tests.jar;dist=lib.zip",
+                "",
+                "\"org.example\",\"other\",2.0,,\"dir, with comma/other.jar\"");
+
+        List<DeployFileManifest.Entry> entries = DeployFileManifest.read(manifest);
+
+        assertEquals(2, entries.size());
+        DeployFileManifest.Entry lib = entries.get(0);
+        assertEquals(3, lib.line);
+        assertEquals("org.example", lib.groupId);
+        assertEquals("lib", lib.artifactId);
+        assertEquals("1.0", lib.version);
+        assertEquals("jar", lib.packaging);
+        assertEquals(new File(manifest.getParentFile(), "lib-1.0.jar"), lib.file);
+        assertNull(lib.pomFile);
+        assertEquals(new File(manifest.getParentFile(), "lib-1.0-sources.jar"), lib.sources);
+        assertNull(lib.javadoc);
+        assertEquals(2, lib.classifiers.size());
+        assertEquals(new File(manifest.getParentFile(), "lib.zip"), lib.classifiers.get("dist"));
+        DeployFileManifest.Entry other = entries.get(1);
+        assertNull(other.packaging);
+        assertEquals(new File(manifest.getParentFile(), "dir, with comma/other.jar"), other.file);
+    }
+
+    @Test
+    public void testJsonLines() throws IOException {
+        File manifest = manifest(
+                "manifest.jsonl",
+                "{\"groupId\": \"org.example\", \"artifactId\": \"lib\", \"version\": \"1.0\", \"file\": \"/abs/lib.jar\","
+                        + " \"classifiers\": {\"tests\": \"lib-tests.jar\"}}",
+                "{\"pom\": \"x\\\\y.pom\", \"file\": \"x.jar\"}");
+
+        List<DeployFileManifest.Entry> entries = DeployFileManifest.read(manifest);
+
+        assertEquals(2, entries.size());
+        assertEquals("lib", entries.get(0).artifactId);
+        assertEquals(new File("/abs/lib.jar"), entries.get(0).file);
+        assertEquals(
+                new File(manifest.getParentFile(), "lib-tests.jar"),
+                entries.get(0).classifiers.get("tests"));
+        assertEquals(new File(manifest.getParentFile(), "x\\y.pom"), entries.get(1).pomFile);
+        assertNull(entries.get(1).groupId);
+    }
+
+    @Test
+    public void testInvalidLineIsReported() throws IOException {
+        File manifest =
+                manifest("manifest.jsonl", "{\"file\": \"a.jar\"}", "{\"file\": \"b.jar\", \"color\": \"red\"}");
+
+        try {
+            DeployFileManifest.read(manifest);
+            fail("manifest should be invalid");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("at line 2: unknown key color"));
+        }
+    }
+
+    @Test
+    public void testPlainJsonIsRefused() throws IOException {
+        File manifest = manifest("manifest.json", "[{\"file\": \"a.jar\"}]");
+
+        try {
+            DeployFileManifest.read(manifest);
+            fail("plain JSON manifest should be refused");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(".jsonl or .ndjson extension"));
+        }
+    }
+
+    @Test
+    public void testEntriesSharingMetadataAreGrouped() {
+        List<DeployFileManifest.Entry> entries = Arrays.asList(
+                entry("org.example", "lib", "1.0", "jar"),
+                entry("org.example", "other", "1.0", "jar"),
+                entry("org.example", "lib", "2.0", "jar"),
+                entry("org.example.plugins", "a-maven-plugin", "1.0", "maven-plugin"),
+                entry("org.example.plugins", "b-maven-plugin", "1.0", "maven-plugin"));
+        List<DeployRequest> deployRequests = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            deployRequests.add(new DeployRequest());
+        }
+
+        List<List<DeployRequest>> groups = DeployFileMojo.groupByMetadata(entries, deployRequests);
+
+        assertEquals(3, groups.size());
+        // versions of same GA, in manifest order
+        assertEquals(Arrays.asList(deployRequests.get(0), deployRequests.get(2)), groups.get(0));
+        assertEquals(Collections.singletonList(deployRequests.get(1)), groups.get(1));
+        // plugins of same groupId
+        assertEquals(Arrays.asList(deployRequests.get(3), deployRequests.get(4)), groups.get(2));
+    }
+
+    private static DeployFileManifest.Entry entry(String groupId, String artifactId, String version, String packaging) {
+        DeployFileManifest.Entry entry = new DeployFileManifest.Entry(1);
+        entry.groupId = groupId;
+        entry.artifactId = artifactId;
+        entry.version = version;
+        entry.packaging = packaging;
+        return entry;
+    }
+
+    private File manifest(String name, String... lines) throws IOException {
+        File manifest = temporaryFolder.newFile(name);
+        Files.write(manifest.toPath(), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return manifest;
+    }
+}
@@ -19,14 +19,20 @@
 package org.apache.maven.plugins.deploy;
 
 import java.io.File;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.testing.AbstractMojoTestCase;
 import org.apache.maven.project.ProjectBuildingRequest;
+import org.codehaus.plexus.util.xml.ReaderFactory;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.internal.impl.DefaultLocalPathComposer;
 import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
@@ -280,6 +286,85 @@ public class DeployFileMojoTest extends AbstractMojoTestCase {
         assertTrue(file.exists());
     }
 
+    public void testDeployManifestWithTwoVersionsOfOneGA() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/deploy-file-manifest/plugin-config.xml");
+
+        mojo = (DeployFileMojo) lookupMojo("deploy-file", testPom);
+
+        MockitoAnnotations.initMocks(this);
+
+        assertNotNull(mojo);
+
+        ProjectBuildingRequest buildingRequest = mock(ProjectBuildingRequest.class);
+        when(buildingRequest.getRepositoryMerging()).thenReturn(ProjectBuildingRequest.RepositoryMerging.POM_DOMINANT);
+        when(session.getProjectBuildingRequest()).thenReturn(buildingRequest);
+        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        repositorySession.setLocalRepositoryManager(
+                new SimpleLocalRepositoryManagerFactory(new DefaultLocalPathComposer())
+                        .newInstance(repositorySession, new LocalRepository(LOCAL_REPO)));
+        when(buildingRequest.getRepositorySession()).thenReturn(repositorySession);
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+
+        mojo.execute();
+
+        File ga = new File(remoteRepo, "deploy-file-manifest/org/apache/maven/test/maven-deploy-file-manifest-test");
+
+        assertTrue(new File(ga, "1.0/maven-deploy-file-manifest-test-1.0.jar").exists());
+
+        assertTrue(new File(ga, "1.1/maven-deploy-file-manifest-test-1.1.jar").exists());
+
+        // both versions are deployed, one after the other, so none is lost from GA metadata
+        Metadata metadata;
+        try (Reader reader = ReaderFactory.newXmlReader(new File(ga, "maven-metadata.xml"))) {
+            metadata = new MetadataXpp3Reader().read(reader);
+        }
+
+        assertEquals(Arrays.asList("1.0", "1.1"), metadata.getVersioning().getVersions());
+    }
+
+    public void testDeployManifestWithDuplicateArtifactsFails() throws Exception {
+        File testPom =
+                new File(getBasedir(), "target/test-classes/unit/deploy-file-manifest-duplicate/plugin-config.xml");
+
+        mojo = (DeployFileMojo) lookupMojo("deploy-file", testPom);
+
+        MockitoAnnotations.initMocks(this);
+
+        assertNotNull(mojo);
+
+        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        repositorySession.setLocalRepositoryManager(
+                new SimpleLocalRepositoryManagerFactory(new DefaultLocalPathComposer())
+                        .newInstance(repositorySession, new LocalRepository(LOCAL_REPO)));
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+
+        try {
+            mojo.execute();
+            fail("Duplicate artifacts should be refused");
+        } catch (MojoExecutionException e) {
+            String id = "org.apache.maven.test:maven-deploy-file-manifest-duplicate-test";
+            assertTrue(e.getMessage(), e.getMessage().contains("3 problems"));
+            assertTrue(
+                    e.getMessage(),
+                    e.getMessage()
+                            .contains("line 19 (" + id + ":1.1): artifact " + id + ":jar:sources:1.1 is already"
+                                    + " listed by line 19"));
+            assertTrue(
+                    e.getMessage(),
+                    e.getMessage()
+                            .contains("line 20 (" + id + ":1.0): artifact " + id + ":jar:1.0 is already listed"
+                                    + " by line 18"));
+            assertTrue(
+                    e.getMessage(),
+                    e.getMessage()
+                            .contains("line 20 (" + id + ":1.0): artifact " + id + ":pom:1.0 is already listed"
+                                    + " by line 18"));
+        }
+
+        // validated up front: nothing is deployed
+        assertFalse(new File(remoteRepo, "deploy-file-manifest-duplicate").exists());
+    }
+
     private void addFileToList(File file, List<String> fileList) {
         if (!file.isDirectory()) {
             fileList.add(file.getName());
@@ -250,7 +250,6 @@ public class DeployMojoTest extends AbstractMojoTestCase {
 
         MavenProject project = (MavenProject) getVariableValueFromObject(mojo, "project");
 
-        setVariableValueToObject(mojo, "pluginDescriptor", new PluginDescriptor());
         setVariableValueToObject(mojo, "pluginContext", new ConcurrentHashMap<>());
         setVariableValueToObject(mojo, "reactorProjects", Collections.singletonList(project));
         setVariableValueToObject(mojo, "session", session);
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.deploy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeployResult;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.metadata.DefaultMetadata;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.ArtifactTransferException;
+import org.eclipse.aether.transfer.MetadataTransferException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FallbackDeployerSPITest {
+    private final Artifact pom = new DefaultArtifact("org.example:module:pom:1.0");
+
+    private final Artifact jar = new DefaultArtifact("org.example:module:jar:1.0");
+
+    private final Artifact sources = new DefaultArtifact("org.example:module:jar:sources:1.0");
+
+    private final RemoteRepository repository =
+            new RemoteRepository.Builder("remote", "default", "http://localhost").build();
+
+    private DefaultRepositorySystemSession session;
+
+    private RepositorySystem repositorySystem;
+
+    private List<List<Artifact>> attempts;
+
+    @Before
+    public void setUp() {
+        session = new DefaultRepositorySystemSession();
+        session.getData().set(FallbackDeployerSPI.RETRY_FAILED_DEPLOYMENT_COUNT, 3);
+        session.getData().set(FallbackDeployerSPI.RETRY_BACKOFF, 0);
+        repositorySystem = mock(RepositorySystem.class);
+        attempts = new ArrayList<>();
+    }
+
+    @Test
+    public void testRetriesFailedArtifactsOnly() throws Exception {
+        when(repositorySystem.deploy(any(), any())).thenAnswer(invocation -> {
+            RepositorySystemSession s = invocation.getArgument(0);
+            DeployRequest request = invocation.getArgument(1);
+            attempts.add(new ArrayList<>(request.getArtifacts()));
+            for (Artifact artifact : request.getArtifacts()) {
+                boolean fails = attempts.size() == 1 && artifact == jar;
+                s.getRepositoryListener()
+                        .artifactDeployed(new RepositoryEvent.Builder(s, RepositoryEvent.EventType.ARTIFACT_DEPLOYED)
+                                .setArtifact(artifact)
+                                .setException(fails ? new ArtifactTransferException(artifact, repository, "502") : null)
+                                .build());
+            }
+            if (attempts.size() == 1) {
+                throw new DeploymentException("Failed to deploy artifacts: 502");
+            }
+            return new DeployResult(request);
+        });
+
+        assertTrue(new FallbackDeployerSPI(repositorySystem).deploy(session, request(pom, jar, sources)));
+
+        assertEquals(2, attempts.size());
+        assertEquals(Arrays.asList(pom, jar, sources), attempts.get(0));
+        // the jar alone drives metadata generation of the GA, deployed POM and sources are not retried
+        assertEquals(Arrays.asList(jar), attempts.get(1));
+    }
+
+    @Test
+    public void testRetriesPomForFailedMetadata() throws Exception {
+        when(repositorySystem.deploy(any(), any())).thenAnswer(invocation -> {
+            RepositorySystemSession s = invocation.getArgument(0);
+            DeployRequest request = invocation.getArgument(1);
+            attempts.add(new ArrayList<>(request.getArtifacts()));
+            for (Artifact artifact : request.getArtifacts()) {
+                s.getRepositoryListener()
+                        .artifactDeployed(new RepositoryEvent.Builder(s, RepositoryEvent.EventType.ARTIFACT_DEPLOYED)
+                                .setArtifact(artifact)
+                                .build());
+            }
+            if (attempts.size() == 1) {
+                Metadata metadata = new DefaultMetadata(
+                        "org.example", "module", "maven-metadata.xml", Metadata.Nature.RELEASE_OR_SNAPSHOT);
+                s.getRepositoryListener()
+                        .metadataDeployed(new RepositoryEvent.Builder(s, RepositoryEvent.EventType.METADATA_DEPLOYED)
+                                .setMetadata(metadata)
+                                .setException(new MetadataTransferException(metadata, repository, "502"))
+                                .build());
+                throw new DeploymentException("Failed to deploy metadata: 502");
+            }
+            return new DeployResult(request);
+        });
+
+        assertTrue(new FallbackDeployerSPI(repositorySystem).deploy(session, request(pom, jar, sources)));
+
+        assertEquals(2, attempts.size());
+        // all artifacts were deployed, the POM is needed to generate metadata of the GA again
+        assertEquals(Arrays.asList(pom), attempts.get(1));
+    }
+
+    @Test
+    public void testSnapshotsAreRetriedAsWhole() throws Exception {
+        Artifact snapshot = new DefaultArtifact("org.example:module:jar:1.0-SNAPSHOT");
+        when(repositorySystem.deploy(any(), any())).thenAnswer(invocation -> {
+            DeployRequest request = invocation.getArgument(1);
+            attempts.add(new ArrayList<>(request.getArtifacts()));
+            if (attempts.size() == 1) {
+                throw new DeploymentException("Failed to deploy artifacts: 502");
+            }
+            return new DeployResult(request);
+        });
+
+        new FallbackDeployerSPI(repositorySystem).deploy(session, request(snapshot));
+
+        assertEquals(Arrays.asList(Arrays.asList(snapshot), Arrays.asList(snapshot)), attempts);
+    }
+
+    @Test
+    public void testRetryBudgetIsSharedBySession() throws Exception {
+        session.getData().set(FallbackDeployerSPI.RETRY_BUDGET, 1);
+        when(repositorySystem.deploy(any(), any())).thenAnswer(invocation -> {
+            attempts.add(new ArrayList<>(((DeployRequest) invocation.getArgument(1)).getArtifacts()));
+            throw new DeploymentException("Failed to deploy artifacts: 502");
+        });
+        FallbackDeployerSPI deployer = new FallbackDeployerSPI(repositorySystem);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                deployer.deploy(session, request(pom));
+                fail("deploy should fail");
+            } catch (DeploymentException e) {
+                // expected
+            }
+        }
+
+        // first deploy: attempt and one retry, second deploy: budget used up, attempt only
+        assertEquals(3, attempts.size());
+    }
+
+    @Test
+    public void testDeployAsyncUsesProvidedExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            session.getData().set(FallbackDeployerSPI.ASYNC_EXECUTOR, executor);
+            List<Thread> threads = new ArrayList<>();
+            when(repositorySystem.deploy(any(), any())).thenAnswer(invocation -> {
+                threads.add(Thread.currentThread());
+                return new DeployResult(invocation.getArgument(1));
+            });
+
+            CompletionStage<Boolean> result =
+                    new FallbackDeployerSPI(repositorySystem).deployAsync(session, request(pom));
+
+            assertTrue(result.toCompletableFuture().get());
+            assertEquals(1, threads.size());
+            assertNotSame(Thread.currentThread(), threads.get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private DeployRequest request(Artifact... artifacts) {
+        DeployRequest request = new DeployRequest();
+        request.setRepository(repository);
+        request.setArtifacts(Arrays.asList(artifacts));
+        return request;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.deploy;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PendingDeploysTest {
+    private MavenSession session;
+
+    private MavenExecutionRequest request;
+
+    private MavenExecutionResult result;
+
+    private ExecutionListener listener;
+
+    @Before
+    public void setUp() {
+        request = new DefaultMavenExecutionRequest();
+        listener = mock(ExecutionListener.class);
+        request.setExecutionListener(listener);
+        result = new DefaultMavenExecutionResult();
+        session = mock(MavenSession.class);
+        when(session.getRequest()).thenReturn(request);
+        when(session.getResult()).thenReturn(result);
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+    }
+
+    @Test
+    public void testNothingIsCreatedUnlessAsync() {
+        assertNull(PendingDeploys.find(session));
+        assertSame(listener, request.getExecutionListener());
+    }
+
+    @Test
+    public void testFailuresAreReportedWhenSessionEnds() {
+        PendingDeploys pendingDeploys = PendingDeploys.get(session, 1);
+        assertSame(pendingDeploys, PendingDeploys.find(session));
+        CompletableFuture<Boolean> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new MojoExecutionException("502"));
+        pendingDeploys.register("org.example:module:jar:1.0", failed);
+
+        ExecutionEvent event = mock(ExecutionEvent.class);
+        when(event.getSession()).thenReturn(session);
+        request.getExecutionListener().sessionEnded(event);
+
+        assertEquals(1, result.getExceptions().size());
+        assertEquals("502", result.getExceptions().get(0).getMessage());
+        assertTrue(pendingDeploys.executor().isShutdown());
+        verify(listener).sessionEnded(event);
+    }
+}